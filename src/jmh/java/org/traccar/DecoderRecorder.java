@@ -0,0 +1,99 @@
+package org.traccar;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.agent.builder.ResettableClassFileTransformer;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.lang.instrument.Instrumentation;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the messages passed to protocol decoders while decoder tests run. The decode method of every decoder is
+ * instrumented with a runtime attached agent for the duration of the recording and restored afterwards, so the tests
+ * stay unchanged and the benchmarked decoders carry no recording code.
+ */
+public final class DecoderRecorder {
+
+    public record Message(BaseProtocolDecoder decoder, Object data) {
+        public Object copy() {
+            return data instanceof ByteBuf buf ? buf.duplicate() : data;
+        }
+    }
+
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static List<Message> recorded;
+
+    private DecoderRecorder() {
+    }
+
+    public static synchronized List<Message> record(Task task) throws Exception {
+        Instrumentation instrumentation = ByteBuddyAgent.install();
+        ResettableClassFileTransformer transformer = new AgentBuilder.Default()
+                .disableClassFormatChanges()
+                .with(AgentBuilder.RedefinitionStrategy.RETRANSFORMATION)
+                .type(ElementMatchers.isSubTypeOf(BaseProtocolDecoder.class))
+                .transform((builder, type, classLoader, module, domain) -> builder.visit(
+                        Advice.to(DecodeAdvice.class).on(ElementMatchers.named("decode")
+                                .and(ElementMatchers.not(ElementMatchers.isAbstract()))
+                                .and(ElementMatchers.takesArguments(
+                                        Channel.class, SocketAddress.class, Object.class)))))
+                .installOn(instrumentation);
+        List<Message> messages = new ArrayList<>();
+        recorded = messages;
+        try {
+            task.run();
+        } finally {
+            recorded = null;
+            transformer.reset(instrumentation, AgentBuilder.RedefinitionStrategy.RETRANSFORMATION);
+        }
+        return messages;
+    }
+
+    public static void enter(Object decoder, Object data) {
+        List<Message> messages = recorded;
+        // nested decode calls are part of the outer message
+        if (messages != null && DEPTH.get()[0]++ == 0) {
+            if (data instanceof ByteBuf buf) {
+                messages.add(new Message((BaseProtocolDecoder) decoder, Unpooled.copiedBuffer(buf)));
+            } else if (data instanceof String) {
+                messages.add(new Message((BaseProtocolDecoder) decoder, data));
+            }
+        }
+    }
+
+    public static void exit() {
+        if (recorded != null) {
+            DEPTH.get()[0]--;
+        }
+    }
+
+    public static final class DecodeAdvice {
+
+        private DecodeAdvice() {
+        }
+
+        @Advice.OnMethodEnter
+        public static void enter(@Advice.This Object decoder, @Advice.Argument(2) Object data) {
+            DecoderRecorder.enter(decoder, data);
+        }
+
+        @Advice.OnMethodExit(onThrowable = Throwable.class)
+        public static void exit() {
+            DecoderRecorder.exit();
+        }
+
+    }
+
+}
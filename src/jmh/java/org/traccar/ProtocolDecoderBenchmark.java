@@ -0,0 +1,179 @@
+package org.traccar;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.traccar.broadcast.NullBroadcastService;
+import org.traccar.config.Config;
+import org.traccar.database.MediaManager;
+import org.traccar.helper.ClassScanner;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.session.ConnectionManager;
+import org.traccar.session.DeviceSession;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.StorageException;
+
+import java.lang.reflect.Method;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoder throughput on the messages from the protocol decoder tests. Setup runs every test method of the selected
+ * decoder test and records the messages passed to the decoder with {@link DecoderRecorder}. Text and binary messages
+ * are then replayed in the original order, so one operation is one pass over all recorded messages.
+ * <p>
+ * Decoders use plain stubs that return one reused device session instead of the Mockito mocks from {@link BaseTest},
+ * so the numbers cover decoding only. By default each of the high volume decoders gets its own score; the
+ * {@code protocol} parameter takes other test class prefixes, or {@code all} for one combined score, for example
+ * {@code -p protocol=Meitrack,Suntech}. Run with {@code ./gradlew jmh}; allocation rate comes from the gc profiler
+ * and results are written as JSON to {@code target/jmh-results.json}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolDecoderBenchmark {
+
+    private static final String TEST_SUFFIX = "ProtocolDecoderTest";
+
+    @Param({"Teltonika", "Gt06", "Huabao", "Gl200Text", "H02"})
+    private String protocol;
+
+    private final List<DecoderRecorder.Message> messages = new ArrayList<>();
+
+    private static final class StubCacheManager extends CacheManager {
+
+        private final Device device;
+
+        StubCacheManager(Config config, Device device) throws StorageException {
+            super(config, new MemoryStorage(), new NullBroadcastService(), null, null, null);
+            this.device = device;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T extends BaseModel> T getObject(Class<T> clazz, long id) {
+            return clazz == Device.class && id == device.getId() ? (T) device : null;
+        }
+
+    }
+
+    private static final class StubConnectionManager extends ConnectionManager {
+
+        private final DeviceSession deviceSession;
+
+        StubConnectionManager(Config config, CacheManager cacheManager, DeviceSession deviceSession) {
+            super(config, cacheManager, null, null, null, new NullBroadcastService(), null, null);
+            this.deviceSession = deviceSession;
+        }
+
+        @Override
+        public DeviceSession getDeviceSession(
+                Protocol protocol, Channel channel, SocketAddress remoteAddress, String... uniqueIds) {
+            return deviceSession;
+        }
+
+    }
+
+    private static final class StubMediaManager extends MediaManager {
+
+        StubMediaManager(Config config) {
+            super(config);
+        }
+
+        @Override
+        public String writeFile(String uniqueId, ByteBuf buf, String extension) {
+            return "file." + extension;
+        }
+
+    }
+
+    private List<DecoderRecorder.Message> record() throws Exception {
+        return DecoderRecorder.record(() -> {
+            for (Class<?> clazz : ClassScanner.findSubclasses(ProtocolTest.class, "org.traccar.protocol")) {
+                String name = clazz.getSimpleName();
+                if (!name.endsWith(TEST_SUFFIX)
+                        || !protocol.equals("all") && !name.equals(protocol + TEST_SUFFIX)) {
+                    continue;
+                }
+                Object test = clazz.getDeclaredConstructor().newInstance();
+                for (Method method : clazz.getMethods()) {
+                    if (method.isAnnotationPresent(Test.class)) {
+                        try {
+                            method.invoke(test);
+                        } catch (ReflectiveOperationException e) {
+                            // vectors before the failure are still recorded
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        Config config = new Config();
+        Device device = new Device();
+        device.setId(1);
+        device.setUniqueId("123456789012345");
+        CacheManager cacheManager = new StubCacheManager(config, device);
+        DeviceSession deviceSession = new DeviceSession(1, device.getUniqueId(), null, null, null, null);
+        ConnectionManager connectionManager = new StubConnectionManager(config, cacheManager, deviceSession);
+        MediaManager mediaManager = new StubMediaManager(config);
+
+        Map<BaseProtocolDecoder, Boolean> injected = new IdentityHashMap<>();
+        for (DecoderRecorder.Message message : record()) {
+            BaseProtocolDecoder decoder = message.decoder();
+            if (injected.put(decoder, true) == null) {
+                decoder.setCacheManager(cacheManager);
+                decoder.setConnectionManager(connectionManager);
+                decoder.setMediaManager(mediaManager);
+                decoder.setStatisticsManager(null);
+                decoder.setCommandsManager(null);
+            }
+            try {
+                decoder.decode(null, null, message.copy());
+                messages.add(message);
+            } catch (Exception e) {
+                // messages that need more than the stubs provide are skipped
+            }
+        }
+        if (messages.isEmpty()) {
+            throw new IllegalArgumentException("No test vectors for " + protocol);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        messages.clear();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) throws Exception {
+        for (DecoderRecorder.Message message : messages) {
+            blackhole.consume(message.decoder().decode(null, null, message.copy()));
+        }
+    }
+
+}
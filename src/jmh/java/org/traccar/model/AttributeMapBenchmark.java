@@ -0,0 +1,90 @@
+package org.traccar.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compact attribute map with the previous linked hash map on a typical set of position attributes.
+ * The {@code build} benchmark allocation per operation ({@code gc.alloc.rate.norm} from the gc profiler) is the heap
+ * footprint of one filled map, the other benchmarks measure access speed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeMapBenchmark {
+
+    @Param({"linked", "compact"})
+    private String type;
+
+    private Map<String, Object> map;
+
+    private Map<String, Object> create() {
+        return type.equals("compact") ? new AttributeMap() : new LinkedHashMap<>();
+    }
+
+    private void fill(Map<String, Object> attributes) {
+        attributes.put(Position.KEY_SATELLITES, 12);
+        attributes.put(Position.KEY_HDOP, 0.8);
+        attributes.put(Position.KEY_EVENT, 240);
+        attributes.put(Position.KEY_IGNITION, true);
+        attributes.put(Position.KEY_MOTION, false);
+        attributes.put(Position.KEY_RSSI, 4);
+        attributes.put(Position.KEY_POWER, 12.6);
+        attributes.put(Position.KEY_BATTERY, 4.1);
+        attributes.put(Position.KEY_ODOMETER, 123456789L);
+        attributes.put(Position.KEY_DISTANCE, 15.3);
+        attributes.put(Position.KEY_TOTAL_DISTANCE, 98765.4);
+        attributes.put(Position.KEY_HOURS, 3600000L);
+        attributes.put("io200", 0);
+        attributes.put("io113", 87);
+        attributes.put(Position.KEY_DRIVER_UNIQUE_ID, "1234567890");
+    }
+
+    @Setup
+    public void setup() {
+        map = create();
+        fill(map);
+    }
+
+    @Benchmark
+    public Map<String, Object> build() {
+        Map<String, Object> attributes = create();
+        fill(attributes);
+        return attributes;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        blackhole.consume(map.get(Position.KEY_IGNITION));
+        blackhole.consume(map.get(Position.KEY_ODOMETER));
+        blackhole.consume(map.get(Position.KEY_TOTAL_DISTANCE));
+        blackhole.consume(map.get("io113"));
+        blackhole.consume(map.get(Position.KEY_ALARM));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            blackhole.consume(entry.getKey());
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.model.Position;
+import org.traccar.storage.DatabaseStorage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Request;
+
+import javax.sql.DataSource;
+import java.util.function.Consumer;
+
+/**
+ * Database storage that reports every committed position, so the load test can measure latency up to the point where
+ * {@code DatabaseHandler} has written the row.
+ */
+@Singleton
+public class CommitTrackingStorage extends DatabaseStorage {
+
+    private volatile Consumer<Position> listener;
+
+    @Inject
+    public CommitTrackingStorage(Config config, DataSource dataSource, ObjectMapper objectMapper) {
+        super(config, dataSource, objectMapper);
+    }
+
+    public void setListener(Consumer<Position> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public <T> long addObject(T entity, Request request) throws StorageException {
+        long id = super.addObject(entity, request);
+        Consumer<Position> listener = this.listener;
+        if (listener != null && entity instanceof Position position) {
+            listener.accept(position);
+        }
+        return id;
+    }
+
+}
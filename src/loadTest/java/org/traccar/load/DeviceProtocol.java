@@ -0,0 +1,224 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.load;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.traccar.helper.Checksum;
+import org.traccar.helper.DataConverter;
+import org.traccar.model.Position;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Locale;
+
+/**
+ * Device side of the protocols used by the load test. Frames are generated with the current time and a slowly moving
+ * location, so positions pass through the same processing as real traffic.
+ */
+public enum DeviceProtocol {
+
+    H02_TCP("h02", false) {
+        @Override
+        public ByteBuf position(String uniqueId, int index) {
+            return h02Position(uniqueId, index);
+        }
+
+        @Override
+        public int countResponses(ByteBuf buf) {
+            return countByte(buf, (byte) '#');
+        }
+    },
+
+    H02_UDP("h02", true) {
+        @Override
+        public ByteBuf position(String uniqueId, int index) {
+            return h02Position(uniqueId, index);
+        }
+
+        @Override
+        public int countResponses(ByteBuf buf) {
+            return countByte(buf, (byte) '#');
+        }
+    },
+
+    GT06_TCP("gt06", false) {
+        @Override
+        public ByteBuf login(String uniqueId) {
+            ByteBuf buf = Unpooled.buffer();
+            buf.writeBytes(DataConverter.parseHex("0" + uniqueId));
+            return gt06Frame(0x01, buf, 1);
+        }
+
+        @Override
+        public ByteBuf position(String uniqueId, int index) {
+            ZonedDateTime time = ZonedDateTime.now(ZoneOffset.UTC);
+            ByteBuf buf = Unpooled.buffer();
+            buf.writeByte(time.getYear() - 2000);
+            buf.writeByte(time.getMonthValue());
+            buf.writeByte(time.getDayOfMonth());
+            buf.writeByte(time.getHour());
+            buf.writeByte(time.getMinute());
+            buf.writeByte(time.getSecond());
+            buf.writeByte(0xC8); // gps info
+            buf.writeInt((int) (latitude(index) * 60 * 30000));
+            buf.writeInt((int) (longitude(index) * 60 * 30000));
+            buf.writeByte(40); // speed
+            buf.writeShort((1 << 12) | (1 << 10) | index % 360); // valid, north, east, course
+            buf.writeShort(460); // mcc
+            buf.writeByte(0); // mnc
+            buf.writeShort(0x2795); // lac
+            buf.writeMedium(0x1F40); // cid
+            return gt06Frame(0x12, buf, index);
+        }
+
+        @Override
+        public int countResponses(ByteBuf buf) {
+            return buf.readableBytes() / GT06_RESPONSE_LENGTH;
+        }
+
+        @Override
+        public boolean hasResponseIndexes() {
+            return true;
+        }
+
+        @Override
+        public int[] responseIndexes(ByteBuf buf) {
+            int[] indexes = new int[countResponses(buf)];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = buf.getUnsignedShort(buf.readerIndex() + i * GT06_RESPONSE_LENGTH + 4);
+            }
+            return indexes;
+        }
+
+        @Override
+        public int frameKey(int index) {
+            return index & 0xFFFF;
+        }
+    };
+
+    private static final int GT06_RESPONSE_LENGTH = 10;
+
+    private static final double BASE_LATITUDE = 22.675;
+    private static final double BASE_LONGITUDE = 113.972;
+    private static final double LOCATION_STEP = 0.0001;
+    private static final int LOCATION_PERIOD = 1000;
+
+    private final String protocol;
+    private final boolean datagram;
+
+    DeviceProtocol(String protocol, boolean datagram) {
+        this.protocol = protocol;
+        this.datagram = datagram;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    public boolean isDatagram() {
+        return datagram;
+    }
+
+    public ByteBuf login(String uniqueId) {
+        return null;
+    }
+
+    public abstract ByteBuf position(String uniqueId, int index);
+
+    public abstract int countResponses(ByteBuf buf);
+
+    public boolean hasResponseIndexes() {
+        return false;
+    }
+
+    /**
+     * Keys of the frames acknowledged by the response, empty for protocols without {@link #hasResponseIndexes()}.
+     */
+    public int[] responseIndexes(ByteBuf buf) {
+        return new int[0];
+    }
+
+    /**
+     * Key of the frame as it appears in responses.
+     */
+    public int frameKey(int index) {
+        return index;
+    }
+
+    /**
+     * Key of the frame that produced a stored position. Locations repeat every {@code LOCATION_PERIOD} frames, so the
+     * latitude identifies the frame as long as fewer frames of one device are in flight.
+     */
+    public static int positionKey(int index) {
+        return index % LOCATION_PERIOD;
+    }
+
+    public static int positionKey(Position position) {
+        return (int) Math.round((position.getLatitude() - BASE_LATITUDE) / LOCATION_STEP);
+    }
+
+    private static double latitude(int index) {
+        return BASE_LATITUDE + positionKey(index) * LOCATION_STEP;
+    }
+
+    private static double longitude(int index) {
+        return BASE_LONGITUDE + positionKey(index) * LOCATION_STEP;
+    }
+
+    private static String formatCoordinate(double value, int degreeDigits) {
+        int degrees = (int) value;
+        double minutes = (value - degrees) * 60;
+        return String.format(Locale.US, "%0" + degreeDigits + "d%08.5f", degrees, minutes);
+    }
+
+    private static ByteBuf h02Position(String uniqueId, int index) {
+        ZonedDateTime time = ZonedDateTime.now(ZoneOffset.UTC);
+        String sentence = String.format(Locale.US,
+                "*HQ,%s,V1,%02d%02d%02d,A,%s,N,%s,E,%.2f,%d,%02d%02d%02d,FFFFFBFF#",
+                uniqueId, time.getHour(), time.getMinute(), time.getSecond(),
+                formatCoordinate(latitude(index), 2), formatCoordinate(longitude(index), 3),
+                21.6, index % 360,
+                time.getDayOfMonth(), time.getMonthValue(), time.getYear() % 100);
+        return Unpooled.copiedBuffer(sentence, StandardCharsets.US_ASCII);
+    }
+
+    private static ByteBuf gt06Frame(int type, ByteBuf content, int index) {
+        ByteBuf buf = Unpooled.buffer();
+        buf.writeShort(0x7878);
+        buf.writeByte(1 + content.readableBytes() + 2 + 2); // length
+        buf.writeByte(type);
+        buf.writeBytes(content);
+        content.release();
+        buf.writeShort(index);
+        buf.writeShort(Checksum.crc16(Checksum.CRC16_X25, buf.nioBuffer(2, buf.writerIndex() - 2)));
+        buf.writeByte('\r');
+        buf.writeByte('\n');
+        return buf;
+    }
+
+    private static int countByte(ByteBuf buf, byte value) {
+        int count = 0;
+        for (int i = buf.readerIndex(); i < buf.writerIndex(); i++) {
+            if (buf.getByte(i) == value) {
+                count += 1;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.load;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.traccar.Main;
+import org.traccar.ServerManager;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process load test. Boots the server modules against a database (in-memory H2 unless a configuration file is
+ * given), connects simulated devices over TCP and UDP and reports sustained throughput, latency from sending a frame
+ * until {@code DatabaseHandler} stored the position, and acknowledgement latency.
+ * <p>
+ * Options are passed as {@code key=value}: {@code devices}, {@code protocols} (for example {@code h02-tcp,gt06-tcp}),
+ * {@code interval} (milliseconds between positions per device), {@code warmup} and {@code duration} (seconds),
+ * {@code port} (first server port) and {@code config} (existing configuration file, protocol ports are then taken
+ * from it).
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid option " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static String writeConfig(Map<String, Integer> ports) throws IOException {
+        StringBuilder entries = new StringBuilder();
+        for (var entry : ports.entrySet()) {
+            entries.append(String.format("    <entry key='%s.port'>%d</entry>\n", entry.getKey(), entry.getValue()));
+        }
+        String content = "<?xml version='1.0' encoding='UTF-8'?>\n"
+                + "<!DOCTYPE properties SYSTEM 'http://java.sun.com/dtd/properties.dtd'>\n"
+                + "<properties>\n"
+                + "    <entry key='database.driver'>org.h2.Driver</entry>\n"
+                + "    <entry key='database.url'>jdbc:h2:mem:load;DB_CLOSE_DELAY=-1</entry>\n"
+                + "    <entry key='database.user'>sa</entry>\n"
+                + "    <entry key='database.password'></entry>\n"
+                + "    <entry key='logger.console'>true</entry>\n"
+                + "    <entry key='logger.level'>warning</entry>\n"
+                + "    <entry key='protocols.enable'>" + String.join(",", ports.keySet()) + "</entry>\n"
+                + entries
+                + "</properties>\n";
+        Path file = Files.createTempFile("traccar-load", ".xml");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, content);
+        return file.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Locale.setDefault(Locale.ENGLISH);
+
+        Map<String, String> options = parseOptions(args);
+        int deviceCount = Integer.parseInt(options.getOrDefault("devices", "2000"));
+        long interval = Long.parseLong(options.getOrDefault("interval", "1000"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int basePort = Integer.parseInt(options.getOrDefault("port", "25000"));
+
+        List<DeviceProtocol> protocols = Arrays.stream(
+                options.getOrDefault("protocols", "h02-tcp,h02-udp,gt06-tcp").split(","))
+                .map(name -> DeviceProtocol.valueOf(name.trim().toUpperCase().replace('-', '_')))
+                .toList();
+
+        Set<String> protocolNames = new LinkedHashSet<>();
+        protocols.forEach(protocol -> protocolNames.add(protocol.getProtocol()));
+
+        String configFile;
+        if (options.containsKey("config")) {
+            configFile = options.get("config");
+        } else {
+            Map<String, Integer> ports = new HashMap<>();
+            for (String name : protocolNames) {
+                ports.put(name, basePort + ports.size());
+            }
+            configFile = writeConfig(ports);
+        }
+
+        Injector injector = Main.createInjector(configFile, new AbstractModule() {
+            @Override
+            protected void configure() {
+                bind(Storage.class).to(CommitTrackingStorage.class);
+            }
+        });
+
+        Config config = injector.getInstance(Config.class);
+        Map<String, Integer> ports = new HashMap<>();
+        for (String name : protocolNames) {
+            int port = config.getInteger(Keys.PROTOCOL_PORT.withPrefix(name));
+            if (port <= 0) {
+                throw new IllegalArgumentException("No port configured for protocol " + name);
+            }
+            ports.put(name, port);
+        }
+
+        LatencyRecorder commitLatency = new LatencyRecorder();
+        LatencyRecorder ackLatency = new LatencyRecorder();
+        AtomicLong sentCounter = new AtomicLong();
+
+        CommitTrackingStorage storage = injector.getInstance(CommitTrackingStorage.class);
+        Map<Long, SimulatedDevice> devices = new ConcurrentHashMap<>();
+        for (int i = 0; i < deviceCount; i++) {
+            DeviceProtocol protocol = protocols.get(i % protocols.size());
+            String uniqueId = String.valueOf(860000000000000L + i);
+            Device device = new Device();
+            device.setName(uniqueId);
+            device.setUniqueId(uniqueId);
+            long deviceId = storage.addObject(device, new Request(new Columns.Exclude("id")));
+            InetSocketAddress server = new InetSocketAddress("127.0.0.1", ports.get(protocol.getProtocol()));
+            devices.put(deviceId, new SimulatedDevice(protocol, uniqueId, server, ackLatency, sentCounter));
+        }
+        storage.setListener(position -> {
+            SimulatedDevice device = devices.get(position.getDeviceId());
+            if (device != null) {
+                device.committed(position, commitLatency);
+            }
+        });
+
+        ServerManager serverManager = injector.getInstance(ServerManager.class);
+        serverManager.start();
+
+        EventLoopGroup group = new MultiThreadIoEventLoopGroup(NioIoHandler.newFactory());
+        Bootstrap streamBootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true);
+        Bootstrap datagramBootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioDatagramChannel.class);
+
+        Random random = new Random(1);
+        List<SimulatedDevice> connected = new ArrayList<>();
+        for (SimulatedDevice device : devices.values()) {
+            Bootstrap bootstrap = device.getProtocol().isDatagram() ? datagramBootstrap : streamBootstrap;
+            device.connect(bootstrap, interval, (long) (random.nextDouble() * interval));
+            connected.add(device);
+        }
+        System.out.printf("Connected %d devices using %s%n", connected.size(), protocols);
+
+        Thread.sleep(warmup * 1000L);
+        commitLatency.reset();
+        ackLatency.reset();
+        sentCounter.set(0);
+        long start = System.nanoTime();
+
+        Thread.sleep(duration * 1000L);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        long sent = sentCounter.get();
+        long committed = commitLatency.getCount();
+
+        System.out.printf("Sent %d positions, stored %d, elapsed %.1f s%n", sent, committed, elapsed);
+        System.out.printf("Throughput: %.1f positions/s%n", committed / elapsed);
+        System.out.println("Commit latency: " + commitLatency.format());
+        System.out.println("Ack latency: " + ackLatency.format());
+
+        connected.forEach(SimulatedDevice::close);
+        group.shutdownGracefully().syncUninterruptibly();
+        serverManager.stop();
+        System.exit(0);
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.load;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.util.ReferenceCountUtil;
+import org.traccar.model.Position;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One device connection. Send times are kept per frame and matched by the frame key carried in the stored position
+ * and, where the protocol echoes it, in the acknowledgement. Responses without a frame reference are matched in order,
+ * which is only done over TCP where they can be neither lost nor reordered.
+ */
+public class SimulatedDevice extends ChannelInboundHandlerAdapter {
+
+    private final DeviceProtocol protocol;
+    private final String uniqueId;
+    private final InetSocketAddress server;
+    private final LatencyRecorder ackLatency;
+    private final AtomicLong sentCounter;
+
+    private final Map<Integer, Long> pendingCommits = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> pendingAcks = new ConcurrentHashMap<>();
+    private final Queue<Long> orderedAcks = new ConcurrentLinkedQueue<>();
+
+    private Channel channel;
+    private boolean loggedIn;
+    private int index;
+    private long interval;
+    private long initialDelay;
+
+    public SimulatedDevice(
+            DeviceProtocol protocol, String uniqueId, InetSocketAddress server,
+            LatencyRecorder ackLatency, AtomicLong sentCounter) {
+        this.protocol = protocol;
+        this.uniqueId = uniqueId;
+        this.server = server;
+        this.ackLatency = ackLatency;
+        this.sentCounter = sentCounter;
+    }
+
+    public DeviceProtocol getProtocol() {
+        return protocol;
+    }
+
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    public void connect(Bootstrap bootstrap, long interval, long initialDelay) {
+        this.interval = interval;
+        this.initialDelay = initialDelay;
+        if (protocol.isDatagram()) {
+            channel = bootstrap.clone().handler(this).bind(0).syncUninterruptibly().channel();
+        } else {
+            channel = bootstrap.clone().handler(this).connect(server).syncUninterruptibly().channel();
+        }
+        ByteBuf login = protocol.login(uniqueId);
+        if (login != null) {
+            write(login);
+        } else {
+            schedule();
+        }
+    }
+
+    public void close() {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void schedule() {
+        loggedIn = true;
+        channel.eventLoop().scheduleAtFixedRate(this::send, initialDelay, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void write(ByteBuf frame) {
+        if (protocol.isDatagram()) {
+            channel.writeAndFlush(new DatagramPacket(frame, server));
+        } else {
+            channel.writeAndFlush(frame);
+        }
+    }
+
+    private void send() {
+        if (channel.isActive()) {
+            long time = System.nanoTime();
+            int frame = index++;
+            pendingCommits.put(DeviceProtocol.positionKey(frame), time);
+            if (protocol.hasResponseIndexes()) {
+                pendingAcks.put(protocol.frameKey(frame), time);
+            } else if (!protocol.isDatagram()) {
+                orderedAcks.add(time);
+            }
+            sentCounter.incrementAndGet();
+            write(protocol.position(uniqueId, frame));
+        }
+    }
+
+    public void committed(Position position, LatencyRecorder commitLatency) {
+        Long time = pendingCommits.remove(DeviceProtocol.positionKey(position));
+        if (time != null) {
+            commitLatency.record(System.nanoTime() - time);
+        }
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        try {
+            ByteBuf buf = msg instanceof DatagramPacket packet ? packet.content() : (ByteBuf) msg;
+            int count = protocol.countResponses(buf);
+            if (!loggedIn && count > 0) {
+                count -= 1;
+                schedule();
+            }
+            long now = System.nanoTime();
+            if (protocol.hasResponseIndexes()) {
+                for (int frame : protocol.responseIndexes(buf)) {
+                    Long time = pendingAcks.remove(frame);
+                    if (time != null) {
+                        ackLatency.record(now - time);
+                    }
+                }
+            } else if (!protocol.isDatagram()) {
+                for (int i = 0; i < count; i++) {
+                    Long time = orderedAcks.poll();
+                    if (time != null) {
+                        ackLatency.record(now - time);
+                    }
+                }
+            }
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+}
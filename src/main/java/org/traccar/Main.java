@@ -17,12 +17,19 @@ package org.traccar;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import com.google.inject.Module;
 import com.google.inject.ProvisionException;
+import com.google.inject.util.Modules;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastService;
+import org.traccar.forward.ForwardSpool;
+import org.traccar.notification.NotificationDispatcher;
 import org.traccar.schedule.ScheduleManager;
+import org.traccar.session.ConnectionManager;
+import org.traccar.session.state.DeviceStateBuffer;
 import org.traccar.storage.DatabaseModule;
+import org.traccar.storage.PositionStore;
 import org.traccar.web.WebModule;
 import org.traccar.web.WebServer;
 
@@ -112,16 +119,25 @@ public final class Main {
         }
     }
 
+    public static Injector createInjector(String configFile, Module... overrides) {
+        injector = Guice.createInjector(Modules.override(
+                new MainModule(configFile), new DatabaseModule(), new WebModule()).with(overrides));
+        return injector;
+    }
+
     public static void run(String configFile) {
         try {
-            injector = Guice.createInjector(new MainModule(configFile), new DatabaseModule(), new WebModule());
+            createInjector(configFile);
             logSystemInfo();
             LOGGER.info("Version: {}", Main.class.getPackage().getImplementationVersion());
             LOGGER.info("Starting server...");
 
             var services = new ArrayList<LifecycleObject>();
+            // services that process positions start before the servers that receive them
             for (var clazz : List.of(
-                    ScheduleManager.class, ServerManager.class, WebServer.class, BroadcastService.class)) {
+                    PositionStore.class, DeviceStateBuffer.class, NotificationDispatcher.class, ForwardSpool.class,
+                    BroadcastService.class, ScheduleManager.class, ConnectionManager.class, ServerManager.class,
+                    WebServer.class)) {
                 var service = injector.getInstance(clazz);
                 if (service != null) {
                     service.start();
@@ -134,9 +150,10 @@ public final class Main {
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                 LOGGER.info("Stopping server...");
 
-                for (var service : services) {
+                // stop in reverse order, so that producers are stopped before the services they write to
+                for (int i = services.size() - 1; i >= 0; i--) {
                     try {
-                        service.stop();
+                        services.get(i).stop();
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
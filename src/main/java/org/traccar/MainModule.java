@@ -42,6 +42,8 @@ import org.traccar.forward.EventForwarderJson;
 import org.traccar.forward.EventForwarderAmqp;
 import org.traccar.forward.EventForwarderKafka;
 import org.traccar.forward.EventForwarderMqtt;
+import org.traccar.forward.ForwardSpool;
+import org.traccar.forward.KafkaClient;
 import org.traccar.forward.PositionForwarder;
 import org.traccar.forward.PositionForwarderJson;
 import org.traccar.forward.PositionForwarderAmqp;
@@ -93,8 +95,11 @@ import org.traccar.sms.SmsManager;
 import org.traccar.sms.SnsSmsClient;
 import org.traccar.speedlimit.OverpassSpeedLimitProvider;
 import org.traccar.speedlimit.SpeedLimitProvider;
+import org.traccar.storage.DatabasePositionStore;
 import org.traccar.storage.DatabaseStorage;
+import org.traccar.storage.LocalPositionStore;
 import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.web.WebServer;
 import org.traccar.api.security.LoginService;
@@ -140,6 +145,16 @@ public class MainModule extends AbstractModule {
         }
     }
 
+    @Singleton
+    @Provides
+    public static PositionStore providePositionStore(Injector injector, Config config) {
+        if ("local".equals(config.getString(Keys.DATABASE_POSITION_STORE))) {
+            return injector.getInstance(LocalPositionStore.class);
+        } else {
+            return injector.getInstance(DatabasePositionStore.class);
+        }
+    }
+
     @Singleton
     @Provides
     public static ObjectMapper provideObjectMapper() {
@@ -340,12 +355,13 @@ public class MainModule extends AbstractModule {
 
     @Singleton
     @Provides
-    public static EventForwarder provideEventForwarder(Config config, Client client, ObjectMapper objectMapper) {
+    public static EventForwarder provideEventForwarder(
+            Config config, Client client, ObjectMapper objectMapper, KafkaClient kafkaClient) {
         if (config.hasKey(Keys.EVENT_FORWARD_URL)) {
             String forwardType = config.getString(Keys.EVENT_FORWARD_TYPE);
             return switch (forwardType) {
                 case "amqp" -> new EventForwarderAmqp(config, objectMapper);
-                case "kafka" -> new EventForwarderKafka(config, objectMapper);
+                case "kafka" -> new EventForwarderKafka(config, objectMapper, kafkaClient);
                 case "mqtt" -> new EventForwarderMqtt(config, objectMapper);
                 default -> new EventForwarderJson(config, client);
             };
@@ -357,12 +373,12 @@ public class MainModule extends AbstractModule {
     @Provides
     public static PositionForwarder providePositionForwarder(
             Config config, Client client, ExecutorService executorService,
-            ObjectMapper objectMapper, CacheManager cacheManager) {
+            ObjectMapper objectMapper, CacheManager cacheManager, KafkaClient kafkaClient) {
         if (config.hasKey(Keys.FORWARD_URL)) {
             return switch (config.getString(Keys.FORWARD_TYPE)) {
                 case "json" -> new PositionForwarderJson(config, client, objectMapper, cacheManager);
                 case "amqp" -> new PositionForwarderAmqp(config, objectMapper);
-                case "kafka" -> new PositionForwarderKafka(config, objectMapper);
+                case "kafka" -> new PositionForwarderKafka(config, objectMapper, kafkaClient);
                 case "mqtt" -> new PositionForwarderMqtt(config, objectMapper);
                 case "redis" -> new PositionForwarderRedis(config, objectMapper);
                 case "wialon" -> new PositionForwarderWialon(config, executorService, "1.0", false);
@@ -372,11 +388,23 @@ public class MainModule extends AbstractModule {
         return null;
     }
 
+    @Singleton
+    @Provides
+    public static ForwardSpool provideForwardSpool(
+            Config config, @Nullable PositionForwarder positionForwarder, ObjectMapper objectMapper, Timer timer,
+            StatisticsManager statisticsManager) throws IOException {
+        if (positionForwarder != null && config.hasKey(Keys.FORWARD_SPOOL_PATH)) {
+            return new ForwardSpool(config, positionForwarder, objectMapper, timer, statisticsManager);
+        }
+        return null;
+    }
+
     @Singleton
     @Provides
     public static VelocityEngine provideVelocityEngine(Config config) {
         Properties properties = new Properties();
         properties.setProperty("resource.loader.file.path", config.getString(Keys.TEMPLATES_ROOT) + "/");
+        properties.setProperty("resource.loader.file.cache", "true");
         properties.setProperty("web.url", WebHelper.retrieveWebUrl(config));
 
         VelocityEngine velocityEngine = new VelocityEngine();
@@ -22,13 +22,12 @@ import org.eclipse.jetty.websocket.api.Callback;
 import org.eclipse.jetty.websocket.api.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.LogRecord;
 import org.traccar.model.Position;
 import org.traccar.session.ConnectionManager;
-import org.traccar.storage.Storage;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.StorageException;
 
 import java.nio.channels.ClosedChannelException;
@@ -48,16 +47,17 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
 
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
-    private final Storage storage;
+    private final PositionStore positionStore;
     private final long userId;
 
     private boolean includeLogs;
     private Session session;
 
-    public AsyncSocket(ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage, long userId) {
+    public AsyncSocket(
+            ObjectMapper objectMapper, ConnectionManager connectionManager, PositionStore positionStore, long userId) {
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
-        this.storage = storage;
+        this.positionStore = positionStore;
         this.userId = userId;
     }
 
@@ -66,7 +66,7 @@ public class AsyncSocket implements Session.Listener.AutoDemanding, ConnectionMa
         this.session = session;
         try {
             Map<String, Collection<?>> data = new HashMap<>();
-            data.put(KEY_POSITIONS, PositionUtil.getLatestPositions(storage, userId));
+            data.put(KEY_POSITIONS, positionStore.getLatestPositions(userId));
             sendData(data);
             connectionManager.addListener(userId, this);
         } catch (StorageException e) {
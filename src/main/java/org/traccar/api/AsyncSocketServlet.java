@@ -23,7 +23,7 @@ import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.SessionHelper;
 import org.traccar.session.ConnectionManager;
-import org.traccar.storage.Storage;
+import org.traccar.storage.PositionStore;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -41,17 +41,17 @@ public class AsyncSocketServlet extends JettyWebSocketServlet {
     private final Config config;
     private final ObjectMapper objectMapper;
     private final ConnectionManager connectionManager;
-    private final Storage storage;
+    private final PositionStore positionStore;
     private final LoginService loginService;
 
     @Inject
     public AsyncSocketServlet(
-            Config config, ObjectMapper objectMapper, ConnectionManager connectionManager, Storage storage,
+            Config config, ObjectMapper objectMapper, ConnectionManager connectionManager, PositionStore positionStore,
             LoginService loginService) {
         this.config = config;
         this.objectMapper = objectMapper;
         this.connectionManager = connectionManager;
-        this.storage = storage;
+        this.positionStore = positionStore;
         this.loginService = loginService;
     }
 
@@ -72,7 +72,7 @@ public class AsyncSocketServlet extends JettyWebSocketServlet {
                 userId = (Long) ((HttpSession) req.getSession()).getAttribute(SessionHelper.USER_ID_KEY);
             }
             if (userId != null) {
-                return new AsyncSocket(objectMapper, connectionManager, storage, userId);
+                return new AsyncSocket(objectMapper, connectionManager, positionStore, userId);
             }
             return null;
         });
@@ -50,11 +50,11 @@ public class ExtendedObjectResource<T extends BaseModel> extends BaseObjectResou
 
         if (all) {
             if (permissionsService.notAdmin(getUserId())) {
-                conditions.add(new Condition.Permission(User.class, getUserId(), baseClass));
+                conditions.add(permissionsService.getPermissionCondition(getUserId(), baseClass));
             }
         } else {
             if (userId == 0) {
-                conditions.add(new Condition.Permission(User.class, getUserId(), baseClass));
+                conditions.add(permissionsService.getPermissionCondition(getUserId(), baseClass));
             } else {
                 permissionsService.checkUser(getUserId(), userId);
                 conditions.add(new Condition.Permission(User.class, userId, baseClass).excludeGroups());
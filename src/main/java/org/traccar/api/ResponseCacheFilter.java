@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.api;
+
+import com.google.inject.Injector;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.traccar.api.security.PermissionsService;
+import org.traccar.api.security.UserPrincipal;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.session.cache.ChangeTracker;
+import org.traccar.session.cache.PermissionIndex;
+import org.traccar.storage.StorageException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Adds entity tags to responses of resources marked with {@link CachedResponse} and answers repeated requests from
+ * memory. Tags are derived from {@link ChangeTracker} versions, so they change whenever data visible to the user does.
+ * Cached bodies are evicted in least recently used order to keep their total size within the configured limit.
+ */
+@Singleton
+@Priority(Priorities.USER + 1)
+public class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String PROPERTY_KEY = ResponseCacheFilter.class.getName() + ".key";
+    private static final String PROPERTY_TAG = ResponseCacheFilter.class.getName() + ".tag";
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.valueOf("private, no-cache");
+
+    private record Entry(EntityTag tag, MediaType mediaType, byte[] body) {
+    }
+
+    private final ChangeTracker changeTracker;
+    private final PermissionIndex permissionIndex;
+    private final Injector injector;
+    private final long cacheLimit;
+    private final int entryLimit;
+    private final Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cacheBytes;
+
+    // versions start from zero after every restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Inject
+    public ResponseCacheFilter(
+            Config config, ChangeTracker changeTracker, PermissionIndex permissionIndex, Injector injector) {
+        this.changeTracker = changeTracker;
+        this.permissionIndex = permissionIndex;
+        this.injector = injector;
+        cacheLimit = Math.max(0, config.getInteger(Keys.WEB_RESPONSE_CACHE_SIZE));
+        entryLimit = (int) (cacheLimit / 4);
+    }
+
+    private synchronized Entry getEntry(String key) {
+        return cache.get(key);
+    }
+
+    private synchronized void putEntry(String key, Entry entry) {
+        Entry previous = cache.put(key, entry);
+        if (previous != null) {
+            cacheBytes -= previous.body().length;
+        }
+        cacheBytes += entry.body().length;
+        var iterator = cache.values().iterator();
+        while (cacheBytes > cacheLimit && iterator.hasNext()) {
+            cacheBytes -= iterator.next().body().length;
+            iterator.remove();
+        }
+    }
+
+    private CachedResponse getAnnotation() {
+        Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return null;
+        }
+        CachedResponse annotation = method.getAnnotation(CachedResponse.class);
+        return annotation != null ? annotation : resourceInfo.getResourceClass().getAnnotation(CachedResponse.class);
+    }
+
+    private long getVersion(ContainerRequestContext request, long userId, Class<?> clazz) throws StorageException {
+        long version = changeTracker.getVersion(clazz);
+        if (clazz.equals(Device.class) || clazz.equals(Position.class)) {
+            var parameters = request.getUriInfo().getQueryParameters();
+            boolean scoped = !parameters.containsKey("all") && !parameters.containsKey("userId")
+                    && injector.getInstance(PermissionsService.class).notAdmin(userId);
+            long deviceVersion = scoped
+                    ? changeTracker.getDeviceVersion(permissionIndex.getObjectIds(userId, Device.class))
+                    : changeTracker.getDeviceVersion();
+            version = Math.max(version, deviceVersion);
+        }
+        return version;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!request.getMethod().equals(HttpMethod.GET)) {
+            return;
+        }
+        CachedResponse annotation = getAnnotation();
+        if (annotation == null || !(request.getSecurityContext().getUserPrincipal() instanceof UserPrincipal user)) {
+            return;
+        }
+        var parameters = request.getUriInfo().getQueryParameters();
+        for (String parameter : annotation.excludedParameters()) {
+            if (parameters.containsKey(parameter)) {
+                return;
+            }
+        }
+
+        EntityTag tag;
+        try {
+            long version = getVersion(request, user.getUserId(), annotation.value());
+            tag = new EntityTag(epoch + "-" + user.getUserId() + "-" + version);
+        } catch (StorageException e) {
+            throw new WebApplicationException(e);
+        }
+
+        Response.ResponseBuilder notModified = request.getRequest().evaluatePreconditions(tag);
+        if (notModified != null) {
+            request.abortWith(notModified.tag(tag).cacheControl(CACHE_CONTROL).build());
+            return;
+        }
+
+        var uri = request.getUriInfo().getRequestUri();
+        String key = user.getUserId() + ":" + uri.getRawPath() + "?" + uri.getRawQuery();
+        if (entryLimit > 0) {
+            Entry entry = getEntry(key);
+            if (entry != null && entry.tag().equals(tag)) {
+                request.abortWith(Response.ok(entry.body(), entry.mediaType())
+                        .tag(tag).cacheControl(CACHE_CONTROL).build());
+                return;
+            }
+        }
+
+        request.setProperty(PROPERTY_KEY, key);
+        request.setProperty(PROPERTY_TAG, tag);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object tag = request.getProperty(PROPERTY_TAG);
+        if (tag != null) {
+            if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+                response.getHeaders().putSingle(HttpHeaders.ETAG, tag);
+                response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            } else {
+                request.removeProperty(PROPERTY_KEY);
+            }
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        String key = (String) context.getProperty(PROPERTY_KEY);
+        if (entryLimit <= 0 || key == null) {
+            context.proceed();
+            return;
+        }
+
+        var buffer = new ByteArrayOutputStream() {
+            private boolean overflow;
+
+            private void copy(byte[] b, int off, int len) {
+                if (!overflow) {
+                    if (count + len > entryLimit) {
+                        overflow = true;
+                        buf = new byte[0];
+                        count = 0;
+                    } else {
+                        write(b, off, len);
+                    }
+                }
+            }
+        };
+        context.setOutputStream(new FilterOutputStream(context.getOutputStream()) {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                buffer.copy(b, off, len);
+            }
+        });
+        context.proceed();
+
+        if (!buffer.overflow) {
+            EntityTag tag = (EntityTag) context.getProperty(PROPERTY_TAG);
+            putEntry(key, new Entry(tag, context.getMediaType(), buffer.toByteArray()));
+        }
+    }
+
+}
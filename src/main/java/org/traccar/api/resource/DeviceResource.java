@@ -19,6 +19,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.core.Context;
 import org.traccar.api.BaseObjectResource;
+import org.traccar.api.CachedResponse;
 import org.traccar.api.signature.TokenManager;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
@@ -32,6 +33,7 @@ import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.session.ConnectionManager;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -40,6 +42,7 @@ import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
@@ -83,6 +86,9 @@ public class DeviceResource extends BaseObjectResource<Device> {
     @Inject
     private MediaManager mediaManager;
 
+    @Inject
+    private PositionStore positionStore;
+
     @Inject
     private TokenManager tokenManager;
 
@@ -96,6 +102,7 @@ public class DeviceResource extends BaseObjectResource<Device> {
         super(Device.class);
     }
 
+    @CachedResponse(Device.class)
     @GET
     public Stream<Device> get(
             @QueryParam("all") boolean all, @QueryParam("userId") long userId,
@@ -113,14 +120,14 @@ public class DeviceResource extends BaseObjectResource<Device> {
                         columns,
                         new Condition.And(
                                 new Condition.Equals("uniqueId", uniqueId),
-                                new Condition.Permission(User.class, getUserId(), Device.class)))));
+                                permissionsService.getPermissionCondition(getUserId(), Device.class)))));
             }
             for (Long deviceId : deviceIds) {
                 result.addAll(storage.getObjects(Device.class, new Request(
                         columns,
                         new Condition.And(
                                 new Condition.Equals("id", deviceId),
-                                new Condition.Permission(User.class, getUserId(), Device.class)))));
+                                permissionsService.getPermissionCondition(getUserId(), Device.class)))));
             }
             return result.stream();
 
@@ -130,11 +137,11 @@ public class DeviceResource extends BaseObjectResource<Device> {
 
             if (all) {
                 if (permissionsService.notAdmin(getUserId())) {
-                    conditions.add(new Condition.Permission(User.class, getUserId(), baseClass));
+                    conditions.add(permissionsService.getPermissionCondition(getUserId(), baseClass));
                 }
             } else {
                 if (userId == 0) {
-                    conditions.add(new Condition.Permission(User.class, getUserId(), baseClass));
+                    conditions.add(permissionsService.getPermissionCondition(getUserId(), baseClass));
                 } else {
                     permissionsService.checkUser(getUserId(), userId);
                     conditions.add(new Condition.Permission(User.class, userId, baseClass).excludeGroups());
@@ -147,6 +154,15 @@ public class DeviceResource extends BaseObjectResource<Device> {
         }
     }
 
+    @Path("{id}")
+    @DELETE
+    @Override
+    public Response remove(@PathParam("id") long id) throws Exception {
+        Response response = super.remove(id);
+        positionStore.removeDevice(id);
+        return response;
+    }
+
     @Path("{id}/accumulators")
     @PUT
     public Response updateAccumulators(DeviceAccumulators entity) throws Exception {
@@ -209,7 +225,7 @@ public class DeviceResource extends BaseObjectResource<Device> {
                 new Columns.All(),
                 new Condition.And(
                         new Condition.Equals("id", deviceId),
-                        new Condition.Permission(User.class, getUserId(), Device.class))));
+                        permissionsService.getPermissionCondition(getUserId(), Device.class))));
         if (device != null) {
             String name = "device";
             String extension = imageExtension(type);
@@ -15,6 +15,7 @@
  */
 package org.traccar.api.resource;
 
+import org.traccar.api.CachedResponse;
 import org.traccar.api.ExtendedObjectResource;
 import org.traccar.model.Geofence;
 
@@ -26,6 +27,7 @@ import jakarta.ws.rs.core.MediaType;
 @Path("geofences")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@CachedResponse(Geofence.class)
 public class GeofenceResource extends ExtendedObjectResource<Geofence> {
 
     public GeofenceResource() {
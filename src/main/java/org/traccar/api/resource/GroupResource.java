@@ -15,6 +15,7 @@
  */
 package org.traccar.api.resource;
 
+import org.traccar.api.CachedResponse;
 import org.traccar.api.SimpleObjectResource;
 import org.traccar.model.Group;
 
@@ -26,6 +27,7 @@ import jakarta.ws.rs.core.MediaType;
 @Path("groups")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@CachedResponse(Group.class)
 public class GroupResource extends SimpleObjectResource<Group> {
 
     public GroupResource() {
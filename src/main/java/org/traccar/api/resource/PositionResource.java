@@ -16,14 +16,17 @@
 package org.traccar.api.resource;
 
 import org.traccar.api.BaseResource;
-import org.traccar.helper.model.PositionUtil;
+import org.traccar.api.CachedResponse;
 import org.traccar.model.Device;
 import org.traccar.model.Geofence;
 import org.traccar.model.Position;
 import org.traccar.model.UserRestrictions;
+import org.traccar.reports.BinaryExportProvider;
 import org.traccar.reports.CsvExportProvider;
 import org.traccar.reports.GpxExportProvider;
 import org.traccar.reports.KmlExportProvider;
+import org.traccar.reports.common.ReportRollups;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
@@ -45,7 +48,6 @@ import jakarta.ws.rs.core.StreamingOutput;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.LinkedList;
 import java.util.stream.Stream;
 
 @Path("positions")
@@ -53,6 +55,9 @@ import java.util.stream.Stream;
 @Consumes(MediaType.APPLICATION_JSON)
 public class PositionResource extends BaseResource {
 
+    @Inject
+    private PositionStore positionStore;
+
     @Inject
     private KmlExportProvider kmlExportProvider;
 
@@ -62,6 +67,13 @@ public class PositionResource extends BaseResource {
     @Inject
     private GpxExportProvider gpxExportProvider;
 
+    @Inject
+    private BinaryExportProvider binaryExportProvider;
+
+    @Inject
+    private ReportRollups reportRollups;
+
+    @CachedResponse(value = Position.class, excludedParameters = {"id", "from", "to"})
     @GET
     public Stream<Position> getJson(
             @QueryParam("deviceId") long deviceId, @QueryParam("id") List<Long> positionIds,
@@ -84,14 +96,14 @@ public class PositionResource extends BaseResource {
                 Geofence geofence = geofenceId == 0 ? null : storage.getObject(Geofence.class, new Request(
                         new Columns.All(), new Condition.Equals("id", geofenceId)));
 
-                return PositionUtil.getPositionsStream(storage, deviceId, from, to)
+                return positionStore.getPositionsStream(deviceId, from, to)
                         .filter(position -> geofence == null || geofence.containsPosition(position));
             } else {
                 return storage.getObjectsStream(Position.class, new Request(
                         new Columns.All(), new Condition.LatestPositions(deviceId)));
             }
         } else {
-            return PositionUtil.getLatestPositions(storage, getUserId()).stream();
+            return positionStore.getLatestPositions(getUserId()).stream();
         }
     }
 
@@ -108,7 +120,8 @@ public class PositionResource extends BaseResource {
 
         permissionsService.checkPermission(Device.class, getUserId(), position.getDeviceId());
 
-        storage.removeObject(Position.class, request);
+        positionStore.removePosition(position);
+        reportRollups.removeRollups(position.getDeviceId(), position.getFixTime(), position.getFixTime());
         return Response.status(Response.Status.NO_CONTENT).build();
     }
 
@@ -119,10 +132,8 @@ public class PositionResource extends BaseResource {
         permissionsService.checkPermission(Device.class, getUserId(), deviceId);
         permissionsService.checkRestriction(getUserId(), UserRestrictions::getReadonly);
 
-        var conditions = new LinkedList<Condition>();
-        conditions.add(new Condition.Equals("deviceId", deviceId));
-        conditions.add(new Condition.Between("fixTime", from, to));
-        storage.removeObject(Position.class, new Request(Condition.merge(conditions)));
+        positionStore.removePositions(deviceId, from, to);
+        reportRollups.removeRollups(deviceId, from, to);
 
         return Response.status(Response.Status.NO_CONTENT).build();
     }
@@ -181,4 +192,23 @@ public class PositionResource extends BaseResource {
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=positions.gpx").build();
     }
 
+    @Path("binary")
+    @GET
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public Response getBinary(
+            @QueryParam("deviceId") long deviceId, @QueryParam("geofenceId") long geofenceId,
+            @QueryParam("from") Date from, @QueryParam("to") Date to,
+            @QueryParam("column") List<String> columns) throws StorageException {
+        permissionsService.checkPermission(Device.class, getUserId(), deviceId);
+        StreamingOutput stream = output -> {
+            try {
+                binaryExportProvider.generate(output, deviceId, geofenceId, from, to, columns);
+            } catch (StorageException e) {
+                throw new WebApplicationException(e);
+            }
+        };
+        return Response.ok(stream)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=positions.bin").build();
+    }
+
 }
@@ -32,8 +32,10 @@ import org.traccar.reports.StopsReportProvider;
 import org.traccar.reports.SummaryReportProvider;
 import org.traccar.reports.TripsReportProvider;
 import org.traccar.reports.common.ReportExecutor;
+import org.traccar.reports.common.ReportJobManager;
 import org.traccar.reports.common.ReportMailer;
 import org.traccar.reports.model.CombinedReportItem;
+import org.traccar.reports.model.ReportJob;
 import org.traccar.reports.model.StopReportItem;
 import org.traccar.reports.model.SummaryReportItem;
 import org.traccar.reports.model.TripReportItem;
@@ -41,7 +43,9 @@ import org.traccar.storage.StorageException;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
@@ -51,9 +55,12 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Path("reports")
@@ -87,6 +94,9 @@ public class ReportResource extends SimpleObjectResource<Report> {
     @Inject
     private ReportMailer reportMailer;
 
+    @Inject
+    private ReportJobManager reportJobManager;
+
     @Inject
     private LogAction actionLogger;
 
@@ -114,6 +124,16 @@ public class ReportResource extends SimpleObjectResource<Report> {
         }
     }
 
+    private static String jobKey(Object... values) {
+        return Arrays.stream(values)
+                .map(value -> value instanceof Date date ? String.valueOf(date.getTime()) : String.valueOf(value))
+                .collect(Collectors.joining("|"));
+    }
+
+    private ReportJob submitJob(String type, String key, ReportExecutor executor) {
+        return reportJobManager.submit(getUserId(), type, key, executor);
+    }
+
     @Path("combined")
     @GET
     public Collection<CombinedReportItem> getCombined(
@@ -346,4 +366,124 @@ public class ReportResource extends SimpleObjectResource<Report> {
         });
     }
 
+    @Path("route/jobs")
+    @POST
+    public ReportJob createRouteJob(
+            @QueryParam("deviceId") List<Long> deviceIds,
+            @QueryParam("groupId") List<Long> groupIds,
+            @QueryParam("from") Date from,
+            @QueryParam("to") Date to) throws StorageException {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
+        long userId = getUserId();
+        actionLogger.report(request, userId, false, "route", from, to, deviceIds, groupIds);
+        return submitJob("route", jobKey(deviceIds, groupIds, from, to), stream -> {
+            routeReportProvider.getExcel(stream, userId, deviceIds, groupIds, from, to);
+        });
+    }
+
+    @Path("events/jobs")
+    @POST
+    public ReportJob createEventsJob(
+            @QueryParam("deviceId") List<Long> deviceIds,
+            @QueryParam("groupId") List<Long> groupIds,
+            @QueryParam("type") List<String> types,
+            @QueryParam("alarm") List<String> alarms,
+            @QueryParam("from") Date from,
+            @QueryParam("to") Date to) throws StorageException {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
+        long userId = getUserId();
+        actionLogger.report(request, userId, false, "events", from, to, deviceIds, groupIds);
+        return submitJob("events", jobKey(deviceIds, groupIds, types, alarms, from, to), stream -> {
+            eventsReportProvider.getExcel(stream, userId, deviceIds, groupIds, types, alarms, from, to);
+        });
+    }
+
+    @Path("summary/jobs")
+    @POST
+    public ReportJob createSummaryJob(
+            @QueryParam("deviceId") List<Long> deviceIds,
+            @QueryParam("groupId") List<Long> groupIds,
+            @QueryParam("from") Date from,
+            @QueryParam("to") Date to,
+            @QueryParam("daily") boolean daily) throws StorageException {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
+        long userId = getUserId();
+        actionLogger.report(request, userId, false, "summary", from, to, deviceIds, groupIds);
+        return submitJob("summary", jobKey(deviceIds, groupIds, from, to, daily), stream -> {
+            summaryReportProvider.getExcel(stream, userId, deviceIds, groupIds, from, to, daily);
+        });
+    }
+
+    @Path("trips/jobs")
+    @POST
+    public ReportJob createTripsJob(
+            @QueryParam("deviceId") List<Long> deviceIds,
+            @QueryParam("groupId") List<Long> groupIds,
+            @QueryParam("from") Date from,
+            @QueryParam("to") Date to) throws StorageException {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
+        long userId = getUserId();
+        actionLogger.report(request, userId, false, "trips", from, to, deviceIds, groupIds);
+        return submitJob("trips", jobKey(deviceIds, groupIds, from, to), stream -> {
+            tripsReportProvider.getExcel(stream, userId, deviceIds, groupIds, from, to);
+        });
+    }
+
+    @Path("stops/jobs")
+    @POST
+    public ReportJob createStopsJob(
+            @QueryParam("deviceId") List<Long> deviceIds,
+            @QueryParam("groupId") List<Long> groupIds,
+            @QueryParam("from") Date from,
+            @QueryParam("to") Date to) throws StorageException {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
+        long userId = getUserId();
+        actionLogger.report(request, userId, false, "stops", from, to, deviceIds, groupIds);
+        return submitJob("stops", jobKey(deviceIds, groupIds, from, to), stream -> {
+            stopsReportProvider.getExcel(stream, userId, deviceIds, groupIds, from, to);
+        });
+    }
+
+    @Path("devices/jobs")
+    @POST
+    public ReportJob createDevicesJob() throws StorageException {
+        permissionsService.checkRestriction(getUserId(), UserRestrictions::getDisableReports);
+        long userId = getUserId();
+        return submitJob("devices", "", stream -> {
+            devicesReportProvider.getExcel(stream, userId);
+        });
+    }
+
+    @Path("jobs/{id}")
+    @GET
+    public ReportJob getJob(@PathParam("id") String id) {
+        ReportJob job = reportJobManager.getStatus(getUserId(), id);
+        if (job == null) {
+            throw new WebApplicationException(Response.status(Response.Status.NOT_FOUND).build());
+        }
+        return job;
+    }
+
+    @Path("jobs/{id}/file")
+    @GET
+    @Produces(EXCEL)
+    public Response getJobFile(@PathParam("id") String id) {
+        var file = reportJobManager.getFile(getUserId(), id);
+        if (file == null) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        StreamingOutput stream = output -> Files.copy(file, output);
+        return Response.ok(stream)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=report.xlsx").build();
+    }
+
+    @Path("jobs/{id}")
+    @DELETE
+    public Response cancelJob(@PathParam("id") String id) {
+        if (!reportJobManager.cancel(getUserId(), id)) {
+            return Response.status(Response.Status.NOT_FOUND).build();
+        }
+        return Response.noContent().build();
+    }
+
 }
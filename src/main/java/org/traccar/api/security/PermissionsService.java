@@ -28,6 +28,7 @@ import org.traccar.model.Schedulable;
 import org.traccar.model.Server;
 import org.traccar.model.User;
 import org.traccar.model.UserRestrictions;
+import org.traccar.session.cache.PermissionIndex;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -36,18 +37,23 @@ import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import java.util.Objects;
+import java.util.Set;
 
 @RequestScoped
 public class PermissionsService {
 
+    private static final int MAX_INLINE_IDS = 1000;
+
     private final Storage storage;
+    private final PermissionIndex permissionIndex;
 
     private Server server;
     private User user;
 
     @Inject
-    public PermissionsService(Storage storage) {
+    public PermissionsService(Storage storage, PermissionIndex permissionIndex) {
         this.storage = storage;
+        this.permissionIndex = permissionIndex;
     }
 
     public Server getServer() throws StorageException {
@@ -109,9 +115,7 @@ public class PermissionsService {
                 denied = getServer().getDeviceReadonly() || getUser(userId).getDeviceReadonly()
                         || addition && getUser(userId).getDeviceLimit() == 0;
                 if (!denied && addition && getUser(userId).getDeviceLimit() > 0) {
-                    int deviceCount = storage.getObjects(Device.class, new Request(
-                            new Columns.Include("id"),
-                            new Condition.Permission(User.class, userId, Device.class))).size();
+                    int deviceCount = permissionIndex.getObjectIds(userId, Device.class).size();
                     denied = deviceCount >= getUser(userId).getDeviceLimit();
                 }
             } else if (clazz.equals(Command.class)) {
@@ -170,7 +174,7 @@ public class PermissionsService {
     public void checkUser(long userId, long managedUserId) throws StorageException, SecurityException {
         if (userId != managedUserId && !getUser(userId).getAdministrator()) {
             if (!getUser(userId).getManager()
-                    || storage.getPermissions(User.class, userId, ManagedUser.class, managedUserId).isEmpty()) {
+                    || !permissionIndex.getObjectIds(userId, User.class).contains(managedUserId)) {
                 throw new SecurityException("User access denied");
             }
         }
@@ -211,16 +215,23 @@ public class PermissionsService {
     public <T extends BaseModel> void checkPermission(
             Class<T> clazz, long userId, long objectId) throws StorageException, SecurityException {
         if (!getUser(userId).getAdministrator() && !(clazz.equals(User.class) && userId == objectId)) {
-            var object = storage.getObject(clazz, new Request(
-                    new Columns.Include("id"),
-                    new Condition.And(
-                            new Condition.Equals("id", objectId),
-                            new Condition.Permission(
-                                    User.class, userId, clazz.equals(User.class) ? ManagedUser.class : clazz))));
-            if (object == null) {
+            if (!permissionIndex.getObjectIds(userId, clazz).contains(objectId)) {
                 throw new SecurityException(clazz.getSimpleName() + " access denied");
             }
         }
     }
 
+    /**
+     * Returns condition matching all objects of the given class accessible by the user, including objects available
+     * through groups. For the {@link User} class it matches managed users. Large sets of identifiers are matched with
+     * the permission subquery instead of an inline list.
+     */
+    public Condition getPermissionCondition(long userId, Class<? extends BaseModel> clazz) throws StorageException {
+        Set<Long> ids = permissionIndex.getObjectIds(userId, clazz);
+        if (ids.size() > MAX_INLINE_IDS) {
+            return new Condition.Permission(User.class, userId, clazz.equals(User.class) ? ManagedUser.class : clazz);
+        }
+        return new Condition.In("id", ids);
+    }
+
 }
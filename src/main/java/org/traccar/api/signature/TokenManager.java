@@ -18,11 +18,16 @@ package org.traccar.api.signature;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.codec.binary.Base64;
+import org.traccar.broadcast.BroadcastInterface;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.BaseModel;
+import org.traccar.model.ObjectOperation;
 import org.traccar.model.RevokedToken;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
@@ -30,20 +35,34 @@ import jakarta.inject.Singleton;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Verified tokens are cached until expiration, so signature is only checked once per token. Revoked token ids are
+ * kept in memory and synchronized between instances through the broadcast service.
+ */
 @Singleton
-public class TokenManager {
+public class TokenManager implements BroadcastInterface {
 
     private static final int DEFAULT_EXPIRATION_DAYS = 7;
 
     private final ObjectMapper objectMapper;
     private final CryptoManager cryptoManager;
     private final Storage storage;
+    private final BroadcastService broadcastService;
 
     private final SecureRandom random = new SecureRandom();
 
+    private final Map<String, TokenData> verified;
+    private final Set<Long> revoked = ConcurrentHashMap.newKeySet();
+    private volatile boolean revokedLoaded;
+
     public static class TokenData {
         @JsonProperty("i")
         private long id;
@@ -66,10 +85,21 @@ public class TokenManager {
     }
 
     @Inject
-    public TokenManager(ObjectMapper objectMapper, CryptoManager cryptoManager, Storage storage) {
+    public TokenManager(
+            Config config, ObjectMapper objectMapper, CryptoManager cryptoManager, Storage storage,
+            BroadcastService broadcastService) {
         this.objectMapper = objectMapper;
         this.cryptoManager = cryptoManager;
         this.storage = storage;
+        this.broadcastService = broadcastService;
+        int cacheSize = config.getInteger(Keys.WEB_TOKEN_CACHE_SIZE);
+        verified = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenData> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        broadcastService.registerListener(this);
     }
 
     public String generateToken(long userId) throws IOException, GeneralSecurityException, StorageException {
@@ -90,22 +120,59 @@ public class TokenManager {
         return Base64.encodeBase64URLSafeString(cryptoManager.sign(encoded));
     }
 
+    private void loadRevoked() throws StorageException {
+        if (!revokedLoaded) {
+            synchronized (revoked) {
+                if (!revokedLoaded) {
+                    try (var tokens = storage.getObjectsStream(RevokedToken.class, new Request(
+                            new Columns.Include("id")))) {
+                        tokens.forEach(token -> revoked.add(token.getId()));
+                    }
+                    revokedLoaded = true;
+                }
+            }
+        }
+    }
+
     public TokenData verifyToken(String token) throws IOException, GeneralSecurityException, StorageException {
-        TokenData data = decodeToken(token);
+        TokenData data = verified.get(token);
+        if (data == null) {
+            data = decodeToken(token);
+        }
         if (data.expiration.before(new Date())) {
+            verified.remove(token);
             throw new SecurityException("Token has expired");
         }
-        var revoked = storage.getObject(RevokedToken.class, new Request(
-                new Columns.All(), new Condition.Equals("id", data.getId())));
-        if (revoked != null) {
+        loadRevoked();
+        if (revoked.contains(data.getId())) {
+            verified.remove(token);
             throw new SecurityException("Token has been revoked");
         }
+        verified.put(token, data);
         return data;
     }
 
+    public void revokeToken(String token) throws Exception {
+        TokenData data = decodeToken(token);
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setId(data.getId());
+        storage.addObject(revokedToken, new Request(new Columns.Include("id")));
+        revoked.add(data.getId());
+        verified.remove(token);
+        broadcastService.invalidateObject(true, RevokedToken.class, data.getId(), ObjectOperation.ADD);
+    }
+
     public TokenData decodeToken(String token) throws IOException, GeneralSecurityException, StorageException {
         byte[] encoded = cryptoManager.verify(Base64.decodeBase64(token));
         return objectMapper.readValue(encoded, TokenData.class);
     }
 
+    @Override
+    public <T extends BaseModel> void invalidateObject(
+            boolean local, Class<T> clazz, long id, ObjectOperation operation) {
+        if (!local && clazz.equals(RevokedToken.class)) {
+            revoked.add(id);
+        }
+    }
+
 }
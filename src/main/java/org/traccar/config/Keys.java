@@ -556,6 +556,84 @@ public final class Keys {
             "database.saveEmpty",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Position history store. By default history is kept in the database. Use 'local' to keep history in columnar
+     * files on disk. Older history that was stored before switching is still read from the database. Positions are
+     * still written to the database as well, so the local store does not reduce the database write volume.
+     */
+    public static final ConfigKey<String> DATABASE_POSITION_STORE = new StringConfigKey(
+            "database.positionStore",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Path to the folder for the local position history store.
+     */
+    public static final ConfigKey<String> DATABASE_POSITION_STORE_PATH = new StringConfigKey(
+            "database.positionStorePath",
+            List.of(KeyType.CONFIG),
+            "./data/positions");
+
+    /**
+     * Interval in milliseconds for writing device state, such as motion, overspeed and latest position id. Changes
+     * within the interval are merged per device and written as a batch. State changed after the last write is lost
+     * if the server is terminated abnormally. Default value is 0, which means every change is written immediately.
+     */
+    public static final ConfigKey<Long> DATABASE_DEVICE_STATE_INTERVAL = new LongConfigKey(
+            "database.deviceStateInterval",
+            List.of(KeyType.CONFIG),
+            0L);
+
+    /**
+     * Number of devices with pending state changes that triggers an early write. Default value is 1000.
+     */
+    public static final ConfigKey<Integer> DATABASE_DEVICE_STATE_BATCH = new IntegerConfigKey(
+            "database.deviceStateBatch",
+            List.of(KeyType.CONFIG),
+            1000);
+
+    /**
+     * Enable native time partitioning of the positions table for PostgreSQL and MySQL. Supported values are 'day' and
+     * 'month'. An existing non-partitioned table is only converted when 'database.partition.convert' is enabled.
+     * Not used when the table is managed by TimescaleDB.
+     */
+    public static final ConfigKey<String> DATABASE_PARTITION = new StringConfigKey(
+            "database.partition",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Convert existing positions table into a partitioned one. All existing data becomes a single legacy partition.
+     * Conversion is a one-off maintenance step, so enable it for one start and disable it afterwards. Only one node
+     * runs it, others skip partition maintenance until it is finished.
+     * <p>
+     * PostgreSQL builds the required indexes concurrently and validates a fix time check constraint without blocking
+     * writes. Positions with fix time after the current partition interval are rejected until the table is swapped.
+     * <p>
+     * MySQL copies positions in batches into a new partitioned table and swaps the tables once the copy has caught
+     * up, so history stays complete during the copy. Updates and deletes of already copied positions made while the
+     * conversion runs are not carried over. Database needs enough free disk space for a full copy of the table.
+     * <p>
+     * Conversion runs on its own thread and can take hours on large tables.
+     */
+    public static final ConfigKey<Boolean> DATABASE_PARTITION_CONVERT = new BooleanConfigKey(
+            "database.partition.convert",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Number of future partitions to create ahead of time.
+     */
+    public static final ConfigKey<Integer> DATABASE_PARTITION_AHEAD = new IntegerConfigKey(
+            "database.partition.ahead",
+            List.of(KeyType.CONFIG),
+            3);
+
+    /**
+     * Position retention period in days. Partitions that only contain older data are dropped as a whole. Default value
+     * is 0, which means that data is never removed.
+     */
+    public static final ConfigKey<Integer> DATABASE_PARTITION_RETENTION = new IntegerConfigKey(
+            "database.partition.retention",
+            List.of(KeyType.CONFIG));
+
     /**
      * Device limit for self registered users. Default value is -1, which indicates no limit.
      */
@@ -748,6 +826,16 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             600L);
 
+    /**
+     * Interval in seconds for writing device last update time when status does not change. Within the interval the
+     * time is only kept in memory, and changed devices are written as a batch and pushed to connected clients once per
+     * interval. Status changes are always written immediately. Default value is 0, which means every update is written.
+     */
+    public static final ConfigKey<Long> STATUS_UPDATE_INTERVAL = new LongConfigKey(
+            "status.updateInterval",
+            List.of(KeyType.CONFIG),
+            0L);
+
     /**
      * List of protocol names to ignore offline status. Can be useful to not trigger status change when devices are
      * configured to disconnect after reporting a batch of data.
@@ -866,6 +954,26 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "max-age=3600,public");
 
+    /**
+     * Maximum total size in bytes of serialized API responses kept in memory for polled devices, groups, geofences and
+     * latest positions. Responses are reused until related data changes. Responses larger than a quarter of the limit
+     * are not cached. Zero disables the cache, but entity tags are still used for conditional requests. Default value
+     * is 16 MB.
+     */
+    public static final ConfigKey<Integer> WEB_RESPONSE_CACHE_SIZE = new IntegerConfigKey(
+            "web.responseCacheSize",
+            List.of(KeyType.CONFIG),
+            16 * 1024 * 1024);
+
+    /**
+     * Maximum number of verified API tokens kept in memory. Cached tokens skip signature verification until they
+     * expire or are revoked.
+     */
+    public static final ConfigKey<Integer> WEB_TOKEN_CACHE_SIZE = new IntegerConfigKey(
+            "web.tokenCacheSize",
+            List.of(KeyType.CONFIG),
+            1000);
+
     /**
      * Path to localization files.
      */
@@ -895,6 +1003,31 @@ public final class Keys {
             "server.forward",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Raw data forwarding buffer limit in bytes for each source connection. Data is dropped while the amount of
+     * pending data is above this limit.
+     */
+    public static final ConfigKey<Integer> SERVER_FORWARD_HIGH_WATERMARK = new IntegerConfigKey(
+            "server.forward.highWatermark",
+            List.of(KeyType.CONFIG),
+            64 * 1024);
+
+    /**
+     * Raw data forwarding resumes once pending data for the connection goes below this limit in bytes.
+     */
+    public static final ConfigKey<Integer> SERVER_FORWARD_LOW_WATERMARK = new IntegerConfigKey(
+            "server.forward.lowWatermark",
+            List.of(KeyType.CONFIG),
+            32 * 1024);
+
+    /**
+     * Raw data forwarding connection timeout in milliseconds.
+     */
+    public static final ConfigKey<Integer> SERVER_FORWARD_TIMEOUT = new IntegerConfigKey(
+            "server.forward.timeout",
+            List.of(KeyType.CONFIG),
+            10000);
+
     /**
      * Position forwarding format. Available options are "url", "json" and "kafka". Default is "url".
      */
@@ -919,6 +1052,39 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "positions");
 
+    /**
+     * Position forwarding data format for Kafka, AMQP and MQTT. Available options are "json" and "protobuf". Protobuf
+     * messages are defined in ForwardMessages.proto. Default is "json".
+     */
+    public static final ConfigKey<String> FORWARD_FORMAT = new StringConfigKey(
+            "forward.format",
+            List.of(KeyType.CONFIG),
+            "json");
+
+    /**
+     * Position forwarding Kafka producer linger time in milliseconds. Higher values allow larger batches.
+     */
+    public static final ConfigKey<Integer> FORWARD_LINGER = new IntegerConfigKey(
+            "forward.linger",
+            List.of(KeyType.CONFIG),
+            5);
+
+    /**
+     * Position forwarding Kafka producer batch size in bytes.
+     */
+    public static final ConfigKey<Integer> FORWARD_BATCH_SIZE = new IntegerConfigKey(
+            "forward.batchSize",
+            List.of(KeyType.CONFIG),
+            64 * 1024);
+
+    /**
+     * Position forwarding Kafka compression type. Available options are "none", "gzip", "snappy", "lz4" and "zstd".
+     */
+    public static final ConfigKey<String> FORWARD_COMPRESSION = new StringConfigKey(
+            "forward.compression",
+            List.of(KeyType.CONFIG),
+            "none");
+
     /**
      * URL to forward positions. Data is passed through URL parameters. For example, {uniqueId} for device identifier,
      * {latitude} and {longitude} for coordinates.
@@ -972,6 +1138,30 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             100);
 
+    /**
+     * Path to the folder for the position forwarding spool. When set, positions that could not be delivered or exceed
+     * the pending retry limit are stored on disk and delivered in order once the destination recovers.
+     */
+    public static final ConfigKey<String> FORWARD_SPOOL_PATH = new StringConfigKey(
+            "forward.spool.path",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Position forwarding spool segment file size in bytes. Defaults to 64 MB.
+     */
+    public static final ConfigKey<Integer> FORWARD_SPOOL_SEGMENT_SIZE = new IntegerConfigKey(
+            "forward.spool.segmentSize",
+            List.of(KeyType.CONFIG),
+            64 * 1024 * 1024);
+
+    /**
+     * Maximum number of spooled positions delivered concurrently. Defaults to 4.
+     */
+    public static final ConfigKey<Integer> FORWARD_SPOOL_CONCURRENCY = new IntegerConfigKey(
+            "forward.spool.concurrency",
+            List.of(KeyType.CONFIG),
+            4);
+
     /**
      * Events forwarding format. Available options are "json" and "kafka". Default is "json".
      */
@@ -996,6 +1186,39 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             "events");
 
+    /**
+     * Events forwarding data format for Kafka, AMQP and MQTT. Available options are "json" and "protobuf". Protobuf
+     * messages are defined in ForwardMessages.proto. Default is "json".
+     */
+    public static final ConfigKey<String> EVENT_FORWARD_FORMAT = new StringConfigKey(
+            "event.forward.format",
+            List.of(KeyType.CONFIG),
+            "json");
+
+    /**
+     * Events forwarding Kafka producer linger time in milliseconds. Higher values allow larger batches.
+     */
+    public static final ConfigKey<Integer> EVENT_FORWARD_LINGER = new IntegerConfigKey(
+            "event.forward.linger",
+            List.of(KeyType.CONFIG),
+            5);
+
+    /**
+     * Events forwarding Kafka producer batch size in bytes.
+     */
+    public static final ConfigKey<Integer> EVENT_FORWARD_BATCH_SIZE = new IntegerConfigKey(
+            "event.forward.batchSize",
+            List.of(KeyType.CONFIG),
+            64 * 1024);
+
+    /**
+     * Events forwarding Kafka compression type. Available options are "none", "gzip", "snappy", "lz4" and "zstd".
+     */
+    public static final ConfigKey<String> EVENT_FORWARD_COMPRESSION = new StringConfigKey(
+            "event.forward.compression",
+            List.of(KeyType.CONFIG),
+            "none");
+
     /**
      * Events forwarding URL.
      */
@@ -1243,6 +1466,56 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             15 * 60 * 1000L);
 
+    /**
+     * Maximum number of notifications waiting for delivery in memory for each notificator type. When the queue is
+     * full, notifications are written to the spool if it is configured, otherwise they are dropped.
+     */
+    public static final ConfigKey<Integer> NOTIFICATOR_QUEUE_SIZE = new IntegerConfigKey(
+            "notificator.queueSize",
+            List.of(KeyType.CONFIG),
+            10000);
+
+    /**
+     * Number of delivery threads for each notificator type.
+     */
+    public static final ConfigKey<Integer> NOTIFICATOR_THREADS = new IntegerConfigKey(
+            "notificator.threads",
+            List.of(KeyType.CONFIG),
+            2);
+
+    /**
+     * Maximum number of queued notifications passed to a notificator at once. Notificators that support it share
+     * connections or requests between them.
+     */
+    public static final ConfigKey<Integer> NOTIFICATOR_BATCH_SIZE = new IntegerConfigKey(
+            "notificator.batchSize",
+            List.of(KeyType.CONFIG),
+            100);
+
+    /**
+     * Number of delivery retries for failed notifications.
+     */
+    public static final ConfigKey<Integer> NOTIFICATOR_RETRY_LIMIT = new IntegerConfigKey(
+            "notificator.retryLimit",
+            List.of(KeyType.CONFIG),
+            3);
+
+    /**
+     * Delay before the first delivery retry in seconds. The delay doubles with each following attempt.
+     */
+    public static final ConfigKey<Long> NOTIFICATOR_RETRY_DELAY = new LongConfigKey(
+            "notificator.retryDelay",
+            List.of(KeyType.CONFIG),
+            10L);
+
+    /**
+     * Directory for notifications that don't fit into the memory queue. Spooled notifications are delivered when the
+     * queue has space again, including after restart.
+     */
+    public static final ConfigKey<String> NOTIFICATOR_SPOOL_PATH = new StringConfigKey(
+            "notificator.spoolPath",
+            List.of(KeyType.CONFIG));
+
     /**
      * Traccar notification API key.
      */
@@ -1344,6 +1617,57 @@ public final class Keys {
             List.of(KeyType.CONFIG),
             86400L);
 
+    /**
+     * Enable daily rollups for summary, trips and stops reports. Completed UTC days are aggregated once and reports
+     * over long periods only read positions for partial days at the edges of the period.
+     */
+    public static final ConfigKey<Boolean> REPORT_ROLLUPS_ENABLE = new BooleanConfigKey(
+            "report.rollups.enable",
+            List.of(KeyType.CONFIG),
+            false);
+
+    /**
+     * Delay in seconds after the end of a day before it can be aggregated. It should be long enough to receive
+     * buffered positions from devices. One day by default.
+     */
+    public static final ConfigKey<Long> REPORT_ROLLUPS_DELAY = new LongConfigKey(
+            "report.rollups.delay",
+            List.of(KeyType.CONFIG),
+            86400L);
+
+    /**
+     * Number of threads shared by all reports for per-device calculations. By default, it's half of the database
+     * connection pool size, so reports can't take all connections from position processing.
+     */
+    public static final ConfigKey<Integer> REPORT_THREADS = new IntegerConfigKey(
+            "report.threads",
+            List.of(KeyType.CONFIG));
+
+    /**
+     * Maximum number of devices calculated in parallel for a single report. Default value is 4.
+     */
+    public static final ConfigKey<Integer> REPORT_CONCURRENCY = new IntegerConfigKey(
+            "report.concurrency",
+            List.of(KeyType.CONFIG),
+            4);
+
+    /**
+     * Number of background report jobs executed at the same time. Default value is 2.
+     */
+    public static final ConfigKey<Integer> REPORT_JOB_THREADS = new IntegerConfigKey(
+            "report.job.threads",
+            List.of(KeyType.CONFIG),
+            2);
+
+    /**
+     * Time in seconds to keep results of background report jobs. Identical requests within this period reuse the
+     * existing result. One hour by default.
+     */
+    public static final ConfigKey<Long> REPORT_JOB_TTL = new LongConfigKey(
+            "report.job.ttl",
+            List.of(KeyType.CONFIG),
+            3600L);
+
     /**
      * Trips less than minimal duration and minimal distance are ignored. 300 seconds and 500 meters are default.
      */
@@ -1519,6 +1843,25 @@ public final class Keys {
             "filter.relative",
             List.of(KeyType.CONFIG));
 
+    /**
+     * Number of recent positions per device kept in memory for relative filtering. Preceding positions outside of the
+     * kept window are queried from the database and the window is extended back with them when they fit. Set to 0 to
+     * always use the database. Default value is 20.
+     */
+    public static final ConfigKey<Integer> FILTER_RELATIVE_CACHE_SIZE = new IntegerConfigKey(
+            "filter.relative.cacheSize",
+            List.of(KeyType.CONFIG),
+            20);
+
+    /**
+     * Time span in seconds of recent positions per device kept in memory for relative filtering. Default value is
+     * one day.
+     */
+    public static final ConfigKey<Long> FILTER_RELATIVE_CACHE_PERIOD = new LongConfigKey(
+            "filter.relative.cachePeriod",
+            List.of(KeyType.CONFIG),
+            86400L);
+
     /**
      * Time limit for the filtering in seconds. If the time difference between the last position was received by server
      * and a new position is received by server is more than this limit, the new position will not be filtered out.
@@ -44,7 +44,10 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Singleton
 public class CommandsManager implements BroadcastInterface {
@@ -58,6 +61,9 @@ public class CommandsManager implements BroadcastInterface {
     private final CacheManager cacheManager;
     private final CommandSenderManager commandSenderManager;
 
+    private final Set<Long> pendingDevices = ConcurrentHashMap.newKeySet();
+    private volatile boolean pendingLoaded;
+
     @Inject
     public CommandsManager(
             Storage storage, ServerManager serverManager, @Nullable SmsManager smsManager,
@@ -105,6 +111,7 @@ public class CommandsManager implements BroadcastInterface {
                 } else if (!command.getBoolean(Command.KEY_NO_QUEUE)) {
                     QueuedCommand queuedCommand = QueuedCommand.fromCommand(command);
                     queuedCommand.setId(storage.addObject(queuedCommand, new Request(new Columns.Exclude("id"))));
+                    pendingDevices.add(deviceId);
                     broadcastService.updateCommand(true, deviceId);
                     return queuedCommand;
                 } else {
@@ -119,12 +126,40 @@ public class CommandsManager implements BroadcastInterface {
         return readQueuedCommands(deviceId, Integer.MAX_VALUE);
     }
 
+    private void loadPendingDevices() throws StorageException {
+        if (!pendingLoaded) {
+            synchronized (pendingDevices) {
+                if (!pendingLoaded) {
+                    try (var commands = storage.getObjectsStream(QueuedCommand.class, new Request(
+                            new Columns.Include("deviceId")))) {
+                        commands.forEach(command -> pendingDevices.add(command.getDeviceId()));
+                    }
+                    pendingLoaded = true;
+                }
+            }
+        }
+    }
+
     public Collection<Command> readQueuedCommands(long deviceId, int count) {
         try {
-            var commands = storage.getObjects(QueuedCommand.class, new Request(
-                    new Columns.All(),
-                    new Condition.Equals("deviceId", deviceId),
-                    new Order("id", false, count)));
+            loadPendingDevices();
+            // flag is cleared before reading, so a command queued concurrently sets it again
+            if (!pendingDevices.remove(deviceId)) {
+                return List.of();
+            }
+            List<QueuedCommand> commands;
+            try {
+                commands = storage.getObjects(QueuedCommand.class, new Request(
+                        new Columns.All(),
+                        new Condition.Equals("deviceId", deviceId),
+                        new Order("id", false, count)));
+            } catch (StorageException e) {
+                pendingDevices.add(deviceId);
+                throw e;
+            }
+            if (commands.size() >= count) {
+                pendingDevices.add(deviceId);
+            }
             Map<Event, Position> events = new HashMap<>();
             for (var command : commands) {
                 storage.removeObject(QueuedCommand.class, new Request(
@@ -144,6 +179,7 @@ public class CommandsManager implements BroadcastInterface {
     @Override
     public void updateCommand(boolean local, long deviceId) {
         if (!local) {
+            pendingDevices.add(deviceId);
             DeviceSession deviceSession = connectionManager.getDeviceSession(deviceId);
             if (deviceSession != null && deviceSession.supportsLiveCommands()) {
                 for (Command command : readQueuedCommands(deviceId)) {
@@ -30,8 +30,7 @@ import org.traccar.model.Event;
 import org.traccar.model.Geofence;
 import org.traccar.model.Maintenance;
 import org.traccar.model.Position;
-import org.traccar.notification.MessageException;
-import org.traccar.notification.NotificatorManager;
+import org.traccar.notification.NotificationDispatcher;
 import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
@@ -41,7 +40,6 @@ import org.traccar.storage.query.Request;
 import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -55,7 +53,7 @@ public class NotificationManager {
     private final Storage storage;
     private final CacheManager cacheManager;
     private final EventForwarder eventForwarder;
-    private final NotificatorManager notificatorManager;
+    private final NotificationDispatcher notificationDispatcher;
     private final Geocoder geocoder;
 
     private final boolean geocodeOnRequest;
@@ -65,11 +63,11 @@ public class NotificationManager {
     @Inject
     public NotificationManager(
             Config config, Storage storage, CacheManager cacheManager, @Nullable EventForwarder eventForwarder,
-            NotificatorManager notificatorManager, @Nullable Geocoder geocoder) {
+            NotificationDispatcher notificationDispatcher, @Nullable Geocoder geocoder) {
         this.storage = storage;
         this.cacheManager = cacheManager;
         this.eventForwarder = eventForwarder;
-        this.notificatorManager = notificatorManager;
+        this.notificationDispatcher = notificationDispatcher;
         this.geocoder = geocoder;
         geocodeOnRequest = config.getBoolean(Keys.GEOCODER_ON_REQUEST);
         timeThreshold = config.getLong(Keys.NOTIFICATOR_TIME_THRESHOLD);
@@ -95,21 +93,10 @@ public class NotificationManager {
             return;
         }
 
-        var notifications = cacheManager.getDeviceNotifications(event.getDeviceId()).stream()
-                .filter(notification -> notification.getType().equals(event.getType()))
-                .filter(notification -> {
-                    if (event.getType().equals(Event.TYPE_ALARM)) {
-                        String alarmsAttribute = notification.getString("alarms");
-                        if (alarmsAttribute != null) {
-                            return Arrays.asList(alarmsAttribute.split(","))
-                                    .contains(event.getString(Position.KEY_ALARM));
-                        }
-                        return false;
-                    }
-                    return true;
-                })
-                .filter(notification -> {
-                    long calendarId = notification.getCalendarId();
+        var routes = cacheManager.getNotificationRoutes(
+                event.getDeviceId(), event.getType(), event.getString(Position.KEY_ALARM)).stream()
+                .filter(route -> {
+                    long calendarId = route.notification().getCalendarId();
                     Calendar calendar = calendarId != 0 ? cacheManager.getObject(Calendar.class, calendarId) : null;
                     return calendar == null || calendar.checkMoment(event.getEventTime());
                 })
@@ -121,25 +108,21 @@ public class NotificationManager {
                 device.getUniqueId(),
                 DateUtil.formatDate(event.getEventTime(), false),
                 event.getType(),
-                notifications.size());
+                routes.size());
 
-        if (!notifications.isEmpty()) {
+        if (!routes.isEmpty()) {
             if (position != null && position.getAddress() == null && geocodeOnRequest && geocoder != null) {
                 position.setAddress(geocoder.getAddress(position.getLatitude(), position.getLongitude(), null));
             }
 
-            notifications.forEach(notification -> {
-                cacheManager.getNotificationUsers(notification.getId(), event.getDeviceId()).forEach(user -> {
+            routes.forEach(route -> {
+                route.users().forEach(user -> {
                     if (blockedUsers.contains(user.getId())) {
                         LOGGER.info("User {} notification blocked", user.getId());
                         return;
                     }
-                    for (String notificator : notification.getNotificatorsTypes()) {
-                        try {
-                            notificatorManager.getNotificator(notificator).send(notification, user, event, position);
-                        } catch (MessageException exception) {
-                            LOGGER.warn("Notification failed", exception);
-                        }
+                    for (String notificator : route.notificators()) {
+                        notificationDispatcher.dispatch(notificator, route.notification(), user, event, position);
                     }
                 });
             });
@@ -40,7 +40,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 @Singleton
 public class StatisticsManager {
@@ -59,6 +61,7 @@ public class StatisticsManager {
     private final Set<Long> users = new HashSet<>();
     private final Map<Long, String> deviceProtocols = new HashMap<>();
     private final Map<Long, Integer> deviceMessages = new HashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
 
     private int requests;
     private int messagesReceived;
@@ -92,6 +95,7 @@ public class StatisticsManager {
                 statistics.setSmsSent(smsSent);
                 statistics.setGeocoderRequests(geocoderRequests);
                 statistics.setGeolocationRequests(geolocationRequests);
+                gauges.forEach((key, gauge) -> statistics.set(key, Long.valueOf(gauge.getAsLong())));
                 if (!deviceProtocols.isEmpty()) {
                     Map<String, Integer> protocols = new HashMap<>();
                     for (String protocol : deviceProtocols.values()) {
@@ -154,6 +158,13 @@ public class StatisticsManager {
         }
     }
 
+    /**
+     * Registers current value source, such as a queue size, that is captured as an attribute with every split.
+     */
+    public void registerGauge(String key, LongSupplier gauge) {
+        gauges.put(key, gauge);
+    }
+
     public synchronized void registerRequest(long userId) {
         checkSplit();
         requests += 1;
@@ -15,6 +15,7 @@
  */
 package org.traccar.forward;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.BuiltinExchangeType;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
@@ -25,16 +26,27 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeoutException;
 
 public class AmqpClient {
     private final Channel channel;
     private final String exchange;
     private final String topic;
+    private final AMQP.BasicProperties properties;
 
-    AmqpClient(String connectionUrl, String exchange, String topic) {
+    private final ConcurrentNavigableMap<Long, ResultHandler> pending = new ConcurrentSkipListMap<>();
+
+    AmqpClient(String connectionUrl, String exchange, String topic, String contentType) {
         this.exchange = exchange;
         this.topic = topic;
+        if (contentType != null) {
+            properties = MessageProperties.PERSISTENT_TEXT_PLAIN.builder().contentType(contentType).build();
+        } else {
+            properties = MessageProperties.PERSISTENT_TEXT_PLAIN;
+        }
 
         ConnectionFactory factory = new ConnectionFactory();
         try {
@@ -47,12 +59,40 @@ public class AmqpClient {
             Connection connection = factory.newConnection();
             channel = connection.createChannel();
             channel.exchangeDeclare(exchange, BuiltinExchangeType.TOPIC, true);
+            channel.confirmSelect();
+            channel.addConfirmListener(
+                    (deliveryTag, multiple) -> complete(deliveryTag, multiple, true),
+                    (deliveryTag, multiple) -> complete(deliveryTag, multiple, false));
+            channel.addShutdownListener(cause -> complete(Long.MAX_VALUE, true, false));
         } catch (IOException | TimeoutException e) {
             throw new RuntimeException("Error while creating and configuring RabbitMQ channel", e);
         }
     }
 
-    public void publishMessage(String message) throws IOException {
-        channel.basicPublish(exchange, topic, MessageProperties.PERSISTENT_TEXT_PLAIN, message.getBytes());
+    private void complete(long deliveryTag, boolean multiple, boolean success) {
+        Map<Long, ResultHandler> confirmed = multiple
+                ? pending.headMap(deliveryTag, true)
+                : pending.subMap(deliveryTag, true, deliveryTag, true);
+        for (Long sequence : confirmed.keySet()) {
+            ResultHandler resultHandler = pending.remove(sequence);
+            if (resultHandler != null) {
+                resultHandler.onResult(success, success ? null : new IOException("Message rejected by broker"));
+            }
+        }
+    }
+
+    /**
+     * Publishes message and reports the result once the broker confirms it.
+     */
+    public synchronized void publishMessage(
+            byte[] message, ResultHandler resultHandler) throws IOException {
+        long sequence = channel.getNextPublishSeqNo();
+        pending.put(sequence, resultHandler);
+        try {
+            channel.basicPublish(exchange, topic, properties, message);
+        } catch (IOException e) {
+            pending.remove(sequence);
+            throw e;
+        }
     }
 }
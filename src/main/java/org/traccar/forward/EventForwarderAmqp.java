@@ -25,22 +25,20 @@ import java.io.IOException;
 public class EventForwarderAmqp implements EventForwarder {
 
     private final AmqpClient amqpClient;
-    private final ObjectMapper objectMapper;
+    private final ForwardSerializer serializer;
 
     public EventForwarderAmqp(Config config, ObjectMapper objectMapper) {
         String connectionUrl = config.getString(Keys.EVENT_FORWARD_URL);
         String exchange = config.getString(Keys.EVENT_FORWARD_EXCHANGE);
         String topic = config.getString(Keys.EVENT_FORWARD_TOPIC);
-        this.objectMapper = objectMapper;
-        amqpClient = new AmqpClient(connectionUrl, exchange, topic);
+        serializer = new ForwardSerializer(objectMapper, config.getString(Keys.EVENT_FORWARD_FORMAT));
+        amqpClient = new AmqpClient(connectionUrl, exchange, topic, serializer.getContentType());
     }
 
     @Override
     public void forward(EventData eventData, ResultHandler resultHandler) {
         try {
-            String value = objectMapper.writeValueAsString(eventData);
-            amqpClient.publishMessage(value);
-            resultHandler.onResult(true, null);
+            amqpClient.publishMessage(serializer.serialize(eventData), resultHandler);
         } catch (IOException e) {
             resultHandler.onResult(false, e);
         }
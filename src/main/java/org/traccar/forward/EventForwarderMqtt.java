@@ -18,28 +18,30 @@ package org.traccar.forward;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+
 public class EventForwarderMqtt implements EventForwarder {
 
     private final MqttClient mqttClient;
-    private final ObjectMapper objectMapper;
+    private final ForwardSerializer serializer;
 
     private final String topic;
 
     public EventForwarderMqtt(Config config, ObjectMapper objectMapper) {
         this.topic = config.getString(Keys.EVENT_FORWARD_TOPIC);
         mqttClient = new MqttClient(config.getString(Keys.EVENT_FORWARD_URL));
-        this.objectMapper = objectMapper;
+        serializer = new ForwardSerializer(objectMapper, config.getString(Keys.EVENT_FORWARD_FORMAT));
     }
 
     @Override
     public void forward(EventData eventData, ResultHandler resultHandler) {
         try {
-            String payload = objectMapper.writeValueAsString(eventData);
-            mqttClient.publish(topic, payload, (message, e) -> resultHandler.onResult(e == null, e));
-        } catch (JsonProcessingException e) {
+            mqttClient.publish(
+                    topic, serializer.serialize(eventData), serializer.getContentType(),
+                    (message, e) -> resultHandler.onResult(e == null, e));
+        } catch (IOException e) {
             resultHandler.onResult(false, e);
         }
     }
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Position;
+import org.traccar.protobuf.forward.ForwardMessages;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Encodes forwarded data either as JSON or as protobuf messages defined in ForwardMessages.proto.
+ */
+public class ForwardSerializer {
+
+    public static final String CONTENT_TYPE_PROTOBUF = "application/x-protobuf";
+
+    private final ObjectMapper objectMapper;
+    private final boolean protobuf;
+
+    public ForwardSerializer(ObjectMapper objectMapper, String format) {
+        this.objectMapper = objectMapper;
+        protobuf = switch (format) {
+            case "json" -> false;
+            case "protobuf" -> true;
+            default -> throw new IllegalArgumentException("Unsupported forwarding format " + format);
+        };
+    }
+
+    /**
+     * Returns content type of the encoded data or {@code null} for JSON, which is the default for all forwarders.
+     */
+    public String getContentType() {
+        return protobuf ? CONTENT_TYPE_PROTOBUF : null;
+    }
+
+    public byte[] serialize(PositionData positionData) throws IOException {
+        if (!protobuf) {
+            return objectMapper.writeValueAsBytes(positionData);
+        }
+        var builder = ForwardMessages.PositionData.newBuilder();
+        if (positionData.getPosition() != null) {
+            builder.setPosition(encodePosition(positionData.getPosition()));
+        }
+        if (positionData.getDevice() != null) {
+            builder.setDevice(encodeDevice(positionData.getDevice()));
+        }
+        return builder.build().toByteArray();
+    }
+
+    public byte[] serialize(EventData eventData) throws IOException {
+        if (!protobuf) {
+            return objectMapper.writeValueAsBytes(eventData);
+        }
+        var builder = ForwardMessages.EventData.newBuilder();
+        if (eventData.getEvent() != null) {
+            builder.setEvent(encodeEvent(eventData.getEvent()));
+        }
+        if (eventData.getPosition() != null) {
+            builder.setPosition(encodePosition(eventData.getPosition()));
+        }
+        if (eventData.getDevice() != null) {
+            builder.setDevice(encodeDevice(eventData.getDevice()));
+        }
+        if (eventData.getGeofence() != null) {
+            setString(builder::setGeofenceName, eventData.getGeofence().getName());
+        }
+        if (eventData.getMaintenance() != null) {
+            setString(builder::setMaintenanceName, eventData.getMaintenance().getName());
+        }
+        return builder.build().toByteArray();
+    }
+
+    private static void setString(Consumer<String> setter, String value) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    private static long toMillis(Date date) {
+        return date != null ? date.getTime() : 0;
+    }
+
+    private ForwardMessages.Position encodePosition(Position position) throws IOException {
+        var builder = ForwardMessages.Position.newBuilder()
+                .setId(position.getId())
+                .setDeviceId(position.getDeviceId())
+                .setServerTime(toMillis(position.getServerTime()))
+                .setDeviceTime(toMillis(position.getDeviceTime()))
+                .setFixTime(toMillis(position.getFixTime()))
+                .setOutdated(position.getOutdated())
+                .setValid(position.getValid())
+                .setLatitude(position.getLatitude())
+                .setLongitude(position.getLongitude())
+                .setAltitude(position.getAltitude())
+                .setSpeed(position.getSpeed())
+                .setCourse(position.getCourse())
+                .setAccuracy(position.getAccuracy());
+        setString(builder::setProtocol, position.getProtocol());
+        setString(builder::setAddress, position.getAddress());
+        if (position.getNetwork() != null) {
+            builder.setNetwork(objectMapper.writeValueAsString(position.getNetwork()));
+        }
+        if (position.getGeofenceIds() != null) {
+            builder.addAllGeofenceIds(position.getGeofenceIds());
+        }
+        encodeAttributes(position.getAttributes(), builder::putAttributes);
+        return builder.build();
+    }
+
+    private ForwardMessages.Device encodeDevice(Device device) throws IOException {
+        var builder = ForwardMessages.Device.newBuilder()
+                .setId(device.getId())
+                .setLastUpdate(toMillis(device.getLastUpdate()))
+                .setGroupId(device.getGroupId())
+                .setDisabled(device.getDisabled());
+        setString(builder::setName, device.getName());
+        setString(builder::setUniqueId, device.getUniqueId());
+        setString(builder::setStatus, device.getStatus());
+        setString(builder::setPhone, device.getPhone());
+        setString(builder::setModel, device.getModel());
+        setString(builder::setContact, device.getContact());
+        setString(builder::setCategory, device.getCategory());
+        encodeAttributes(device.getAttributes(), builder::putAttributes);
+        return builder.build();
+    }
+
+    private ForwardMessages.Event encodeEvent(Event event) throws IOException {
+        var builder = ForwardMessages.Event.newBuilder()
+                .setId(event.getId())
+                .setEventTime(toMillis(event.getEventTime()))
+                .setDeviceId(event.getDeviceId())
+                .setPositionId(event.getPositionId())
+                .setGeofenceId(event.getGeofenceId())
+                .setMaintenanceId(event.getMaintenanceId());
+        setString(builder::setType, event.getType());
+        encodeAttributes(event.getAttributes(), builder::putAttributes);
+        return builder.build();
+    }
+
+    private interface AttributeConsumer {
+        void put(String key, ForwardMessages.AttributeValue value);
+    }
+
+    private void encodeAttributes(Map<String, Object> attributes, AttributeConsumer consumer) throws IOException {
+        for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+            Object value = entry.getValue();
+            if (value == null) {
+                continue;
+            }
+            var builder = ForwardMessages.AttributeValue.newBuilder();
+            if (value instanceof Boolean booleanValue) {
+                builder.setBoolValue(booleanValue);
+            } else if (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                builder.setLongValue(((Number) value).longValue());
+            } else if (value instanceof Number number) {
+                builder.setDoubleValue(number.doubleValue());
+            } else if (value instanceof String stringValue) {
+                builder.setStringValue(stringValue);
+            } else {
+                builder.setJsonValue(objectMapper.writeValueAsString(value));
+            }
+            consumer.put(entry.getKey(), builder.build());
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.netty.util.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Disk spool for positions that could not be forwarded. Spooled positions are delivered in order with limited
+ * concurrency. If delivery fails, spool pauses and later resumes from the last delivered position, so forwarding
+ * is at-least-once.
+ */
+public class ForwardSpool implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForwardSpool.class);
+
+    private static final long MAX_RESUME_DELAY = 60_000;
+
+    private final PositionForwarder positionForwarder;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader objectReader;
+    private final Timer timer;
+    private final SpoolLog log;
+    private final int concurrency;
+    private final long retryDelay;
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long failedOffset = Long.MAX_VALUE;
+    private boolean started;
+    private boolean paused;
+    private boolean draining;
+    private boolean closed;
+    private long resumeDelay;
+
+    private final LongAdder spooled = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public ForwardSpool(
+            Config config, PositionForwarder positionForwarder, ObjectMapper objectMapper, Timer timer,
+            StatisticsManager statisticsManager) throws IOException {
+        this.positionForwarder = positionForwarder;
+        this.objectMapper = objectMapper;
+        this.objectReader = objectMapper.readerFor(PositionData.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.timer = timer;
+        log = new SpoolLog(
+                Path.of(config.getString(Keys.FORWARD_SPOOL_PATH)), config.getInteger(Keys.FORWARD_SPOOL_SEGMENT_SIZE));
+        concurrency = config.getInteger(Keys.FORWARD_SPOOL_CONCURRENCY);
+        retryDelay = config.getInteger(Keys.FORWARD_RETRY_DELAY);
+        resumeDelay = retryDelay;
+
+        statisticsManager.registerGauge("forwardSpooled", this::getSpooledCount);
+        statisticsManager.registerGauge("forwardSpoolDelivered", this::getDeliveredCount);
+        statisticsManager.registerGauge("forwardSpoolFailed", this::getFailedCount);
+        statisticsManager.registerGauge("forwardSpoolPendingBytes", this::getPendingBytes);
+    }
+
+    public boolean hasBacklog() {
+        return log.hasPending();
+    }
+
+    public void append(PositionData positionData) {
+        if (isClosed()) {
+            LOGGER.warn("Position forwarding spool is closed, position {} is not spooled",
+                    positionData.getPosition().getId());
+            return;
+        }
+        try {
+            log.append(objectMapper.writeValueAsBytes(positionData));
+            spooled.increment();
+        } catch (IOException e) {
+            LOGGER.warn("Position forwarding spool write error", e);
+            return;
+        }
+        drain();
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    private synchronized void drain() {
+        if (!started || draining || closed) {
+            return;
+        }
+        draining = true;
+        try {
+            while (!paused && inFlight.size() < concurrency) {
+                SpoolLog.Record record = log.read();
+                if (record == null) {
+                    break;
+                }
+                PositionData positionData;
+                try {
+                    positionData = objectReader.readValue(record.data());
+                } catch (IOException e) {
+                    LOGGER.warn("Position forwarding spool read error", e);
+                    commit();
+                    continue;
+                }
+                inFlight.add(record.offset());
+                positionForwarder.forward(positionData, (success, throwable) -> onResult(record, success, throwable));
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
+    private void commit() {
+        long checkpoint = Math.min(failedOffset, inFlight.isEmpty() ? log.getReadOffset() : inFlight.first());
+        try {
+            log.commit(checkpoint);
+        } catch (IOException e) {
+            LOGGER.warn("Position forwarding spool checkpoint error", e);
+        }
+    }
+
+    private synchronized void onResult(SpoolLog.Record record, boolean success, Throwable throwable) {
+        inFlight.remove(record.offset());
+        if (closed) {
+            return;
+        }
+        if (success) {
+            delivered.increment();
+            if (!paused) {
+                resumeDelay = retryDelay;
+            }
+        } else {
+            failed.increment();
+            failedOffset = Math.min(failedOffset, record.offset());
+            if (!paused) {
+                paused = true;
+                LOGGER.warn("Spooled position forwarding failed, retrying in {} ms", resumeDelay, throwable);
+            }
+        }
+        commit();
+        if (paused) {
+            if (inFlight.isEmpty()) {
+                // everything after the first failure is delivered again
+                log.rewind();
+                failedOffset = Long.MAX_VALUE;
+                timer.newTimeout(timeout -> resume(), resumeDelay, TimeUnit.MILLISECONDS);
+                resumeDelay = Math.min(resumeDelay * 2, MAX_RESUME_DELAY);
+            }
+        } else {
+            drain();
+        }
+    }
+
+    private synchronized void resume() {
+        if (!closed) {
+            paused = false;
+            drain();
+        }
+    }
+
+    public long getSpooledCount() {
+        return spooled.sum();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getPendingBytes() {
+        return log.getPendingBytes();
+    }
+
+    @Override
+    public synchronized void start() {
+        started = true;
+        if (log.hasPending()) {
+            LOGGER.info("Position forwarding spool has {} pending bytes", log.getPendingBytes());
+        }
+        drain();
+    }
+
+    /**
+     * Stops delivery and closes the spool. Positions that are still in flight are delivered again after restart.
+     */
+    @Override
+    public synchronized void stop() throws IOException {
+        if (!closed) {
+            closed = true;
+            LOGGER.info("Position forwarding spool closed, spooled {}, delivered {}, failed {}, pending {} bytes",
+                    getSpooledCount(), getDeliveredCount(), getFailedCount(), log.getPendingBytes());
+            log.close();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import jakarta.inject.Singleton;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kafka producers shared by position and event forwarders. One producer is created per broker and producer settings,
+ * so forwarders with the same settings share its connections and batches.
+ */
+@Singleton
+public class KafkaClient {
+
+    private record Settings(String url, int linger, int batchSize, String compression) {
+    }
+
+    public static final class Topic {
+
+        private final Producer<String, byte[]> producer;
+        private final String name;
+
+        private Topic(Producer<String, byte[]> producer, String name) {
+            this.producer = producer;
+            this.name = name;
+        }
+
+        public void send(String key, byte[] value, ResultHandler resultHandler) {
+            producer.send(
+                    new ProducerRecord<>(name, key, value),
+                    (metadata, exception) -> resultHandler.onResult(exception == null, exception));
+        }
+
+    }
+
+    private final Map<Settings, Producer<String, byte[]>> producers = new ConcurrentHashMap<>();
+
+    private static Producer<String, byte[]> createProducer(Settings settings) {
+        Properties properties = new Properties();
+        properties.put("bootstrap.servers", settings.url());
+        properties.put("acks", "all");
+        properties.put("linger.ms", settings.linger());
+        properties.put("batch.size", settings.batchSize());
+        properties.put("compression.type", settings.compression());
+        properties.put("key.serializer", StringSerializer.class.getName());
+        properties.put("value.serializer", ByteArraySerializer.class.getName());
+        return new KafkaProducer<>(properties);
+    }
+
+    public Topic getTopic(String url, String topic, int linger, int batchSize, String compression) {
+        Producer<String, byte[]> producer = producers.computeIfAbsent(
+                new Settings(url, linger, batchSize, compression), KafkaClient::createProducer);
+        return new Topic(producer, topic);
+    }
+
+}
@@ -68,9 +68,13 @@ public class MqttClient {
     }
 
     public void publish(
-            String pubTopic, String payload, BiConsumer<? super Mqtt5PublishResult, ? super Throwable> whenComplete) {
-        client.publishWith().topic(pubTopic).qos(MqttQos.AT_LEAST_ONCE).payload(payload.getBytes()).send()
-                .whenComplete(whenComplete);
+            String pubTopic, byte[] payload, String contentType,
+            BiConsumer<? super Mqtt5PublishResult, ? super Throwable> whenComplete) {
+        var builder = client.publishWith().topic(pubTopic).qos(MqttQos.AT_LEAST_ONCE).payload(payload);
+        if (contentType != null) {
+            builder = builder.contentType(contentType);
+        }
+        builder.send().whenComplete(whenComplete);
     }
 
 }
@@ -15,21 +15,35 @@
  */
 package org.traccar.forward;
 
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.socket.DatagramPacket;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.ReferenceCountUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.EventLoopGroupFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.Socket;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class NetworkForwarder {
@@ -37,41 +51,175 @@ public class NetworkForwarder {
     private static final Logger LOGGER = LoggerFactory.getLogger(NetworkForwarder.class);
 
     private final InetAddress destination;
-    private final DatagramSocket connectionUdp;
-    private final Map<InetSocketAddress, Socket> connectionsTcp = new HashMap<>();
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    private final Bootstrap bootstrap;
+    private final ChannelFuture datagramFuture;
+    private final Map<InetSocketAddress, Connection> connectionsTcp = new ConcurrentHashMap<>();
+
+    private final LongAdder forwardedBytes = new LongAdder();
+    private final LongAdder droppedBytes = new LongAdder();
+    private final LongAdder queuedBytes = new LongAdder();
+
+    @ChannelHandler.Sharable
+    private static final class DiscardHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            ReferenceCountUtil.release(msg);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOGGER.warn("Network forwarding error", cause);
+            ctx.close();
+        }
+
+    }
+
+    private final class Connection {
+
+        private final InetSocketAddress source;
+        private final AtomicLong pending = new AtomicLong();
+        private volatile boolean dropping;
+        private final ChannelFuture connectFuture;
+
+        Connection(InetSocketAddress source, int port) {
+            this.source = source;
+            connectFuture = bootstrap.connect(destination, port);
+            connectFuture.addListener((ChannelFutureListener) future -> {
+                if (future.isSuccess()) {
+                    future.channel().closeFuture().addListener(closeFuture -> connectionsTcp.remove(source, this));
+                } else {
+                    LOGGER.warn("Network forwarding connection error", future.cause());
+                    // failed future can notify inline while the map is still computing the connection
+                    bootstrap.config().group().execute(() -> connectionsTcp.remove(source, this));
+                }
+            });
+        }
+
+        void write(ByteBuf data) {
+            int length = data.readableBytes();
+            if (dropping && pending.get() < lowWatermark) {
+                dropping = false;
+            }
+            if (dropping || pending.get() + length > highWatermark) {
+                dropping = true;
+                droppedBytes.add(length);
+                data.release();
+                return;
+            }
+            pending.addAndGet(length);
+            queuedBytes.add(length);
+            if (connectFuture.isDone()) {
+                send(data, length);
+            } else {
+                connectFuture.addListener(future -> send(data, length));
+            }
+        }
+
+        private void send(ByteBuf data, int length) {
+            if (connectFuture.isSuccess()) {
+                connectFuture.channel().writeAndFlush(data).addListener(future -> complete(length, future.isSuccess()));
+            } else {
+                data.release();
+                complete(length, false);
+            }
+        }
+
+        private void complete(int length, boolean success) {
+            pending.addAndGet(-length);
+            onCompleted(length, success);
+        }
+
+        void close() {
+            connectFuture.addListener(future -> {
+                if (future.isSuccess()) {
+                    connectFuture.channel().writeAndFlush(Unpooled.EMPTY_BUFFER)
+                            .addListener(ChannelFutureListener.CLOSE);
+                }
+            });
+        }
+
+    }
 
     @Inject
-    public NetworkForwarder(Config config) throws IOException {
+    public NetworkForwarder(
+            Config config, EventLoopGroupFactory eventLoopGroupFactory, StatisticsManager statisticsManager)
+            throws IOException {
         destination = InetAddress.getByName(config.getString(Keys.SERVER_FORWARD));
-        connectionUdp = new DatagramSocket();
+        highWatermark = config.getInteger(Keys.SERVER_FORWARD_HIGH_WATERMARK);
+        lowWatermark = config.getInteger(Keys.SERVER_FORWARD_LOW_WATERMARK);
+
+        DiscardHandler discardHandler = new DiscardHandler();
+        bootstrap = new Bootstrap()
+                .group(eventLoopGroupFactory.getWorkerGroup())
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, config.getInteger(Keys.SERVER_FORWARD_TIMEOUT))
+                .handler(discardHandler);
+        datagramFuture = new Bootstrap()
+                .group(eventLoopGroupFactory.getWorkerGroup())
+                .channel(NioDatagramChannel.class)
+                .handler(discardHandler)
+                .bind(0);
+
+        statisticsManager.registerGauge("forwardedBytes", this::getForwardedBytes);
+        statisticsManager.registerGauge("forwardDroppedBytes", this::getDroppedBytes);
+        statisticsManager.registerGauge("forwardQueuedBytes", this::getQueuedBytes);
+    }
+
+    private void onCompleted(int length, boolean success) {
+        queuedBytes.add(-length);
+        if (success) {
+            forwardedBytes.add(length);
+        } else {
+            droppedBytes.add(length);
+        }
+    }
+
+    private void sendDatagram(ByteBuf data, int port) {
+        int length = data.readableBytes();
+        if (datagramFuture.isSuccess() && datagramFuture.channel().isWritable()) {
+            queuedBytes.add(length);
+            datagramFuture.channel().writeAndFlush(new DatagramPacket(data, new InetSocketAddress(destination, port)))
+                    .addListener(future -> onCompleted(length, future.isSuccess()));
+        } else {
+            droppedBytes.add(length);
+            data.release();
+        }
     }
 
     public void forward(InetSocketAddress source, int port, boolean datagram, byte[] data) {
-        try {
-            if (datagram) {
-                connectionUdp.send(new DatagramPacket(data, data.length, destination, port));
+        ByteBuf buffer = Unpooled.wrappedBuffer(data);
+        if (datagram) {
+            if (datagramFuture.isDone()) {
+                sendDatagram(buffer, port);
             } else {
-                Socket connectionTcp = connectionsTcp.get(source);
-                if (connectionTcp == null || connectionTcp.isClosed()) {
-                    connectionTcp = new Socket(destination, port);
-                    connectionsTcp.put(source, connectionTcp);
-                }
-                connectionTcp.getOutputStream().write(data);
+                datagramFuture.addListener(future -> sendDatagram(buffer, port));
             }
-        } catch (IOException e) {
-            LOGGER.warn("Network forwarding error", e);
+        } else {
+            connectionsTcp.computeIfAbsent(source, key -> new Connection(key, port)).write(buffer);
         }
     }
 
     public void disconnect(InetSocketAddress source) {
-        Socket connectionTcp = connectionsTcp.remove(source);
-        if (connectionTcp != null) {
-            try {
-                connectionTcp.close();
-            } catch (IOException e) {
-                LOGGER.warn("Connection close error", e);
-            }
+        Connection connection = connectionsTcp.remove(source);
+        if (connection != null) {
+            connection.close();
         }
     }
 
+    public long getForwardedBytes() {
+        return forwardedBytes.sum();
+    }
+
+    public long getDroppedBytes() {
+        return droppedBytes.sum();
+    }
+
+    public long getQueuedBytes() {
+        return queuedBytes.sum();
+    }
+
 }
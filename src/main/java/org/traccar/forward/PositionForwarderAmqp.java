@@ -25,22 +25,20 @@ import java.io.IOException;
 public class PositionForwarderAmqp implements PositionForwarder {
 
     private final AmqpClient amqpClient;
-    private final ObjectMapper objectMapper;
+    private final ForwardSerializer serializer;
 
     public PositionForwarderAmqp(Config config, ObjectMapper objectMapper) {
         String connectionUrl = config.getString(Keys.FORWARD_URL);
         String exchange = config.getString(Keys.FORWARD_EXCHANGE);
         String topic = config.getString(Keys.FORWARD_TOPIC);
-        amqpClient = new AmqpClient(connectionUrl, exchange, topic);
-        this.objectMapper = objectMapper;
+        serializer = new ForwardSerializer(objectMapper, config.getString(Keys.FORWARD_FORMAT));
+        amqpClient = new AmqpClient(connectionUrl, exchange, topic, serializer.getContentType());
     }
 
     @Override
     public void forward(PositionData positionData, ResultHandler resultHandler) {
         try {
-            String value = objectMapper.writeValueAsString(positionData);
-            amqpClient.publishMessage(value);
-            resultHandler.onResult(true, null);
+            amqpClient.publishMessage(serializer.serialize(positionData), resultHandler);
         } catch (IOException e) {
             resultHandler.onResult(false, e);
         }
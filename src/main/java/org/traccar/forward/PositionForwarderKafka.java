@@ -15,43 +15,31 @@
  */
 package org.traccar.forward;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.Producer;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.serialization.StringSerializer;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 
-import java.util.Properties;
+import java.io.IOException;
 
 public class PositionForwarderKafka implements PositionForwarder {
 
-    private final Producer<String, String> producer;
-    private final ObjectMapper objectMapper;
+    private final KafkaClient.Topic topic;
+    private final ForwardSerializer serializer;
 
-    private final String topic;
-
-    public PositionForwarderKafka(Config config, ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-        Properties properties = new Properties();
-        properties.put("bootstrap.servers", config.getString(Keys.FORWARD_URL));
-        properties.put("acks", "all");
-        properties.put("key.serializer", StringSerializer.class.getName());
-        properties.put("value.serializer", StringSerializer.class.getName());
-        producer = new KafkaProducer<>(properties);
-        topic = config.getString(Keys.FORWARD_TOPIC);
+    public PositionForwarderKafka(Config config, ObjectMapper objectMapper, KafkaClient kafkaClient) {
+        serializer = new ForwardSerializer(objectMapper, config.getString(Keys.FORWARD_FORMAT));
+        topic = kafkaClient.getTopic(
+                config.getString(Keys.FORWARD_URL), config.getString(Keys.FORWARD_TOPIC),
+                config.getInteger(Keys.FORWARD_LINGER), config.getInteger(Keys.FORWARD_BATCH_SIZE),
+                config.getString(Keys.FORWARD_COMPRESSION));
     }
 
     @Override
     public void forward(PositionData positionData, ResultHandler resultHandler) {
         try {
             String key = Long.toString(positionData.getDevice().getId());
-            String value = objectMapper.writeValueAsString(positionData);
-            producer.send(new ProducerRecord<>(topic, key, value));
-            resultHandler.onResult(true, null);
-        } catch (JsonProcessingException e) {
+            topic.send(key, serializer.serialize(positionData), resultHandler);
+        } catch (IOException e) {
             resultHandler.onResult(false, e);
         }
     }
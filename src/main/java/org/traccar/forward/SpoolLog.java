@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.forward;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of memory-mapped segment files. Offsets are global, so a segment starting at offset N is stored in
+ * a file named N. Each record is a length followed by data. The length is written after the data, so a partially
+ * written record is never visible after restart.
+ */
+public final class SpoolLog {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final long CHECKPOINT_INTERVAL = 1000;
+
+    public record Record(long offset, long nextOffset, byte[] data) {
+    }
+
+    private static final class Segment {
+
+        private final long base;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int limit;
+
+        Segment(long base, Path file, MappedByteBuffer buffer) {
+            this.base = base;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private long checkpoint;
+    private long readOffset;
+    private long checkpointSaved;
+
+    public SpoolLog(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = file.getFileName().toString();
+                long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                Segment segment = new Segment(base, file, map(file, Files.size(file)));
+                while (segment.limit + Integer.BYTES <= segment.buffer.capacity()) {
+                    int length = segment.buffer.getInt(segment.limit);
+                    if (length <= 0 || segment.limit + Integer.BYTES + length > segment.buffer.capacity()) {
+                        break;
+                    }
+                    segment.limit += Integer.BYTES + length;
+                }
+                segments.put(base, segment);
+            }
+        }
+
+        Path checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpointFile)) {
+            checkpoint = Long.parseLong(Files.readString(checkpointFile).trim());
+        }
+        if (!segments.isEmpty()) {
+            checkpoint = Math.max(checkpoint, segments.firstKey());
+        }
+        checkpointSaved = System.currentTimeMillis();
+        readOffset = checkpoint;
+    }
+
+    private static MappedByteBuffer map(Path file, long size) throws IOException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(size);
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private long getEndOffset() {
+        if (segments.isEmpty()) {
+            return checkpoint;
+        }
+        Segment last = segments.lastEntry().getValue();
+        return last.base + last.limit;
+    }
+
+    public synchronized long append(byte[] data) throws IOException {
+        if (data.length == 0) {
+            // zero length marks the end of the log
+            throw new IllegalArgumentException("Empty spool record");
+        }
+        int length = Integer.BYTES + data.length;
+        Segment segment = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        // keep space for a zero length marker after the last record
+        if (segment == null || segment.limit + length + Integer.BYTES > segment.buffer.capacity()) {
+            long base = getEndOffset();
+            Path file = directory.resolve(String.format("%019d", base) + SEGMENT_SUFFIX);
+            segment = new Segment(base, file, map(file, Math.max(segmentSize, length + Integer.BYTES)));
+            segments.put(base, segment);
+        }
+        long offset = segment.base + segment.limit;
+        segment.buffer.put(segment.limit + Integer.BYTES, data);
+        segment.buffer.putInt(segment.limit, data.length);
+        segment.limit += length;
+        return offset;
+    }
+
+    public synchronized Record read() {
+        while (true) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(readOffset);
+            if (entry == null) {
+                return null;
+            }
+            Segment segment = entry.getValue();
+            int position = (int) (readOffset - segment.base);
+            if (position < segment.limit) {
+                int length = segment.buffer.getInt(position);
+                byte[] data = new byte[length];
+                segment.buffer.get(position + Integer.BYTES, data);
+                long offset = readOffset;
+                readOffset += Integer.BYTES + length;
+                return new Record(offset, readOffset, data);
+            }
+            Long next = segments.higherKey(segment.base);
+            if (next == null) {
+                return null;
+            }
+            readOffset = next;
+        }
+    }
+
+    public synchronized long getReadOffset() {
+        return readOffset;
+    }
+
+    public synchronized void rewind() {
+        readOffset = checkpoint;
+    }
+
+    /**
+     * Marks everything before the offset as delivered and removes segments that are no longer needed.
+     */
+    public synchronized void commit(long offset) throws IOException {
+        checkpoint = offset;
+        while (segments.size() > 1) {
+            Segment first = segments.firstEntry().getValue();
+            if (first.base + first.limit > checkpoint) {
+                break;
+            }
+            segments.pollFirstEntry();
+            Files.deleteIfExists(first.file);
+        }
+        if (System.currentTimeMillis() - checkpointSaved >= CHECKPOINT_INTERVAL) {
+            saveCheckpoint();
+        }
+    }
+
+    private void saveCheckpoint() throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporary, String.valueOf(checkpoint));
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointSaved = System.currentTimeMillis();
+    }
+
+    public synchronized boolean hasPending() {
+        return getEndOffset() > checkpoint;
+    }
+
+    public synchronized long getPendingBytes() {
+        return getEndOffset() - checkpoint;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+        saveCheckpoint();
+    }
+
+}
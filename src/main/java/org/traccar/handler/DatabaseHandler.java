@@ -20,20 +20,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.database.StatisticsManager;
 import org.traccar.model.Position;
-import org.traccar.storage.Storage;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Request;
+import org.traccar.storage.PositionStore;
 
 public class DatabaseHandler extends BasePositionHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseHandler.class);
 
-    private final Storage storage;
+    private final PositionStore positionStore;
     private final StatisticsManager statisticsManager;
 
     @Inject
-    public DatabaseHandler(Storage storage, StatisticsManager statisticsManager) {
-        this.storage = storage;
+    public DatabaseHandler(PositionStore positionStore, StatisticsManager statisticsManager) {
+        this.positionStore = positionStore;
         this.statisticsManager = statisticsManager;
     }
 
@@ -41,7 +39,7 @@ public class DatabaseHandler extends BasePositionHandler {
     public void onPosition(Position position, Callback callback) {
 
         try {
-            position.setId(storage.addObject(position, new Request(new Columns.Exclude("id"))));
+            position.setId(positionStore.addPosition(position));
             statisticsManager.registerMessageStored(position.getDeviceId(), position.getProtocol());
         } catch (Exception error) {
             LOGGER.warn("Failed to store position", error);
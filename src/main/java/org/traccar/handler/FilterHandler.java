@@ -27,6 +27,7 @@ import org.traccar.model.Calendar;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.PositionWindow;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -34,7 +35,9 @@ import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 public class FilterHandler extends BasePositionHandler {
 
@@ -88,12 +91,48 @@ public class FilterHandler extends BasePositionHandler {
     }
 
     private Position getPrecedingPosition(long deviceId, Date date) throws StorageException {
-        return storage.getObject(Position.class, new Request(
+        PositionWindow window = cacheManager.getPositionWindow(deviceId);
+        if (window != null && window.covers(date)) {
+            return window.getPreceding(date);
+        }
+        Position preceding = storage.getObject(Position.class, new Request(
                 new Columns.All(),
                 new Condition.And(
                         new Condition.Equals("deviceId", deviceId),
                         new Condition.Compare("fixTime", "<=", date)),
                 new Order("fixTime", true, 1)));
+        if (window != null) {
+            backfillWindow(window, deviceId, date, preceding);
+        }
+        return preceding;
+    }
+
+    private void backfillWindow(
+            PositionWindow window, long deviceId, Date date, Position preceding) throws StorageException {
+        // back-filled positions have to fit, otherwise they are evicted right away and the query is wasted
+        long oldest = preceding != null ? preceding.getFixTime().getTime() : date.getTime();
+        int capacity = window.getBackfillCapacity(oldest) - (preceding != null ? 1 : 0);
+        if (capacity < 0) {
+            return;
+        }
+        long coveredFrom = window.getCoveredFrom();
+        Condition condition = new Condition.And(
+                new Condition.Equals("deviceId", deviceId),
+                new Condition.Compare("fixTime", "<", new Date(coveredFrom)));
+        if (preceding != null) {
+            condition = new Condition.And(
+                    condition, new Condition.Compare("fixTime", ">", preceding.getFixTime()));
+        }
+        List<Position> loaded = new ArrayList<>(storage.getObjects(Position.class, new Request(
+                new Columns.All(), condition, new Order("fixTime", true, capacity + 1))));
+        if (loaded.size() <= capacity) {
+            long from = Long.MIN_VALUE;
+            if (preceding != null) {
+                loaded.add(preceding);
+                from = preceding.getFixTime().getTime();
+            }
+            window.backfill(loaded, from, coveredFrom);
+        }
     }
 
     private boolean filterInvalid(Position position) {
@@ -276,7 +315,14 @@ public class FilterHandler extends BasePositionHandler {
 
     @Override
     public void onPosition(Position position, Callback callback) {
-        callback.processed(filter(position));
+        boolean filtered = filter(position);
+        if (!filtered && filterRelative) {
+            PositionWindow window = cacheManager.getPositionWindow(position.getDeviceId());
+            if (window != null) {
+                window.add(position);
+            }
+        }
+        callback.processed(filtered);
     }
 
 }
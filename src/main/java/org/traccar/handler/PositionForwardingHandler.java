@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
+import org.traccar.forward.ForwardSpool;
 import org.traccar.forward.PositionData;
 import org.traccar.forward.PositionForwarder;
 import org.traccar.forward.ResultHandler;
@@ -42,6 +43,7 @@ public class PositionForwardingHandler extends BasePositionHandler {
     private final Timer timer;
 
     private final PositionForwarder positionForwarder;
+    private final ForwardSpool forwardSpool;
 
     private final boolean retryEnabled;
     private final int retryDelay;
@@ -52,11 +54,13 @@ public class PositionForwardingHandler extends BasePositionHandler {
 
     @Inject
     public PositionForwardingHandler(
-            Config config, CacheManager cacheManager, Timer timer, @Nullable PositionForwarder positionForwarder) {
+            Config config, CacheManager cacheManager, Timer timer, @Nullable PositionForwarder positionForwarder,
+            @Nullable ForwardSpool forwardSpool) {
 
         this.cacheManager = cacheManager;
         this.timer = timer;
         this.positionForwarder = positionForwarder;
+        this.forwardSpool = forwardSpool;
 
         this.retryEnabled = config.getBoolean(Keys.FORWARD_RETRY_ENABLE);
         this.retryDelay = config.getInteger(Keys.FORWARD_RETRY_DELAY);
@@ -87,6 +91,8 @@ public class PositionForwardingHandler extends BasePositionHandler {
                 if (retryEnabled && deliveryPending.get() <= retryLimit && retries < retryCount) {
                     schedule();
                     scheduled = true;
+                } else if (forwardSpool != null) {
+                    forwardSpool.append(positionData);
                 }
             } finally {
                 int pending = scheduled ? deliveryPending.get() : deliveryPending.decrementAndGet();
@@ -129,7 +135,12 @@ public class PositionForwardingHandler extends BasePositionHandler {
             PositionData positionData = new PositionData();
             positionData.setPosition(position);
             positionData.setDevice(cacheManager.getObject(Device.class, position.getDeviceId()));
-            new AsyncRequestAndCallback(positionData).send();
+            if (forwardSpool != null && (forwardSpool.hasBacklog() || deliveryPending.get() >= retryLimit)) {
+                // keep ordering behind spooled positions and limit memory used by pending deliveries
+                forwardSpool.append(positionData);
+            } else {
+                new AsyncRequestAndCallback(positionData).send();
+            }
         }
         callback.processed(false);
     }
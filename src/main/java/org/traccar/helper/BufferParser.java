@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.helper;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Delimiter based alternative to {@link Parser} that reads fields directly from a buffer without converting the
+ * whole message into a string. Numeric parsing methods throw {@link NumberFormatException} on malformed input.
+ */
+public class BufferParser {
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+    };
+
+    private final ByteBuf buf;
+    private final int endIndex;
+    private final byte delimiter;
+
+    private int index;
+    private int fieldStart;
+    private int fieldEnd;
+
+    public BufferParser(ByteBuf buf, char delimiter) {
+        this(buf, buf.readerIndex(), buf.writerIndex(), delimiter);
+    }
+
+    public BufferParser(ByteBuf buf, int startIndex, int endIndex, char delimiter) {
+        this.buf = buf;
+        this.endIndex = endIndex;
+        this.delimiter = (byte) delimiter;
+        this.index = startIndex;
+    }
+
+    public boolean hasNext() {
+        return index <= endIndex;
+    }
+
+    public int count() {
+        int count = 0;
+        int i = index;
+        while (i <= endIndex) {
+            count += 1;
+            int next = buf.indexOf(i, endIndex, delimiter);
+            i = next < 0 ? endIndex + 1 : next + 1;
+        }
+        return count;
+    }
+
+    private void advance() {
+        if (!hasNext()) {
+            throw new IndexOutOfBoundsException("No more fields");
+        }
+        fieldStart = index;
+        int next = buf.indexOf(index, endIndex, delimiter);
+        fieldEnd = next < 0 ? endIndex : next;
+        index = fieldEnd + 1;
+    }
+
+    public void skip(int number) {
+        for (int i = 0; i < number; i++) {
+            advance();
+        }
+    }
+
+    /**
+     * Length of the last consumed field.
+     */
+    public int length() {
+        return fieldEnd - fieldStart;
+    }
+
+    public String next() {
+        advance();
+        return buf.toString(fieldStart, fieldEnd - fieldStart, StandardCharsets.US_ASCII);
+    }
+
+    public boolean nextEquals(String value) {
+        advance();
+        if (value.length() != fieldEnd - fieldStart) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (buf.getByte(fieldStart + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int trimStart() {
+        int i = fieldStart;
+        while (i < fieldEnd && buf.getByte(i) == ' ') {
+            i += 1;
+        }
+        return i;
+    }
+
+    private int trimEnd(int start) {
+        int i = fieldEnd;
+        while (i > start && buf.getByte(i - 1) == ' ') {
+            i -= 1;
+        }
+        return i;
+    }
+
+    private long parseLong(int start, int end, int radix) {
+        boolean negative = false;
+        int i = start;
+        if (i < end && buf.getByte(i) == '-') {
+            negative = true;
+            i += 1;
+        }
+        if (i == end) {
+            throw new NumberFormatException("No digits");
+        }
+        boolean large = end - i > (radix == 10 ? 18 : 15);
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = Character.digit(buf.getByte(i), radix);
+            if (digit < 0) {
+                throw new NumberFormatException("Invalid digit at index " + i);
+            }
+            value = value * radix + digit;
+        }
+        if (large) {
+            // only sign and digits remain, so the standard parser only adds the overflow check
+            return Long.parseLong(buf.toString(start, end - start, StandardCharsets.US_ASCII), radix);
+        }
+        return negative ? -value : value;
+    }
+
+    private static int toInt(long value) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of range " + value);
+        }
+        return (int) value;
+    }
+
+    public int nextInt(int defaultValue) {
+        return toInt(nextLong(10, defaultValue));
+    }
+
+    public int nextHexInt(int defaultValue) {
+        return toInt(nextLong(16, defaultValue));
+    }
+
+    public long nextLong(long defaultValue) {
+        return nextLong(10, defaultValue);
+    }
+
+    public long nextLong(int radix, long defaultValue) {
+        advance();
+        int start = trimStart();
+        int end = trimEnd(start);
+        if (start == end) {
+            return defaultValue;
+        }
+        return parseLong(start, end, radix);
+    }
+
+    private double parseDouble(int start, int end) {
+        boolean negative = false;
+        int i = start;
+        if (buf.getByte(i) == '-') {
+            negative = true;
+            i += 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (; i < end; i++) {
+            byte b = buf.getByte(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits += 1;
+                if (fraction >= 0) {
+                    fraction += 1;
+                }
+            } else if (b == '.' && fraction < 0) {
+                fraction = 0;
+            } else {
+                throw new NumberFormatException("Invalid character at index " + i);
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("No digits");
+        }
+        if (digits >= POWERS_OF_TEN.length) {
+            // input is validated above, so the standard parser never sees exponents, NaN or Infinity
+            return Double.parseDouble(buf.toString(start, end - start, StandardCharsets.US_ASCII));
+        }
+        // mantissa and divisor are exact, so a single division gives a correctly rounded result
+        double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+        return negative ? -value : value;
+    }
+
+    public double nextDouble(double defaultValue) {
+        advance();
+        int start = trimStart();
+        int end = trimEnd(start);
+        if (start == end) {
+            return defaultValue;
+        }
+        return parseDouble(start, end);
+    }
+
+    /**
+     * Reads a coordinate in {@code DDMM.MMMM} format followed by a hemisphere field, which has to be one of
+     * {@code N}, {@code S}, {@code E} or {@code W}.
+     */
+    public double nextCoordinate() {
+        advance();
+        int start = trimStart();
+        int end = trimEnd(start);
+        int dot = buf.indexOf(start, end, (byte) '.');
+        if (dot - start < 2 || dot + 1 >= end || buf.getByte(start) < '0' || buf.getByte(start) > '9') {
+            throw new NumberFormatException("Invalid coordinate");
+        }
+        double coordinate = dot - start > 2 ? parseLong(start, dot - 2, 10) : 0;
+        coordinate += parseDouble(dot - 2, end) / 60;
+
+        advance();
+        byte hemisphere = length() == 1 ? buf.getByte(fieldStart) : 0;
+        switch (hemisphere) {
+            case 'N', 'E' -> {
+                return coordinate;
+            }
+            case 'S', 'W' -> {
+                return -coordinate;
+            }
+            default -> throw new NumberFormatException("Invalid hemisphere");
+        }
+    }
+
+}
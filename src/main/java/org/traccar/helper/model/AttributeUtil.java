@@ -24,14 +24,21 @@ import org.traccar.model.Device;
 import org.traccar.model.Group;
 import org.traccar.model.Server;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.ChangeTracker;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
 import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
 public final class AttributeUtil {
 
+    private static final Object NULL_VALUE = new Object();
+
     private AttributeUtil() {
     }
 
@@ -42,12 +49,34 @@ public final class AttributeUtil {
         Config getConfig();
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> T lookup(CacheManager cacheManager, ConfigKey<T> key, long deviceId) {
-        return lookup(new CacheProvider(cacheManager, deviceId), key);
+        Map<String, Object> cache = cacheManager.getAttributeCache(deviceId);
+        if (cache == null) {
+            return resolve(new CacheProvider(cacheManager, deviceId), key);
+        }
+        Object value = cache.get(key.getKey());
+        if (value == null) {
+            long version = cacheManager.getAttributeVersion();
+            T result = resolve(new CacheProvider(cacheManager, deviceId), key);
+            // value resolved concurrently with an invalidation might already be stale
+            if (cacheManager.getAttributeVersion() == version) {
+                cache.put(key.getKey(), result != null ? result : NULL_VALUE);
+            }
+            return result;
+        }
+        return value != NULL_VALUE ? (T) value : null;
     }
 
-    @SuppressWarnings({ "deprecation", "unchecked" })
     public static <T> T lookup(Provider provider, ConfigKey<T> key) {
+        if (provider instanceof CacheProvider cacheProvider) {
+            return lookup(cacheProvider.cacheManager, key, cacheProvider.deviceId);
+        }
+        return resolve(provider, key);
+    }
+
+    @SuppressWarnings({ "deprecation", "unchecked" })
+    private static <T> T resolve(Provider provider, ConfigKey<T> key) {
         Device device = provider.getDevice();
         Object result = device.getAttributes().get(key.getKey());
         long groupId = device.getGroupId();
@@ -141,6 +170,85 @@ public final class AttributeUtil {
         }
     }
 
+    /**
+     * Storage backed attribute source for reports. Groups are loaded on first use, so only the group chains of the
+     * requested devices are read. Loaded groups and server are shared by all devices and dropped when either of them
+     * changes.
+     */
+    public static class StorageCache {
+
+        private final Config config;
+        private final Storage storage;
+        private final PermissionsService permissionsService;
+        private final ChangeTracker changeTracker;
+
+        private record Snapshot(Map<Long, Optional<Group>> groups, Server server) {
+        }
+
+        private Snapshot snapshot;
+        private long version;
+
+        public StorageCache(
+                Config config, Storage storage, PermissionsService permissionsService, ChangeTracker changeTracker) {
+            this.config = config;
+            this.storage = storage;
+            this.permissionsService = permissionsService;
+            this.changeTracker = changeTracker;
+        }
+
+        private long getVersion() {
+            return Math.max(changeTracker.getVersion(Group.class), changeTracker.getVersion(Server.class));
+        }
+
+        private synchronized Snapshot load() {
+            long currentVersion = getVersion();
+            if (snapshot == null || version != currentVersion) {
+                try {
+                    snapshot = new Snapshot(new ConcurrentHashMap<>(), permissionsService.getServer());
+                    version = currentVersion;
+                } catch (StorageException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return snapshot;
+        }
+
+        private Group loadGroup(long groupId) {
+            try {
+                return storage.getObject(
+                        Group.class, new Request(new Columns.All(), new Condition.Equals("id", groupId)));
+            } catch (StorageException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        public Provider getProvider(Device device) {
+            Snapshot current = load();
+            return new Provider() {
+                @Override
+                public Device getDevice() {
+                    return device;
+                }
+
+                @Override
+                public Group getGroup(long groupId) {
+                    return current.groups().computeIfAbsent(
+                            groupId, key -> Optional.ofNullable(loadGroup(key))).orElse(null);
+                }
+
+                @Override
+                public Server getServer() {
+                    return current.server();
+                }
+
+                @Override
+                public Config getConfig() {
+                    return config;
+                }
+            };
+        }
+    }
+
     public static class StorageProvider implements Provider {
 
         private final Config config;
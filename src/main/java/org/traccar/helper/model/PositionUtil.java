@@ -15,22 +15,8 @@
  */
 package org.traccar.helper.model;
 
-import org.traccar.model.BaseModel;
-import org.traccar.model.Device;
 import org.traccar.model.Position;
-import org.traccar.model.User;
 import org.traccar.session.cache.CacheManager;
-import org.traccar.storage.Storage;
-import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Order;
-import org.traccar.storage.query.Request;
-
-import java.util.Date;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public final class PositionUtil {
 
@@ -55,44 +41,4 @@ public final class PositionUtil {
         return distance;
     }
 
-    public static List<Position> getPositions(
-            Storage storage, long deviceId, Date from, Date to) throws StorageException {
-        try (var positions = getPositionsStream(storage, deviceId, from, to)) {
-            return positions.toList();
-        }
-    }
-
-    public static Stream<Position> getPositionsStream(
-            Storage storage, long deviceId, Date from, Date to) throws StorageException {
-        return storage.getObjectsStream(Position.class, new Request(
-                new Columns.All(),
-                new Condition.And(
-                        new Condition.Equals("deviceId", deviceId),
-                        new Condition.Between("fixTime", from, to)),
-                new Order("fixTime")));
-    }
-
-    public static Position getEdgePosition(
-            Storage storage, long deviceId, Date from, Date to, boolean end) throws StorageException {
-        return storage.getObject(Position.class, new Request(
-                new Columns.All(),
-                new Condition.And(
-                        new Condition.Equals("deviceId", deviceId),
-                        new Condition.Between("fixTime", from, to)),
-                new Order("fixTime", end, 1)));
-    }
-
-    public static List<Position> getLatestPositions(Storage storage, long userId) throws StorageException {
-        var devices = storage.getObjects(Device.class, new Request(
-                new Columns.Include("id"),
-                new Condition.Permission(User.class, userId, Device.class)));
-        var deviceIds = devices.stream().map(BaseModel::getId).collect(Collectors.toUnmodifiableSet());
-
-        var positions = storage.getObjects(Position.class, new Request(
-                new Columns.All(), new Condition.LatestPositions()));
-        return positions.stream()
-                .filter(position -> deviceIds.contains(position.getDeviceId()))
-                .toList();
-    }
-
 }
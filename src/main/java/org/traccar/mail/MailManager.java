@@ -19,6 +19,8 @@ import org.traccar.model.User;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeBodyPart;
+import java.util.ArrayList;
+import java.util.List;
 
 public interface MailManager {
 
@@ -30,4 +32,21 @@ public interface MailManager {
     void sendMessage(
             User user, boolean system, String subject, String body, MimeBodyPart attachment) throws MessagingException;
 
+    /**
+     * Sends several messages, reusing connections where possible. Returns errors in the order of messages, with
+     * {@code null} for messages that were sent successfully.
+     */
+    default List<MessagingException> sendMessages(List<MailMessage> messages) {
+        List<MessagingException> errors = new ArrayList<>();
+        for (MailMessage message : messages) {
+            try {
+                sendMessage(message.user(), message.system(), message.subject(), message.body());
+                errors.add(null);
+            } catch (MessagingException e) {
+                errors.add(e);
+            }
+        }
+        return errors;
+    }
+
 }
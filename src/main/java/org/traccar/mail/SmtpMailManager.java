@@ -34,7 +34,12 @@ import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
 import jakarta.mail.internet.MimeMultipart;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 public final class SmtpMailManager implements MailManager {
@@ -99,10 +104,7 @@ public final class SmtpMailManager implements MailManager {
         sendMessage(user, system, subject, body, null);
     }
 
-    @Override
-    public void sendMessage(
-            User user, boolean system, String subject, String body, MimeBodyPart attachment) throws MessagingException {
-
+    private Properties getProperties(User user, boolean system) throws MessagingException {
         Properties properties = null;
         if (!config.getBoolean(Keys.MAIL_SMTP_IGNORE_USER_CONFIG)) {
             properties = getProperties(new PropertiesProvider(user));
@@ -113,9 +115,14 @@ public final class SmtpMailManager implements MailManager {
         if (properties == null) {
             throw new MessagingException("No SMTP configuration found");
         }
+        return properties;
+    }
 
-        Session session = Session.getInstance(properties);
+    private static MimeMessage createMessage(
+            Session session, User user, String subject, String body, MimeBodyPart attachment)
+            throws MessagingException {
 
+        Properties properties = session.getProperties();
         MimeMessage message = new MimeMessage(session);
 
         String from = properties.getProperty(Keys.MAIL_SMTP_FROM.getKey());
@@ -149,14 +156,70 @@ public final class SmtpMailManager implements MailManager {
             message.setContent(body, CONTENT_TYPE);
         }
 
+        return message;
+    }
+
+    private static void connect(Transport transport, Properties properties) throws MessagingException {
+        transport.connect(
+                properties.getProperty(Keys.MAIL_SMTP_HOST.getKey()),
+                properties.getProperty(Keys.MAIL_SMTP_USERNAME.getKey()),
+                properties.getProperty(Keys.MAIL_SMTP_PASSWORD.getKey()));
+    }
+
+    @Override
+    public void sendMessage(
+            User user, boolean system, String subject, String body, MimeBodyPart attachment) throws MessagingException {
+
+        Session session = Session.getInstance(getProperties(user, system));
+        MimeMessage message = createMessage(session, user, subject, body, attachment);
+
         try (Transport transport = session.getTransport()) {
             statisticsManager.registerMail();
-            transport.connect(
-                    properties.getProperty(Keys.MAIL_SMTP_HOST.getKey()),
-                    properties.getProperty(Keys.MAIL_SMTP_USERNAME.getKey()),
-                    properties.getProperty(Keys.MAIL_SMTP_PASSWORD.getKey()));
+            connect(transport, session.getProperties());
             transport.sendMessage(message, message.getAllRecipients());
         }
     }
 
+    @Override
+    public List<MessagingException> sendMessages(List<MailMessage> messages) {
+        List<MessagingException> errors = new ArrayList<>(Collections.nCopies(messages.size(), null));
+
+        // messages with the same server configuration share a single connection
+        Map<Properties, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            MailMessage message = messages.get(i);
+            try {
+                groups.computeIfAbsent(getProperties(message.user(), message.system()), k -> new ArrayList<>()).add(i);
+            } catch (MessagingException e) {
+                errors.set(i, e);
+            }
+        }
+
+        for (var group : groups.entrySet()) {
+            Session session = Session.getInstance(group.getKey());
+            try (Transport transport = session.getTransport()) {
+                connect(transport, group.getKey());
+                for (int index : group.getValue()) {
+                    MailMessage message = messages.get(index);
+                    try {
+                        statisticsManager.registerMail();
+                        MimeMessage mimeMessage = createMessage(
+                                session, message.user(), message.subject(), message.body(), null);
+                        transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+                    } catch (MessagingException e) {
+                        errors.set(index, e);
+                    }
+                }
+            } catch (MessagingException e) {
+                for (int index : group.getValue()) {
+                    if (errors.get(index) == null) {
+                        errors.set(index, e);
+                    }
+                }
+            }
+        }
+
+        return errors;
+    }
+
 }
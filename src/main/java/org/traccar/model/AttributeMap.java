@@ -0,0 +1,466 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact insertion ordered attributes map. Well-known keys from {@link Position} constants are stored as small
+ * integer ids and other keys as strings. Boolean, integer, long and double values are kept unboxed in a primitive
+ * array, other values go to an object array that is only allocated when needed. Lookups are linear, which is faster
+ * than hashing for the typical number of attributes, until there are more custom keys than {@code HASH_THRESHOLD}.
+ * <p>
+ * Typed getters and {@link #visit} read values without boxing them, so model getters, JSON output and position block
+ * encoding don't allocate. Map methods box the values on every read.
+ */
+@JsonSerialize(using = AttributeMap.Serializer.class)
+public class AttributeMap extends AbstractMap<String, Object> {
+
+    /**
+     * Receives attributes in insertion order with primitive values unboxed.
+     */
+    public interface Visitor {
+        void visitBoolean(String key, boolean value) throws IOException;
+        void visitInteger(String key, int value) throws IOException;
+        void visitLong(String key, long value) throws IOException;
+        void visitDouble(String key, double value) throws IOException;
+        void visitObject(String key, Object value) throws IOException;
+    }
+
+    public static class Serializer extends StdSerializer<AttributeMap> {
+
+        public Serializer() {
+            super(AttributeMap.class);
+        }
+
+        @Override
+        public void serialize(
+                AttributeMap map, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(map, map.size());
+            map.visit(new Visitor() {
+                @Override
+                public void visitBoolean(String key, boolean value) throws IOException {
+                    generator.writeBooleanField(key, value);
+                }
+
+                @Override
+                public void visitInteger(String key, int value) throws IOException {
+                    generator.writeNumberField(key, value);
+                }
+
+                @Override
+                public void visitLong(String key, long value) throws IOException {
+                    generator.writeNumberField(key, value);
+                }
+
+                @Override
+                public void visitDouble(String key, double value) throws IOException {
+                    generator.writeNumberField(key, value);
+                }
+
+                @Override
+                public void visitObject(String key, Object value) throws IOException {
+                    provider.defaultSerializeField(key, value, generator);
+                }
+            });
+            generator.writeEndObject();
+        }
+
+    }
+
+    private static final class Registry {
+
+        private static final String[] KEYS;
+        private static final Map<String, Integer> IDS = new HashMap<>();
+
+        static {
+            List<String> keys = new ArrayList<>();
+            for (Field field : Position.class.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class
+                        && field.getName().startsWith("KEY_")) {
+                    try {
+                        String key = (String) field.get(null);
+                        if (!IDS.containsKey(key)) {
+                            IDS.put(key, keys.size());
+                            keys.add(key);
+                        }
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+            KEYS = keys.toArray(new String[0]);
+        }
+
+        private Registry() {
+        }
+    }
+
+    private static final short CUSTOM_KEY = -1;
+
+    private static final byte TYPE_OBJECT = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int HASH_THRESHOLD = 8;
+
+    private short[] ids;
+    private String[] names;
+    private byte[] types;
+    private long[] values;
+    private Object[] objects;
+    private int size;
+    private int customCount;
+    private Map<String, Integer> customIndex;
+    private int modCount;
+
+    public AttributeMap() {
+    }
+
+    public AttributeMap(Map<String, ?> map) {
+        putAll(map);
+    }
+
+    private int indexOf(Object key) {
+        Integer id = Registry.IDS.get(key);
+        if (id != null) {
+            short value = id.shortValue();
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == value) {
+                    return i;
+                }
+            }
+        } else if (customCount > HASH_THRESHOLD) {
+            if (customIndex == null) {
+                customIndex = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    if (ids[i] == CUSTOM_KEY) {
+                        customIndex.put(names[i], i);
+                    }
+                }
+            }
+            Integer index = customIndex.get(key);
+            return index != null ? index : -1;
+        } else if (customCount > 0) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == CUSTOM_KEY && Objects.equals(key, names[i])) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private String keyAt(int index) {
+        short id = ids[index];
+        return id == CUSTOM_KEY ? names[index] : Registry.KEYS[id];
+    }
+
+    private Object valueAt(int index) {
+        long value = values[index];
+        return switch (types[index]) {
+            case TYPE_BOOLEAN -> value != 0;
+            case TYPE_INTEGER -> (int) value;
+            case TYPE_LONG -> value;
+            case TYPE_DOUBLE -> Double.longBitsToDouble(value);
+            default -> objects[index];
+        };
+    }
+
+    private void ensureCapacity() {
+        if (ids == null) {
+            ids = new short[INITIAL_CAPACITY];
+            types = new byte[INITIAL_CAPACITY];
+            values = new long[INITIAL_CAPACITY];
+        } else if (size == ids.length) {
+            int capacity = size + (size >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            if (names != null) {
+                names = Arrays.copyOf(names, capacity);
+            }
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, capacity);
+            }
+        }
+    }
+
+    private void store(int index, Object value) {
+        if (objects != null) {
+            objects[index] = null;
+        }
+        if (value instanceof Boolean booleanValue) {
+            types[index] = TYPE_BOOLEAN;
+            values[index] = booleanValue ? 1 : 0;
+        } else if (value instanceof Integer integerValue) {
+            types[index] = TYPE_INTEGER;
+            values[index] = integerValue;
+        } else if (value instanceof Long longValue) {
+            types[index] = TYPE_LONG;
+            values[index] = longValue;
+        } else if (value instanceof Double doubleValue) {
+            types[index] = TYPE_DOUBLE;
+            values[index] = Double.doubleToRawLongBits(doubleValue);
+        } else {
+            if (objects == null) {
+                objects = new Object[ids.length];
+            }
+            types[index] = TYPE_OBJECT;
+            objects[index] = value;
+        }
+    }
+
+    private void removeAt(int index) {
+        if (ids[index] == CUSTOM_KEY) {
+            customCount -= 1;
+        }
+        customIndex = null;
+        modCount += 1;
+        int moved = size - index - 1;
+        System.arraycopy(ids, index + 1, ids, index, moved);
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(values, index + 1, values, index, moved);
+        if (names != null) {
+            System.arraycopy(names, index + 1, names, index, moved);
+            names[size - 1] = null;
+        }
+        if (objects != null) {
+            System.arraycopy(objects, index + 1, objects, index, moved);
+            objects[size - 1] = null;
+        }
+        size -= 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int index = indexOf(key);
+        Object previous = null;
+        if (index >= 0) {
+            previous = valueAt(index);
+        } else {
+            ensureCapacity();
+            index = size++;
+            Integer id = Registry.IDS.get(key);
+            if (id != null) {
+                ids[index] = id.shortValue();
+            } else {
+                if (names == null) {
+                    names = new String[ids.length];
+                }
+                ids[index] = CUSTOM_KEY;
+                names[index] = key;
+                customCount += 1;
+                if (customIndex != null) {
+                    customIndex.put(key, index);
+                }
+            }
+            modCount += 1;
+        }
+        store(index, value);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object previous = valueAt(index);
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (names != null) {
+            Arrays.fill(names, 0, size, null);
+        }
+        if (objects != null) {
+            Arrays.fill(objects, 0, size, null);
+        }
+        size = 0;
+        customCount = 0;
+        customIndex = null;
+        modCount += 1;
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return types[index] == TYPE_BOOLEAN
+                ? values[index] != 0 : ExtendedModel.parseAsBoolean(valueAt(index), defaultValue);
+    }
+
+    int getInteger(String key, int defaultValue) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return switch (types[index]) {
+            case TYPE_INTEGER, TYPE_LONG -> (int) values[index];
+            case TYPE_DOUBLE -> (int) Double.longBitsToDouble(values[index]);
+            default -> ExtendedModel.parseAsInteger(valueAt(index), defaultValue);
+        };
+    }
+
+    long getLong(String key, long defaultValue) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return switch (types[index]) {
+            case TYPE_INTEGER, TYPE_LONG -> values[index];
+            case TYPE_DOUBLE -> (long) Double.longBitsToDouble(values[index]);
+            default -> ExtendedModel.parseAsLong(valueAt(index), defaultValue);
+        };
+    }
+
+    double getDouble(String key, double defaultValue) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return defaultValue;
+        }
+        return switch (types[index]) {
+            case TYPE_INTEGER, TYPE_LONG -> values[index];
+            case TYPE_DOUBLE -> Double.longBitsToDouble(values[index]);
+            default -> ExtendedModel.parseAsDouble(valueAt(index), defaultValue);
+        };
+    }
+
+    public void visit(Visitor visitor) throws IOException {
+        int expectedModCount = modCount;
+        for (int i = 0; i < size; i++) {
+            String key = keyAt(i);
+            long value = values[i];
+            switch (types[i]) {
+                case TYPE_BOOLEAN -> visitor.visitBoolean(key, value != 0);
+                case TYPE_INTEGER -> visitor.visitInteger(key, (int) value);
+                case TYPE_LONG -> visitor.visitLong(key, value);
+                case TYPE_DOUBLE -> visitor.visitDouble(key, Double.longBitsToDouble(value));
+                default -> visitor.visitObject(key, objects[i]);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                AttributeMap.this.clear();
+            }
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+                    private int last = -1;
+                    private int expectedModCount = modCount;
+
+                    private void checkModification() {
+                        if (modCount != expectedModCount) {
+                            throw new ConcurrentModificationException();
+                        }
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < size;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        checkModification();
+                        if (next >= size) {
+                            throw new NoSuchElementException();
+                        }
+                        last = next++;
+                        return new SimpleEntry<>(keyAt(last), valueAt(last)) {
+                            @Override
+                            public Object setValue(Object value) {
+                                put(getKey(), value);
+                                return super.setValue(value);
+                            }
+                        };
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last < 0) {
+                            throw new IllegalStateException();
+                        }
+                        checkModification();
+                        removeAt(last);
+                        expectedModCount = modCount;
+                        next = last;
+                        last = -1;
+                    }
+                };
+            }
+        };
+    }
+
+}
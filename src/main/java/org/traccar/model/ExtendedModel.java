@@ -15,13 +15,11 @@
  */
 package org.traccar.model;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
 
 public class ExtendedModel extends BaseModel {
 
-    private Map<String, Object> attributes = new LinkedHashMap<>();
+    private Map<String, Object> attributes = new AttributeMap();
 
     public boolean hasAttribute(String key) {
         return attributes.containsKey(key);
@@ -32,7 +30,13 @@ public class ExtendedModel extends BaseModel {
     }
 
     public void setAttributes(Map<String, Object> attributes) {
-        this.attributes = Objects.requireNonNullElseGet(attributes, LinkedHashMap::new);
+        if (attributes instanceof AttributeMap) {
+            this.attributes = attributes;
+        } else if (attributes != null) {
+            this.attributes = new AttributeMap(attributes);
+        } else {
+            this.attributes = new AttributeMap();
+        }
     }
 
     public void set(String key, Boolean value) {
@@ -98,22 +102,34 @@ public class ExtendedModel extends BaseModel {
     }
 
     public double getDouble(String key, double defaultValue) {
+        if (attributes instanceof AttributeMap attributeMap) {
+            return attributeMap.getDouble(key, defaultValue);
+        }
         return parseAsDouble(attributes.get(key), defaultValue);
     }
 
     public double getDouble(String key) {
-        return parseAsDouble(attributes.get(key), 0.0);
+        return getDouble(key, 0.0);
     }
 
     public boolean getBoolean(String key) {
+        if (attributes instanceof AttributeMap attributeMap) {
+            return attributeMap.getBoolean(key, false);
+        }
         return parseAsBoolean(attributes.get(key), false);
     }
 
     public int getInteger(String key) {
+        if (attributes instanceof AttributeMap attributeMap) {
+            return attributeMap.getInteger(key, 0);
+        }
         return parseAsInteger(attributes.get(key), 0);
     }
 
     public long getLong(String key) {
+        if (attributes instanceof AttributeMap attributeMap) {
+            return attributeMap.getLong(key, 0L);
+        }
         return parseAsLong(attributes.get(key), 0L);
     }
 
@@ -149,7 +165,7 @@ public class ExtendedModel extends BaseModel {
         }
     }
 
-    private static Double parseAsDouble(Object value, Double defaultValue) {
+    static Double parseAsDouble(Object value, Double defaultValue) {
         if (value == null) {
             return defaultValue;
         } else if (value instanceof Number numberValue) {
@@ -159,7 +175,7 @@ public class ExtendedModel extends BaseModel {
         }
     }
 
-    private static Boolean parseAsBoolean(Object value, Boolean defaultValue) {
+    static Boolean parseAsBoolean(Object value, Boolean defaultValue) {
         if (value == null) {
             return defaultValue;
         } else if (value instanceof Boolean booleanValue) {
@@ -169,7 +185,7 @@ public class ExtendedModel extends BaseModel {
         }
     }
 
-    private static Integer parseAsInteger(Object value, Integer defaultValue) {
+    static Integer parseAsInteger(Object value, Integer defaultValue) {
         if (value == null) {
             return defaultValue;
         } else if (value instanceof Number numberValue) {
@@ -179,7 +195,7 @@ public class ExtendedModel extends BaseModel {
         }
     }
 
-    private static Long parseAsLong(Object value, Long defaultValue) {
+    static Long parseAsLong(Object value, Long defaultValue) {
         if (value == null) {
             return defaultValue;
         } else if (value instanceof Number numberValue) {
@@ -0,0 +1,328 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.notification;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.netty.util.Timer;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+import org.traccar.forward.SpoolLog;
+import org.traccar.model.Event;
+import org.traccar.model.Notification;
+import org.traccar.model.Position;
+import org.traccar.model.Typed;
+import org.traccar.model.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers notifications in the background, so event processing never waits for external services. Each notificator
+ * type has its own bounded queue and delivery threads. Failed notifications are retried with exponential backoff and
+ * notifications that don't fit into the queue go to an optional disk spool.
+ */
+@Singleton
+public class NotificationDispatcher implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final int SPOOL_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final long POLL_INTERVAL = 1000;
+    private static final long SHUTDOWN_TIMEOUT = 10;
+
+    private final NotificatorManager notificatorManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader objectReader;
+    private final Timer timer;
+
+    private final int queueSize;
+    private final int threads;
+    private final int batchSize;
+    private final int retryLimit;
+    private final long retryDelay;
+    private final String spoolPath;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private volatile boolean stopped;
+
+    @Inject
+    public NotificationDispatcher(
+            Config config, NotificatorManager notificatorManager, ObjectMapper objectMapper, Timer timer,
+            StatisticsManager statisticsManager) {
+        this.notificatorManager = notificatorManager;
+        this.objectMapper = objectMapper;
+        this.timer = timer;
+        objectReader = objectMapper.readerFor(NotificationTask.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        queueSize = config.getInteger(Keys.NOTIFICATOR_QUEUE_SIZE);
+        threads = config.getInteger(Keys.NOTIFICATOR_THREADS);
+        batchSize = config.getInteger(Keys.NOTIFICATOR_BATCH_SIZE);
+        retryLimit = config.getInteger(Keys.NOTIFICATOR_RETRY_LIMIT);
+        retryDelay = config.getLong(Keys.NOTIFICATOR_RETRY_DELAY);
+        spoolPath = config.getString(Keys.NOTIFICATOR_SPOOL_PATH);
+        statisticsManager.registerGauge("notificationQueued", () -> getQueueDepth().values().stream()
+                .mapToLong(Integer::longValue).sum());
+        statisticsManager.registerGauge("notificationSpoolPendingBytes", () -> getSpoolSize().values().stream()
+                .mapToLong(Long::longValue).sum());
+    }
+
+    private final class Channel implements Runnable {
+
+        private final String type;
+        private final BlockingQueue<NotificationTask> queue = new ArrayBlockingQueue<>(queueSize);
+        private final SpoolLog spool;
+        private final ExecutorService executor;
+
+        private final Map<Long, NotificationTask> retries = new ConcurrentHashMap<>();
+        private final AtomicLong retryIndex = new AtomicLong();
+        private final Map<Thread, List<NotificationTask>> inFlight = new ConcurrentHashMap<>();
+        private volatile boolean closing;
+        private boolean closed;
+
+        Channel(String type) throws IOException {
+            this.type = type;
+            spool = spoolPath != null ? new SpoolLog(Path.of(spoolPath, type), SPOOL_SEGMENT_SIZE) : null;
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "notificator-" + type);
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (int i = 0; i < threads; i++) {
+                executor.execute(this);
+            }
+        }
+
+        synchronized void add(NotificationTask task) {
+            if (closed) {
+                LOGGER.warn("Notification queue {} is closed, notification dropped", type);
+            } else if (!queue.offer(task)) {
+                if (spool != null) {
+                    try {
+                        spool.append(objectMapper.writeValueAsBytes(task));
+                    } catch (IOException e) {
+                        LOGGER.warn("Notification spool error", e);
+                    }
+                } else {
+                    LOGGER.warn("Notification queue {} is full, notification dropped", type);
+                }
+            }
+        }
+
+        private void refill() throws IOException {
+            if (spool == null) {
+                return;
+            }
+            synchronized (spool) {
+                while (queue.remainingCapacity() > 0 && spool.hasPending()) {
+                    SpoolLog.Record record = spool.read();
+                    if (record == null) {
+                        break;
+                    }
+                    NotificationTask task;
+                    try {
+                        task = objectReader.readValue(record.data());
+                    } catch (IOException e) {
+                        LOGGER.warn("Spooled notification decoding error", e);
+                        spool.commit(record.nextOffset());
+                        continue;
+                    }
+                    if (!queue.offer(task)) {
+                        spool.rewind();
+                        break;
+                    }
+                    spool.commit(record.nextOffset());
+                }
+            }
+        }
+
+        private void retry(NotificationTask task, long delay) {
+            // pending retries are kept until they fire, so that they can be spooled on shutdown
+            long index = retryIndex.incrementAndGet();
+            retries.put(index, task);
+            timer.newTimeout(timeout -> {
+                NotificationTask pending = retries.remove(index);
+                if (pending != null) {
+                    add(pending);
+                }
+            }, delay, TimeUnit.SECONDS);
+        }
+
+        private void deliver(List<NotificationTask> tasks) {
+            try {
+                for (NotificationTask task : notificatorManager.getNotificator(type).send(tasks)) {
+                    if (task.attempt() < retryLimit) {
+                        retry(task.retry(), retryDelay << Math.min(task.attempt(), 16));
+                    } else {
+                        LOGGER.warn("Notification {} for user {} dropped after {} attempts",
+                                type, task.user().getId(), task.attempt() + 1);
+                    }
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Notification delivery error", e);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!closing && !Thread.currentThread().isInterrupted()) {
+                try {
+                    NotificationTask task = queue.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                    if (task != null) {
+                        List<NotificationTask> tasks = new ArrayList<>();
+                        tasks.add(task);
+                        queue.drainTo(tasks, batchSize - 1);
+                        inFlight.put(Thread.currentThread(), tasks);
+                        try {
+                            deliver(tasks);
+                        } finally {
+                            inFlight.remove(Thread.currentThread());
+                        }
+                    }
+                    if (!closing) {
+                        refill();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (IOException e) {
+                    LOGGER.warn("Notification spool error", e);
+                }
+            }
+        }
+
+        /**
+         * Lets workers finish batches in flight, then keeps queued notifications, pending retries and batches that
+         * did not finish in time in the spool. Interrupted batches can be delivered again after restart.
+         */
+        void close() throws IOException {
+            closing = true;
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                    LOGGER.warn("Notification queue {} workers did not finish in time", type);
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                closed = true;
+                List<NotificationTask> remaining = new ArrayList<>();
+                inFlight.values().forEach(remaining::addAll);
+                for (Long index : retries.keySet()) {
+                    NotificationTask task = retries.remove(index);
+                    if (task != null) {
+                        remaining.add(task);
+                    }
+                }
+                queue.drainTo(remaining);
+                if (spool != null) {
+                    synchronized (spool) {
+                        for (NotificationTask task : remaining) {
+                            spool.append(objectMapper.writeValueAsBytes(task));
+                        }
+                        spool.close();
+                    }
+                } else if (!remaining.isEmpty()) {
+                    LOGGER.warn("Notification queue {} stopped, {} notifications dropped", type, remaining.size());
+                }
+            }
+        }
+
+    }
+
+    private Channel getChannel(String type) {
+        return channels.computeIfAbsent(type, key -> {
+            try {
+                return new Channel(key);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private void dispatch(NotificationTask task) {
+        if (!stopped) {
+            getChannel(task.type()).add(task);
+        }
+    }
+
+    public void dispatch(String type, Notification notification, User user, Event event, Position position) {
+        dispatch(new NotificationTask(type, notification, user, event, position, 0));
+    }
+
+    /**
+     * Returns number of notifications waiting in memory for each notificator type.
+     */
+    public Map<String, Integer> getQueueDepth() {
+        return channels.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().queue.size()));
+    }
+
+    /**
+     * Returns size of spooled notifications in bytes for each notificator type.
+     */
+    public Map<String, Long> getSpoolSize() {
+        return channels.entrySet().stream()
+                .filter(entry -> entry.getValue().spool != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().spool.getPendingBytes()));
+    }
+
+    @Override
+    public void start() {
+        if (spoolPath != null) {
+            // resume delivery of notifications spooled before restart
+            for (Typed typed : notificatorManager.getAllNotificatorTypes()) {
+                if (Files.isDirectory(Path.of(spoolPath, typed.type()))) {
+                    getChannel(typed.type());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        for (Channel channel : channels.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Notification spool close error", e);
+            }
+        }
+    }
+
+}
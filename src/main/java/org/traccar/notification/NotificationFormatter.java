@@ -32,14 +32,32 @@ import org.traccar.session.cache.CacheManager;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Singleton
 public class NotificationFormatter {
 
+    private static final int SHARED_CACHE_SIZE = 100;
+
     private final LocaleManager localeManager;
     private final CacheManager cacheManager;
     private final TextTemplateFormatter textTemplateFormatter;
 
+    private record MessageKey(
+            Notification notification, Event event, Position position,
+            String language, String timezone, String speedUnit, String distanceUnit, String volumeUnit) {
+    }
+
+    private final Map<MessageKey, NotificationMessage> sharedMessages = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<MessageKey, NotificationMessage> eldest) {
+                    return size() > SHARED_CACHE_SIZE;
+                }
+            });
+
     @Inject
     public NotificationFormatter(
             LocaleManager localeManager, CacheManager cacheManager, TextTemplateFormatter textTemplateFormatter) {
@@ -54,12 +72,26 @@ public class NotificationFormatter {
         Server server = cacheManager.getServer();
         Device device = cacheManager.getObject(Device.class, event.getDeviceId());
 
-        VelocityContext velocityContext = textTemplateFormatter.prepareContext(server, user);
+        // same event is usually sent to many users, so output is reused when it only depends on user preferences
+        String language = UserUtil.getLanguage(server, user);
+        MessageKey key = null;
+        if (user != null && textTemplateFormatter.isShared(language, event.getType())) {
+            key = new MessageKey(
+                    notification, event, position, language, UserUtil.getTimezone(server, user).getID(),
+                    UserUtil.getSpeedUnit(server, user), UserUtil.getDistanceUnit(server, user),
+                    UserUtil.getVolumeUnit(server, user));
+            NotificationMessage message = sharedMessages.get(key);
+            if (message != null) {
+                return textTemplateFormatter.insertToken(message, user);
+            }
+        }
+
+        VelocityContext velocityContext = textTemplateFormatter.prepareContext(server, user, key != null);
 
         velocityContext.put("notification", notification);
         velocityContext.put("device", device);
         velocityContext.put("event", event);
-        velocityContext.put("translations", localeManager.getBundle(UserUtil.getLanguage(server, user)));
+        velocityContext.put("translations", localeManager.getBundle(language));
         if (position != null) {
             velocityContext.put("position", position);
             velocityContext.put("speedUnit", UserUtil.getSpeedUnit(server, user));
@@ -79,7 +111,12 @@ public class NotificationFormatter {
         }
 
         boolean priority = notification != null && notification.getBoolean("priority");
-        return textTemplateFormatter.formatMessage(velocityContext, event.getType(), priority);
+        NotificationMessage message = textTemplateFormatter.formatMessage(velocityContext, event.getType(), priority);
+        if (key != null) {
+            sharedMessages.put(key, message);
+            return textTemplateFormatter.insertToken(message, user);
+        }
+        return message;
     }
 
 }
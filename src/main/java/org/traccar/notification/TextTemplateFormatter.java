@@ -36,20 +36,64 @@ import org.traccar.storage.StorageException;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.GeneralSecurityException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 @Singleton
 public class TextTemplateFormatter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TextTemplateFormatter.class);
 
+    private static final DateTool DATE_TOOL = new DateTool();
+    private static final NumberTool NUMBER_TOOL = new NumberTool();
+
+    private static final Pattern USER_REFERENCE = Pattern.compile("\\$!?\\{?user\\b");
+
+    // matches default modification check interval of the velocity file resource loader
+    private static final long CHECK_INTERVAL = 2000;
+
     private final VelocityEngine velocityEngine;
     private final TokenManager tokenManager;
     private final LocaleManager localeManager;
     private final String templatesRoot;
 
+    private final String tokenPlaceholder = UUID.randomUUID().toString();
+
+    /**
+     * Resolved template file, {@code path} is {@code null} if there is no template for the language and name.
+     */
+    private record TemplateFile(Path path, long modified, boolean userSpecific, long checked) {
+    }
+
+    private final Map<String, TemplateFile> templateFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Generates token only if template output references it.
+     */
+    private final class LazyToken {
+
+        private final long userId;
+        private String value;
+
+        LazyToken(long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public synchronized String toString() {
+            if (value == null) {
+                value = generateToken(userId);
+            }
+            return value;
+        }
+    }
+
     @Inject
     public TextTemplateFormatter(
             VelocityEngine velocityEngine, TokenManager tokenManager, LocaleManager localeManager, Config config) {
@@ -59,35 +103,103 @@ public class TextTemplateFormatter {
         templatesRoot = config.getString(Keys.TEMPLATES_ROOT);
     }
 
+    private String generateToken(long userId) {
+        try {
+            return tokenManager.generateToken(userId);
+        } catch (IOException | GeneralSecurityException | StorageException e) {
+            LOGGER.warn("Token generation failed", e);
+            return "";
+        }
+    }
+
     public VelocityContext prepareContext(Server server, User user) {
+        return prepareContext(server, user, false);
+    }
+
+    /**
+     * Prepares template context. If output is shared between users, token is replaced with a placeholder, which has
+     * to be resolved for each user using {@link #insertToken}.
+     */
+    public VelocityContext prepareContext(Server server, User user, boolean shared) {
 
         VelocityContext velocityContext = new VelocityContext();
 
         if (user != null) {
             velocityContext.put("user", user);
             velocityContext.put("timezone", UserUtil.getTimezone(server, user));
-            try {
-                velocityContext.put("token", tokenManager.generateToken(user.getId()));
-            } catch (IOException | GeneralSecurityException | StorageException e) {
-                LOGGER.warn("Token generation failed", e);
-            }
+            velocityContext.put("token", shared ? tokenPlaceholder : new LazyToken(user.getId()));
         }
 
         velocityContext.put("webUrl", velocityEngine.getProperty("web.url"));
-        velocityContext.put("dateTool", new DateTool());
-        velocityContext.put("numberTool", new NumberTool());
+        velocityContext.put("dateTool", DATE_TOOL);
+        velocityContext.put("numberTool", NUMBER_TOOL);
         velocityContext.put("locale", Locale.getDefault());
         velocityContext.put("language", UserUtil.getLanguage(server, user));
 
         return velocityContext;
     }
 
+    /**
+     * Returns cached template file. Cached entries are resolved again after the check interval, so added, removed and
+     * modified templates are picked up, and the file is only read again if its modification time changed.
+     */
+    private TemplateFile getTemplateFile(String language, String name) {
+        String key = language + '/' + name;
+        long now = System.currentTimeMillis();
+        TemplateFile templateFile = templateFiles.get(key);
+        if (templateFile == null || now - templateFile.checked() >= CHECK_INTERVAL) {
+            templateFile = loadTemplateFile(language, name, templateFile, now);
+            templateFiles.put(key, templateFile);
+        }
+        return templateFile;
+    }
+
+    private TemplateFile loadTemplateFile(String language, String name, TemplateFile previous, long now) {
+        Path filePath = localeManager.getTemplateFile(templatesRoot, "notifications", language, name + ".vm");
+        if (filePath == null) {
+            return new TemplateFile(null, 0, true, now);
+        }
+        Path file = Path.of(templatesRoot).resolve(filePath);
+        try {
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            if (previous != null && filePath.equals(previous.path()) && modified == previous.modified()) {
+                return new TemplateFile(filePath, modified, previous.userSpecific(), now);
+            }
+            boolean userSpecific = USER_REFERENCE.matcher(Files.readString(file)).find();
+            return new TemplateFile(filePath, modified, userSpecific, now);
+        } catch (IOException e) {
+            return new TemplateFile(filePath, 0, true, now);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the template output does not depend on the user object, so it can be shared between
+     * users with the same language, timezone and units.
+     */
+    public boolean isShared(String language, String name) {
+        return !getTemplateFile(language, name).userSpecific();
+    }
+
+    public NotificationMessage insertToken(NotificationMessage message, User user) {
+        if (!message.body().contains(tokenPlaceholder)
+                && (message.subject() == null || !message.subject().contains(tokenPlaceholder))
+                && !message.digest().contains(tokenPlaceholder)) {
+            return message;
+        }
+        String token = generateToken(user.getId());
+        return new NotificationMessage(
+                message.subject() != null ? message.subject().replace(tokenPlaceholder, token) : null,
+                message.digest().replace(tokenPlaceholder, token),
+                message.body().replace(tokenPlaceholder, token),
+                message.priority());
+    }
+
     public NotificationMessage formatMessage(VelocityContext velocityContext, String name, boolean priority) {
         StringWriter writer = new StringWriter();
         String language = (String) velocityContext.get("language");
-        Path filePath = localeManager.getTemplateFile(templatesRoot, "notifications", language, name + ".vm");
-        if (filePath != null) {
-            Template template = velocityEngine.getTemplate(filePath.toString(), StandardCharsets.UTF_8.name());
+        Path templatePath = getTemplateFile(language, name).path();
+        if (templatePath != null) {
+            Template template = velocityEngine.getTemplate(templatePath.toString(), StandardCharsets.UTF_8.name());
             template.merge(velocityContext, writer);
             return new NotificationMessage(
                     (String) velocityContext.get("subject"), (String) velocityContext.get("digest"),
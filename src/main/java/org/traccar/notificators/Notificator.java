@@ -16,6 +16,8 @@
  */
 package org.traccar.notificators;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.model.Event;
 import org.traccar.model.Notification;
 import org.traccar.model.Position;
@@ -23,20 +25,46 @@ import org.traccar.model.User;
 import org.traccar.notification.MessageException;
 import org.traccar.notification.NotificationFormatter;
 import org.traccar.notification.NotificationMessage;
+import org.traccar.notification.NotificationTask;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class Notificator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(Notificator.class);
+
     private final NotificationFormatter notificationFormatter;
 
     public Notificator(NotificationFormatter notificationFormatter) {
         this.notificationFormatter = notificationFormatter;
     }
 
+    protected NotificationMessage formatMessage(NotificationTask task) {
+        return notificationFormatter.formatMessage(task.notification(), task.user(), task.event(), task.position());
+    }
+
     public void send(Notification notification, User user, Event event, Position position) throws MessageException {
         var message = notificationFormatter.formatMessage(notification, user, event, position);
         send(user, message, event, position);
     }
 
+    /**
+     * Sends a batch of notifications and returns the ones that failed. By default notifications are sent one by one.
+     */
+    public List<NotificationTask> send(List<NotificationTask> tasks) {
+        List<NotificationTask> failed = new ArrayList<>();
+        for (NotificationTask task : tasks) {
+            try {
+                send(task.notification(), task.user(), task.event(), task.position());
+            } catch (MessageException e) {
+                LOGGER.warn("Notification failed", e);
+                failed.add(task);
+            }
+        }
+        return failed;
+    }
+
     public void send(User user, NotificationMessage message, Event event, Position position) throws MessageException {
         throw new UnsupportedOperationException();
     }
@@ -24,6 +24,7 @@ import com.google.firebase.messaging.AndroidNotification;
 import com.google.firebase.messaging.ApnsConfig;
 import com.google.firebase.messaging.Aps;
 import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.MessagingErrorCode;
 import com.google.firebase.messaging.MulticastMessage;
 import jakarta.inject.Inject;
@@ -39,6 +40,7 @@ import org.traccar.model.User;
 import org.traccar.notification.MessageException;
 import org.traccar.notification.NotificationFormatter;
 import org.traccar.notification.NotificationMessage;
+import org.traccar.notification.NotificationTask;
 import org.traccar.session.cache.CacheManager;
 import org.traccar.storage.Storage;
 import org.traccar.storage.query.Columns;
@@ -50,14 +52,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Singleton
 public class NotificatorFirebase extends Notificator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NotificatorFirebase.class);
 
+    private static final int MULTICAST_LIMIT = 500;
+
     private final Storage storage;
     private final CacheManager cacheManager;
     private final FirebaseMessaging firebaseMessaging;
@@ -81,23 +88,88 @@ public class NotificatorFirebase extends Notificator {
                 FirebaseApp.initializeApp(options, "manager"));
     }
 
+    private record Recipient(int index, User user, String token) {
+    }
+
+    private record MessageKey(NotificationMessage message, Long eventId) {
+    }
+
     @Override
     public void send(User user, NotificationMessage message, Event event, Position position) throws MessageException {
+        if (!sendMulticast(message, event, List.of(user)).isEmpty()) {
+            throw new MessageException("Firebase request failed");
+        }
+    }
+
+    @Override
+    public List<NotificationTask> send(List<NotificationTask> tasks) {
+        // identical messages for different users are sent in shared multicast requests
+        Map<MessageKey, List<NotificationTask>> groups = new LinkedHashMap<>();
+        for (NotificationTask task : tasks) {
+            var key = new MessageKey(formatMessage(task), task.event() != null ? task.event().getId() : null);
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+        List<NotificationTask> failed = new ArrayList<>();
+        for (var group : groups.entrySet()) {
+            List<NotificationTask> groupTasks = group.getValue();
+            Set<Integer> failedIndexes = sendMulticast(
+                    group.getKey().message(), groupTasks.get(0).event(),
+                    groupTasks.stream().map(NotificationTask::user).toList());
+            for (int index : failedIndexes) {
+                failed.add(groupTasks.get(index));
+            }
+        }
+        return failed;
+    }
+
+    private static List<String> getTokens(User user) {
         if (user.hasAttribute("notificationTokens")) {
+            return Arrays.asList(user.getString("notificationTokens").split("[, ]"));
+        }
+        return List.of();
+    }
 
-            List<String> registrationTokens = new ArrayList<>(
-                    Arrays.asList(user.getString("notificationTokens").split("[, ]")));
+    /**
+     * Sends the message to all tokens of the users. Tokens of one user are kept in the same request when possible, so
+     * a failed request only affects its own users. Returns indexes of users that have to be retried.
+     */
+    private Set<Integer> sendMulticast(NotificationMessage message, Event event, List<User> users) {
 
-            var androidConfig = AndroidConfig.builder()
-                    .setNotification(AndroidNotification.builder().setSound("default").build());
+        var androidConfig = AndroidConfig.builder()
+                .setNotification(AndroidNotification.builder().setSound("default").build());
 
-            var apnsConfig = ApnsConfig.builder()
-                    .setAps(Aps.builder().setSound("default").build());
+        var apnsConfig = ApnsConfig.builder()
+                .setAps(Aps.builder().setSound("default").build());
 
-            if (message.priority()) {
-                androidConfig.setPriority(AndroidConfig.Priority.HIGH);
-                apnsConfig.putHeader("apns-priority", "10");
+        if (message.priority()) {
+            androidConfig.setPriority(AndroidConfig.Priority.HIGH);
+            apnsConfig.putHeader("apns-priority", "10");
+        }
+
+        List<List<Recipient>> chunks = new ArrayList<>();
+        List<Recipient> chunk = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            List<String> tokens = getTokens(user);
+            if (!chunk.isEmpty() && chunk.size() + tokens.size() > MULTICAST_LIMIT) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+            for (String token : tokens) {
+                chunk.add(new Recipient(i, user, token));
+                if (chunk.size() == MULTICAST_LIMIT) {
+                    chunks.add(chunk);
+                    chunk = new ArrayList<>();
+                }
             }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        Set<Integer> failed = new TreeSet<>();
+        Map<Long, List<String>> failedTokens = new LinkedHashMap<>();
+        for (List<Recipient> recipients : chunks) {
 
             var messageBuilder = MulticastMessage.builder()
                     .setNotification(com.google.firebase.messaging.Notification.builder()
@@ -106,7 +178,7 @@ public class NotificatorFirebase extends Notificator {
                             .build())
                     .setAndroidConfig(androidConfig.build())
                     .setApnsConfig(apnsConfig.build())
-                    .addAllTokens(registrationTokens);
+                    .addAllTokens(recipients.stream().map(Recipient::token).toList());
 
             if (event != null) {
                 messageBuilder.putData("eventId", String.valueOf(event.getId()));
@@ -114,34 +186,54 @@ public class NotificatorFirebase extends Notificator {
 
             try {
                 var result = firebaseMessaging.sendEachForMulticast(messageBuilder.build());
-                List<String> failedTokens = new LinkedList<>();
                 var iterator = result.getResponses().listIterator();
                 while (iterator.hasNext()) {
-                    int index = iterator.nextIndex();
+                    Recipient recipient = recipients.get(iterator.nextIndex());
                     var response = iterator.next();
                     if (!response.isSuccessful()) {
                         MessagingErrorCode error = response.getException().getMessagingErrorCode();
                         if (error == MessagingErrorCode.INVALID_ARGUMENT || error == MessagingErrorCode.UNREGISTERED) {
-                            failedTokens.add(registrationTokens.get(index));
+                            failedTokens.computeIfAbsent(recipient.user().getId(), k -> new ArrayList<>())
+                                    .add(recipient.token());
                         }
-                        LOGGER.warn("Firebase user {} error", user.getId(), response.getException());
-                    }
-                }
-                if (!failedTokens.isEmpty()) {
-                    registrationTokens.removeAll(failedTokens);
-                    if (registrationTokens.isEmpty()) {
-                        user.removeAttribute("notificationTokens");
-                    } else {
-                        user.set("notificationTokens", String.join(",", registrationTokens));
+                        LOGGER.warn("Firebase user {} error", recipient.user().getId(), response.getException());
                     }
-                    storage.updateObject(user, new Request(
-                            new Columns.Include("attributes"),
-                            new Condition.Equals("id", user.getId())));
-                    cacheManager.invalidateObject(true, User.class, user.getId(), ObjectOperation.UPDATE);
                 }
-            } catch (Exception e) {
+            } catch (FirebaseMessagingException e) {
                 LOGGER.warn("Firebase error", e);
+                recipients.forEach(recipient -> failed.add(recipient.index()));
+            }
+        }
+
+        for (var entry : failedTokens.entrySet()) {
+            removeTokens(entry.getKey(), entry.getValue());
+        }
+        return failed;
+    }
+
+    private void removeTokens(long userId, List<String> failedTokens) {
+        try {
+            // reload the user, so concurrent changes of other attributes are not overwritten
+            User user = storage.getObject(User.class, new Request(
+                    new Columns.All(), new Condition.Equals("id", userId)));
+            if (user == null) {
+                return;
+            }
+            List<String> registrationTokens = new ArrayList<>(getTokens(user));
+            if (!registrationTokens.removeAll(failedTokens)) {
+                return;
+            }
+            if (registrationTokens.isEmpty()) {
+                user.removeAttribute("notificationTokens");
+            } else {
+                user.set("notificationTokens", String.join(",", registrationTokens));
             }
+            storage.updateObject(user, new Request(
+                    new Columns.Include("attributes"),
+                    new Condition.Equals("id", userId)));
+            cacheManager.invalidateObject(true, User.class, userId, ObjectOperation.UPDATE);
+        } catch (Exception e) {
+            LOGGER.warn("Firebase tokens update error", e);
         }
     }
 
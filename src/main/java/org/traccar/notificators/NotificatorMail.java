@@ -19,17 +19,26 @@ package org.traccar.notificators;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.mail.MessagingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.traccar.mail.MailManager;
+import org.traccar.mail.MailMessage;
 import org.traccar.model.Event;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.notification.MessageException;
 import org.traccar.notification.NotificationFormatter;
 import org.traccar.notification.NotificationMessage;
+import org.traccar.notification.NotificationTask;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Singleton
 public class NotificatorMail extends Notificator {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(NotificatorMail.class);
+
     private final MailManager mailManager;
 
     @Inject
@@ -47,4 +56,22 @@ public class NotificatorMail extends Notificator {
         }
     }
 
+    @Override
+    public List<NotificationTask> send(List<NotificationTask> tasks) {
+        List<MailMessage> messages = new ArrayList<>();
+        for (NotificationTask task : tasks) {
+            var message = formatMessage(task);
+            messages.add(new MailMessage(task.user(), false, message.subject(), message.body()));
+        }
+        var errors = mailManager.sendMessages(messages);
+        List<NotificationTask> failed = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (errors.get(i) != null) {
+                LOGGER.warn("Notification failed", errors.get(i));
+                failed.add(tasks.get(i));
+            }
+        }
+        return failed;
+    }
+
 }
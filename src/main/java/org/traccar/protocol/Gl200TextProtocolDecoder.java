@@ -92,6 +92,15 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
             Map.entry("802005", "GV355CEU"),
             Map.entry("80201E", "GV30CEU"));
 
+    private static final Pattern PATTERN_BYTE_PAIR = Pattern.compile("(..)");
+    private static final Pattern PATTERN_WIFI = Pattern.compile("([0-9a-fA-F]{12}),(-?\\d+),,,,");
+    private static final Pattern PATTERN_REPORT_TYPE = Pattern.compile("\\p{XDigit}{1,2}");
+    private static final Pattern PATTERN_DEGREES = Pattern.compile("-?\\d{1,3}\\.\\d{6}");
+    private static final Pattern PATTERN_CELL_CODE = Pattern.compile("\\d{4}");
+    private static final Pattern PATTERN_CELL_LAC = Pattern.compile("\\p{XDigit}{4}");
+    private static final Pattern PATTERN_CELL_CID = Pattern.compile("\\p{XDigit}{4,8}");
+    private static final Pattern PATTERN_BATTERY = Pattern.compile("\\d{1,3}");
+
     private boolean ignoreFixTime;
 
     private final DateFormat dateFormat;
@@ -367,7 +376,7 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
         if (parser.hasNext()) {
             String[] values = parser.next().split(",");
             for (int i = 0; i < values.length; i += 5) {
-                String mac = values[i + 1].replaceAll("(..)", "$1:");
+                String mac = PATTERN_BYTE_PAIR.matcher(values[i + 1]).replaceAll("$1:");
                 network.addWifiAccessPoint(WifiAccessPoint.from(
                         mac.substring(0, mac.length() - 1), Integer.parseInt(values[i + 2])));
             }
@@ -1244,9 +1253,9 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
         Network network = new Network();
 
         parser.nextInt(); // count
-        Matcher matcher = Pattern.compile("([0-9a-fA-F]{12}),(-?\\d+),,,,").matcher(parser.next());
+        Matcher matcher = PATTERN_WIFI.matcher(parser.next());
         while (matcher.find()) {
-            String mac = matcher.group(1).replaceAll("(..)", "$1:");
+            String mac = PATTERN_BYTE_PAIR.matcher(matcher.group(1)).replaceAll("$1:");
             network.addWifiAccessPoint(WifiAccessPoint.from(
                     mac.substring(0, mac.length() - 1), Integer.parseInt(matcher.group(2))));
         }
@@ -1626,7 +1635,7 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
         Position position = new Position(getProtocolName());
         position.setDeviceId(deviceSession.getDeviceId());
 
-        if (v[index + 2].matches("\\p{XDigit}{1,2}")) {
+        if (PATTERN_REPORT_TYPE.matcher(v[index + 2]).matches()) {
             int reportType = Integer.parseInt(v[index + 2], 16);
             switch (type) {
                 case "NMR" -> position.set(Position.KEY_MOTION, reportType == 1);
@@ -1643,7 +1652,7 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
         }
 
         while (index + 2 < v.length) {
-            if (v[index].matches("-?\\d{1,3}\\.\\d{6}") && v[index + 1].matches("-?\\d{1,3}\\.\\d{6}")) {
+            if (PATTERN_DEGREES.matcher(v[index]).matches() && PATTERN_DEGREES.matcher(v[index + 1]).matches()) {
                 index = index - 4;
                 position.setValid(true);
                 position.set(Position.KEY_HDOP, Integer.parseInt(v[index++]));
@@ -1663,8 +1672,9 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
         }
 
         while (index + 3 < v.length) {
-            if (v[index].matches("\\d{4}") && v[index + 1].matches("\\d{4}")
-                    && v[index + 2].matches("\\p{XDigit}{4}") && v[index + 3].matches("\\p{XDigit}{4,8}")) {
+            if (PATTERN_CELL_CODE.matcher(v[index]).matches() && PATTERN_CELL_CODE.matcher(v[index + 1]).matches()
+                    && PATTERN_CELL_LAC.matcher(v[index + 2]).matches()
+                    && PATTERN_CELL_CID.matcher(v[index + 3]).matches()) {
                 position.setNetwork(new Network(CellTower.from(
                         Integer.parseInt(v[index++]),
                         Integer.parseInt(v[index++]),
@@ -1683,7 +1693,7 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
                 position.setDeviceTime(dateFormat.parse(v[index]));
             }
 
-            if (position.hasAttribute(Position.KEY_HDOP) && v[index - 1].matches("\\d{1,3}")) {
+            if (position.hasAttribute(Position.KEY_HDOP) && PATTERN_BATTERY.matcher(v[index - 1]).matches()) {
                 position.set(Position.KEY_BATTERY_LEVEL, Integer.parseInt(v[index - 1]));
             }
         }
@@ -1711,7 +1721,10 @@ public class Gl200TextProtocolDecoder extends BaseProtocolDecoder {
     protected Object decode(
             Channel channel, SocketAddress remoteAddress, Object msg) throws Exception {
 
-        String sentence = ((ByteBuf) msg).toString(StandardCharsets.US_ASCII).replaceAll("\\$$", "");
+        String sentence = ((ByteBuf) msg).toString(StandardCharsets.US_ASCII);
+        if (sentence.endsWith("$")) {
+            sentence = sentence.substring(0, sentence.length() - 1);
+        }
 
         int typeIndex = sentence.indexOf(":GT");
         if (typeIndex < 0) {
@@ -25,6 +25,7 @@ import org.traccar.Protocol;
 import org.traccar.config.Keys;
 import org.traccar.helper.BcdUtil;
 import org.traccar.helper.BitUtil;
+import org.traccar.helper.BufferParser;
 import org.traccar.helper.DateBuilder;
 import org.traccar.helper.Parser;
 import org.traccar.helper.PatternBuilder;
@@ -417,6 +418,110 @@ public class H02ProtocolDecoder extends BaseProtocolDecoder {
         return position;
     }
 
+    private record TextFix(
+            String id, String type, int time, boolean valid, double latitude, double longitude,
+            double speed, double course, int date, long status) {
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return !value.isEmpty();
+    }
+
+    /**
+     * Regex-free parsing of the most common text format without optional fields. Returns {@code null} if the message
+     * has any other layout, so it can be handled by the full pattern.
+     */
+    private static TextFix parseTextFix(ByteBuf buf) {
+
+        int endIndex = buf.writerIndex();
+        while (endIndex > buf.readerIndex() && buf.getByte(endIndex - 1) <= ' ') {
+            endIndex -= 1;
+        }
+        if (endIndex <= buf.readerIndex() || buf.getByte(endIndex - 1) != '#') {
+            return null;
+        }
+
+        BufferParser parser = new BufferParser(buf, buf.readerIndex(), endIndex - 1, ',');
+        if (parser.count() != 13) {
+            return null;
+        }
+
+        try {
+            parser.next();
+            if (parser.length() != 3) {
+                return null;
+            }
+            String id = parser.next();
+            String type = parser.next();
+            if (!isDigits(id) || !type.startsWith("V")
+                    || type.equals("V0") || type.equals("V3") || type.equals("V4") || type.equals("VP1")) {
+                return null;
+            }
+            int time = parser.nextInt(-1);
+            if (time < 0 || parser.length() != 6) {
+                return null;
+            }
+            String validity = parser.next();
+            if (!validity.equals("A") && !validity.equals("B") && !validity.equals("V")) {
+                return null;
+            }
+            double latitude = parser.nextCoordinate();
+            double longitude = parser.nextCoordinate();
+            double speed = parser.nextDouble(-1);
+            double course = parser.nextDouble(0);
+            int date = parser.nextInt(-1);
+            if (speed < 0 || course < 0 || date < 0 || parser.length() != 6) {
+                return null;
+            }
+            long status = parser.nextLong(16, -1);
+            if (status < 0 || parser.length() != 8) {
+                return null;
+            }
+            return new TextFix(
+                    id, type, time, validity.equals("A"), latitude, longitude, speed, course, date, status);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Position decodeTextFix(TextFix fix, Channel channel, SocketAddress remoteAddress) {
+
+        DeviceSession deviceSession = getDeviceSession(channel, remoteAddress, fix.id());
+        if (deviceSession == null) {
+            return null;
+        }
+
+        Position position = new Position(getProtocolName());
+        position.setDeviceId(deviceSession.getDeviceId());
+
+        if (fix.type().equals("V1")) {
+            sendResponse(channel, remoteAddress, fix.id(), "V1");
+        } else if (getConfig().getBoolean(Keys.PROTOCOL_ACK.withPrefix(getProtocolName()))) {
+            sendResponse(channel, remoteAddress, fix.id(), "R12");
+        }
+
+        position.setValid(fix.valid());
+        position.setLatitude(fix.latitude());
+        position.setLongitude(fix.longitude());
+        position.setSpeed(fix.speed());
+        position.setCourse(fix.course());
+
+        DateBuilder dateBuilder = new DateBuilder()
+                .setTime(fix.time() / 10000, fix.time() / 100 % 100, fix.time() % 100)
+                .setDateReverse(fix.date() / 10000, fix.date() / 100 % 100, fix.date() % 100);
+        position.setTime(dateBuilder.getDate());
+
+        processStatus(position, fix.status());
+
+        return position;
+    }
+
     private Position decodeLbs(String sentence, Channel channel, SocketAddress remoteAddress) {
 
         Parser parser = new Parser(PATTERN_NBR, sentence);
@@ -633,6 +738,10 @@ public class H02ProtocolDecoder extends BaseProtocolDecoder {
 
         switch (marker) {
             case "*" -> {
+                TextFix fix = parseTextFix(buf);
+                if (fix != null) {
+                    return decodeTextFix(fix, channel, remoteAddress);
+                }
                 String sentence = buf.toString(StandardCharsets.US_ASCII).trim();
                 int typeStart = sentence.indexOf(',', sentence.indexOf(',') + 1) + 1;
                 int typeEnd = sentence.indexOf(',', typeStart);
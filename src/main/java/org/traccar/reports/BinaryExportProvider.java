@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports;
+
+import org.traccar.model.Geofence;
+import org.traccar.model.Position;
+import org.traccar.storage.PositionStore;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import jakarta.inject.Inject;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact columnar export of position history. The gzip compressed stream starts with a header listing columns and
+ * their types, followed by blocks of rows. Each block contains the row count and then values of every column one
+ * after another. Integer and time values are delta encoded as zigzag varints, doubles are written as IEEE 754 values
+ * (NaN for missing), booleans as single bytes and strings as varint length plus one (zero for null) followed by UTF-8
+ * bytes. A block with zero rows ends the stream.
+ */
+public class BinaryExportProvider {
+
+    public static final int MAGIC = 0x54435042;
+    public static final int VERSION = 1;
+    public static final int BLOCK_SIZE = 4096;
+
+    public static final byte TYPE_LONG = 1;
+    public static final byte TYPE_DOUBLE = 2;
+    public static final byte TYPE_BOOLEAN = 3;
+    public static final byte TYPE_STRING = 4;
+
+    private record Column(String name, byte type, Function<Position, Object> getter) {
+    }
+
+    private static final Map<String, Column> COLUMNS = new LinkedHashMap<>();
+
+    private static void addColumn(String name, byte type, Function<Position, Object> getter) {
+        COLUMNS.put(name, new Column(name, type, getter));
+    }
+
+    static {
+        addColumn("id", TYPE_LONG, Position::getId);
+        addColumn("deviceId", TYPE_LONG, Position::getDeviceId);
+        addColumn("protocol", TYPE_STRING, Position::getProtocol);
+        addColumn("serverTime", TYPE_LONG, Position::getServerTime);
+        addColumn("deviceTime", TYPE_LONG, Position::getDeviceTime);
+        addColumn("fixTime", TYPE_LONG, Position::getFixTime);
+        addColumn("valid", TYPE_BOOLEAN, Position::getValid);
+        addColumn("latitude", TYPE_DOUBLE, Position::getLatitude);
+        addColumn("longitude", TYPE_DOUBLE, Position::getLongitude);
+        addColumn("altitude", TYPE_DOUBLE, Position::getAltitude);
+        addColumn("speed", TYPE_DOUBLE, Position::getSpeed);
+        addColumn("course", TYPE_DOUBLE, Position::getCourse);
+        addColumn("address", TYPE_STRING, Position::getAddress);
+        addColumn("accuracy", TYPE_DOUBLE, Position::getAccuracy);
+    }
+
+    private final Storage storage;
+    private final PositionStore positionStore;
+
+    @Inject
+    public BinaryExportProvider(Storage storage, PositionStore positionStore) {
+        this.storage = storage;
+        this.positionStore = positionStore;
+    }
+
+    /**
+     * Returns requested columns. Unknown names are exported as string attributes. All standard columns are returned if
+     * nothing is requested.
+     */
+    private static List<Column> getColumns(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.copyOf(COLUMNS.values());
+        }
+        List<Column> result = new ArrayList<>();
+        for (String name : names) {
+            Column column = COLUMNS.get(name);
+            if (column == null) {
+                column = new Column(name, TYPE_STRING, position -> position.getAttributes().get(name));
+            }
+            result.add(column);
+        }
+        return result;
+    }
+
+    private static void writeVarint(DataOutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte((int) value);
+    }
+
+    private static long toLong(Object value) {
+        if (value instanceof Date date) {
+            return date.getTime();
+        } else if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return 0;
+    }
+
+    private static void writeColumn(
+            DataOutputStream output, Column column, List<Position> positions) throws IOException {
+        long previous = 0;
+        for (Position position : positions) {
+            Object value = column.getter().apply(position);
+            switch (column.type()) {
+                case TYPE_LONG -> {
+                    long current = toLong(value);
+                    long delta = current - previous;
+                    writeVarint(output, (delta << 1) ^ (delta >> 63));
+                    previous = current;
+                }
+                case TYPE_DOUBLE -> output.writeDouble(
+                        value instanceof Number number ? number.doubleValue() : Double.NaN);
+                case TYPE_BOOLEAN -> output.writeBoolean(Boolean.TRUE.equals(value));
+                default -> {
+                    if (value == null) {
+                        writeVarint(output, 0);
+                    } else {
+                        byte[] data = value.toString().getBytes(StandardCharsets.UTF_8);
+                        writeVarint(output, data.length + 1);
+                        output.write(data);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeBlock(
+            DataOutputStream output, List<Column> columns, List<Position> positions) throws IOException {
+        writeVarint(output, positions.size());
+        for (Column column : columns) {
+            writeColumn(output, column, positions);
+        }
+        positions.clear();
+    }
+
+    public void generate(
+            OutputStream outputStream, long deviceId, long geofenceId, Date from, Date to,
+            Collection<String> columnNames) throws StorageException, IOException {
+
+        Geofence geofence = geofenceId == 0 ? null : storage.getObject(Geofence.class, new Request(
+                new Columns.All(), new Condition.Equals("id", geofenceId)));
+
+        List<Column> columns = getColumns(columnNames);
+        try (var output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(outputStream)));
+             var positions = positionStore.getPositionsStream(deviceId, from, to)) {
+
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            writeVarint(output, columns.size());
+            for (Column column : columns) {
+                output.writeUTF(column.name());
+                output.writeByte(column.type());
+            }
+
+            List<Position> block = new ArrayList<>(BLOCK_SIZE);
+            var iterator = positions.iterator();
+            while (iterator.hasNext()) {
+                Position position = iterator.next();
+                if (geofence == null || geofence.containsPosition(position)) {
+                    block.add(position);
+                    if (block.size() == BLOCK_SIZE) {
+                        writeBlock(output, columns, block);
+                    }
+                }
+            }
+            if (!block.isEmpty()) {
+                writeBlock(output, columns, block);
+            }
+            writeVarint(output, 0);
+        }
+    }
+
+}
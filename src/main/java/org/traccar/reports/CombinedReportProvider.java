@@ -16,11 +16,12 @@
 package org.traccar.reports;
 
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Event;
+import org.traccar.reports.common.ParallelReportExecutor;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.CombinedReportItem;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -29,7 +30,6 @@ import org.traccar.storage.query.Order;
 import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Set;
@@ -40,12 +40,43 @@ public class CombinedReportProvider {
     private static final Set<String> EXCLUDE_TYPES = Set.of(Event.TYPE_DEVICE_MOVING);
 
     private final ReportUtils reportUtils;
+    private final ParallelReportExecutor parallelExecutor;
     private final Storage storage;
+    private final PositionStore positionStore;
 
     @Inject
-    public CombinedReportProvider(ReportUtils reportUtils, Storage storage) {
+    public CombinedReportProvider(
+            ReportUtils reportUtils, ParallelReportExecutor parallelExecutor, Storage storage,
+            PositionStore positionStore) {
         this.reportUtils = reportUtils;
+        this.parallelExecutor = parallelExecutor;
         this.storage = storage;
+        this.positionStore = positionStore;
+    }
+
+    private CombinedReportItem calculateDeviceResult(Device device, Date from, Date to) throws StorageException {
+        CombinedReportItem item = new CombinedReportItem();
+        item.setDeviceId(device.getId());
+        var positions = positionStore.getPositions(device.getId(), from, to);
+        item.setRoute(positions.stream()
+                .map(p -> new double[] {p.getLongitude(), p.getLatitude()})
+                .toList());
+        var events = storage.getObjects(Event.class, new Request(
+                new Columns.All(),
+                new Condition.And(
+                        new Condition.Equals("deviceId", device.getId()),
+                        new Condition.Between("eventTime", from, to)),
+                new Order("eventTime")));
+        item.setEvents(events.stream()
+                .filter(e -> e.getPositionId() > 0 && !EXCLUDE_TYPES.contains(e.getType()))
+                .toList());
+        var eventPositions = events.stream()
+                .map(Event::getPositionId)
+                .collect(Collectors.toSet());
+        item.setPositions(positions.stream()
+                .filter(p -> eventPositions.contains(p.getId()))
+                .toList());
+        return item;
     }
 
     public Collection<CombinedReportItem> getObjects(
@@ -53,31 +84,7 @@ public class CombinedReportProvider {
             Date from, Date to) throws StorageException {
         reportUtils.checkPeriodLimit(from, to);
 
-        ArrayList<CombinedReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            CombinedReportItem item = new CombinedReportItem();
-            item.setDeviceId(device.getId());
-            var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
-            item.setRoute(positions.stream()
-                    .map(p -> new double[] {p.getLongitude(), p.getLatitude()})
-                    .toList());
-            var events = storage.getObjects(Event.class, new Request(
-                    new Columns.All(),
-                    new Condition.And(
-                            new Condition.Equals("deviceId", device.getId()),
-                            new Condition.Between("eventTime", from, to)),
-                    new Order("eventTime")));
-            item.setEvents(events.stream()
-                    .filter(e -> e.getPositionId() > 0 && !EXCLUDE_TYPES.contains(e.getType()))
-                    .toList());
-            var eventPositions = events.stream()
-                    .map(Event::getPositionId)
-                    .collect(Collectors.toSet());
-            item.setPositions(positions.stream()
-                    .filter(p -> eventPositions.contains(p.getId()))
-                    .toList());
-            result.add(item);
-        }
-        return result;
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        return parallelExecutor.map(devices, device -> calculateDeviceResult(device, from, to));
     }
 }
@@ -16,10 +16,10 @@
 package org.traccar.reports;
 
 import org.traccar.api.security.PermissionsService;
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.helper.model.UserUtil;
 import org.traccar.model.Geofence;
 import org.traccar.model.Position;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 
@@ -40,11 +40,13 @@ import java.util.stream.Collectors;
 public class CsvExportProvider {
 
     private final Storage storage;
+    private final PositionStore positionStore;
     private final PermissionsService permissionsService;
 
     @Inject
-    public CsvExportProvider(Storage storage, PermissionsService permissionsService) {
+    public CsvExportProvider(Storage storage, PositionStore positionStore, PermissionsService permissionsService) {
         this.storage = storage;
+        this.positionStore = positionStore;
         this.permissionsService = permissionsService;
     }
 
@@ -54,7 +56,7 @@ public class CsvExportProvider {
 
         var server = permissionsService.getServer();
         var user = permissionsService.getUser(userId);
-        var positions = PositionUtil.getPositions(storage, deviceId, from, to);
+        var positions = positionStore.getPositions(deviceId, from, to);
 
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         dateFormat.setTimeZone(UserUtil.getTimezone(server, user));
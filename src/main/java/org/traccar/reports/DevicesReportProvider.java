@@ -19,12 +19,12 @@ import jakarta.inject.Inject;
 import org.jxls.util.JxlsHelper;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Message;
 import org.traccar.model.User;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.DeviceReportItem;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -45,17 +45,19 @@ public class DevicesReportProvider {
     private final Config config;
     private final ReportUtils reportUtils;
     private final Storage storage;
+    private final PositionStore positionStore;
 
     @Inject
-    public DevicesReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public DevicesReportProvider(Config config, ReportUtils reportUtils, Storage storage, PositionStore positionStore) {
         this.config = config;
         this.reportUtils = reportUtils;
         this.storage = storage;
+        this.positionStore = positionStore;
     }
 
     public Collection<DeviceReportItem> getObjects(long userId) throws StorageException {
 
-        var positions = PositionUtil.getLatestPositions(storage, userId).stream()
+        var positions = positionStore.getLatestPositions(userId).stream()
                 .collect(Collectors.toMap(Message::getDeviceId, p -> p));
 
         return storage.getObjects(Device.class, new Request(
@@ -16,18 +16,14 @@
  */
 package org.traccar.reports;
 
-import org.apache.poi.ss.util.WorkbookUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.model.Device;
 import org.traccar.model.Event;
 import org.traccar.model.Geofence;
-import org.traccar.model.Group;
 import org.traccar.model.Maintenance;
 import org.traccar.model.Position;
 import org.traccar.reports.common.ReportUtils;
-import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -42,11 +38,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.stream.Stream;
 
 public class EventsReportProvider {
@@ -113,72 +107,55 @@ public class EventsReportProvider {
             Date from, Date to) throws StorageException, IOException {
         reportUtils.checkPeriodLimit(from, to);
 
-        List<DeviceReportSection> devicesEvents = new ArrayList<>();
-        List<String> sheetNames = new ArrayList<>();
+        boolean all = types.isEmpty() || types.contains(Event.ALL_EVENTS);
         HashMap<Long, String> geofenceNames = new HashMap<>();
         HashMap<Long, String> maintenanceNames = new HashMap<>();
         HashMap<Long, Position> positions = new HashMap<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            List<Event> events = new ArrayList<>();
-            boolean all = types.isEmpty() || types.contains(Event.ALL_EVENTS);
-            try (var unfilteredEvents = getEvents(device.getId(), from, to)) {
-                var iterator = unfilteredEvents.iterator();
-                while (iterator.hasNext()) {
-                    Event event = iterator.next();
-                    if (all || filterType(types, alarms, event)) {
-                        long geofenceId = event.getGeofenceId();
-                        long maintenanceId = event.getMaintenanceId();
-                        if (geofenceId != 0) {
-                            Geofence geofence = reportUtils.getObject(userId, Geofence.class, geofenceId);
-                            if (geofence != null) {
-                                geofenceNames.put(geofenceId, geofence.getName());
-                                events.add(event);
-                            }
-                        } else if (maintenanceId != 0) {
-                            Maintenance maintenance = reportUtils.getObject(userId, Maintenance.class, maintenanceId);
-                            if (maintenance != null) {
-                                maintenanceNames.put(maintenanceId, maintenance.getName());
-                                events.add(event);
-                            }
-                        } else {
-                            events.add(event);
-                        }
-                    }
-                }
-            }
-            for (Event event : events) {
-                long positionId = event.getPositionId();
-                if (positionId > 0) {
-                    Position position = storage.getObject(Position.class, new Request(
-                            new Columns.All(), new Condition.Equals("id", positionId)));
-                    positions.put(positionId, position);
-                }
-            }
-            DeviceReportSection deviceEvents = new DeviceReportSection();
-            deviceEvents.setDeviceName(device.getName());
-            sheetNames.add(WorkbookUtil.createSafeSheetName(deviceEvents.getDeviceName()));
-            if (device.getGroupId() > 0) {
-                Group group = storage.getObject(Group.class, new Request(
-                        new Columns.All(), new Condition.Equals("id", device.getGroupId())));
-                if (group != null) {
-                    deviceEvents.setGroupName(group.getName());
-                }
-            }
-            deviceEvents.setObjects(events);
-            devicesEvents.add(deviceEvents);
-        }
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
 
         File file = Paths.get(config.getString(Keys.TEMPLATES_ROOT), "export", "events.xlsx").toFile();
         try (InputStream inputStream = new FileInputStream(file)) {
             var context = reportUtils.initializeContext(userId);
-            context.putVar("devices", devicesEvents);
-            context.putVar("sheetNames", sheetNames);
             context.putVar("geofenceNames", geofenceNames);
             context.putVar("maintenanceNames", maintenanceNames);
             context.putVar("positions", positions);
             context.putVar("from", from);
             context.putVar("to", to);
-            reportUtils.processTemplateWithSheets(inputStream, outputStream, context);
+            reportUtils.processTemplateWithSheets(inputStream, outputStream, context, devices,
+                    device -> getEvents(device.getId(), from, to)
+                            .filter(event -> all || filterType(types, alarms, event))
+                            .filter(event -> {
+                                long geofenceId = event.getGeofenceId();
+                                long maintenanceId = event.getMaintenanceId();
+                                if (geofenceId != 0) {
+                                    Geofence geofence = reportUtils.getObject(userId, Geofence.class, geofenceId);
+                                    if (geofence == null) {
+                                        return false;
+                                    }
+                                    geofenceNames.put(geofenceId, geofence.getName());
+                                } else if (maintenanceId != 0) {
+                                    Maintenance maintenance = reportUtils.getObject(
+                                            userId, Maintenance.class, maintenanceId);
+                                    if (maintenance == null) {
+                                        return false;
+                                    }
+                                    maintenanceNames.put(maintenanceId, maintenance.getName());
+                                }
+                                return true;
+                            })
+                            .peek(event -> {
+                                // row is rendered before the next event is read, so only its position is kept
+                                positions.clear();
+                                long positionId = event.getPositionId();
+                                if (positionId > 0) {
+                                    try {
+                                        positions.put(positionId, storage.getObject(Position.class, new Request(
+                                                new Columns.All(), new Condition.Equals("id", positionId))));
+                                    } catch (StorageException e) {
+                                        throw new RuntimeException(e);
+                                    }
+                                }
+                            }));
         }
     }
 }
@@ -16,8 +16,8 @@
 package org.traccar.reports;
 
 import org.traccar.helper.DateUtil;
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -32,10 +32,12 @@ import java.util.Date;
 public class GpxExportProvider {
 
     private final Storage storage;
+    private final PositionStore positionStore;
 
     @Inject
-    public GpxExportProvider(Storage storage) {
+    public GpxExportProvider(Storage storage, PositionStore positionStore) {
         this.storage = storage;
+        this.positionStore = positionStore;
     }
 
     public void generate(
@@ -43,7 +45,7 @@ public class GpxExportProvider {
 
         var device = storage.getObject(Device.class, new Request(
                 new Columns.All(), new Condition.Equals("id", deviceId)));
-        var positions = PositionUtil.getPositions(storage, deviceId, from, to);
+        var positions = positionStore.getPositions(deviceId, from, to);
 
         try (PrintWriter writer = new PrintWriter(outputStream)) {
             writer.print("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
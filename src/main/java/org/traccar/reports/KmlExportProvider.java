@@ -15,8 +15,8 @@
  */
 package org.traccar.reports;
 
-import org.traccar.helper.model.PositionUtil;
 import org.traccar.model.Device;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -33,10 +33,12 @@ import java.util.stream.Collectors;
 public class KmlExportProvider {
 
     private final Storage storage;
+    private final PositionStore positionStore;
 
     @Inject
-    public KmlExportProvider(Storage storage) {
+    public KmlExportProvider(Storage storage, PositionStore positionStore) {
         this.storage = storage;
+        this.positionStore = positionStore;
     }
 
     public void generate(
@@ -44,7 +46,7 @@ public class KmlExportProvider {
 
         var device = storage.getObject(Device.class, new Request(
                 new Columns.All(), new Condition.Equals("id", deviceId)));
-        var positions = PositionUtil.getPositions(storage, deviceId, from, to);
+        var positions = positionStore.getPositions(deviceId, from, to);
 
         var dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
 
@@ -16,21 +16,15 @@
  */
 package org.traccar.reports;
 
-import org.apache.poi.ss.util.WorkbookUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.helper.model.PositionUtil;
-import org.traccar.model.Device;
-import org.traccar.model.Group;
 import org.traccar.model.Position;
+import org.traccar.reports.common.ParallelReportExecutor;
 import org.traccar.reports.common.ReportUtils;
-import org.traccar.reports.model.DeviceReportSection;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import java.io.File;
@@ -42,22 +36,24 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Map;
-import java.util.HashMap;
 
 public class RouteReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ParallelReportExecutor parallelExecutor;
     private final Storage storage;
-
-    private final Map<String, Integer> namesCount = new HashMap<>();
+    private final PositionStore positionStore;
 
     @Inject
-    public RouteReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public RouteReportProvider(
+            Config config, ReportUtils reportUtils, ParallelReportExecutor parallelExecutor, Storage storage,
+            PositionStore positionStore) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.parallelExecutor = parallelExecutor;
         this.storage = storage;
+        this.positionStore = positionStore;
     }
 
     public Collection<Position> getObjects(long userId, Collection<Long> deviceIds, Collection<Long> groupIds,
@@ -65,49 +61,27 @@ public class RouteReportProvider {
         reportUtils.checkPeriodLimit(from, to);
 
         ArrayList<Position> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(PositionUtil.getPositions(storage, device.getId(), from, to));
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        for (var positions : parallelExecutor.map(
+                devices, device -> positionStore.getPositions(device.getId(), from, to))) {
+            result.addAll(positions);
         }
         return result;
     }
 
-
-    private String getUniqueSheetName(String key) {
-        namesCount.compute(key, (k, value) -> value == null ? 1 : (value + 1));
-        return namesCount.get(key) > 1 ? key + '-' + namesCount.get(key) : key;
-    }
-
     public void getExcel(OutputStream outputStream,
             long userId, Collection<Long> deviceIds, Collection<Long> groupIds,
             Date from, Date to) throws StorageException, IOException {
         reportUtils.checkPeriodLimit(from, to);
 
-        ArrayList<DeviceReportSection> devicesRoutes = new ArrayList<>();
-        ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
-            DeviceReportSection deviceRoutes = new DeviceReportSection();
-            deviceRoutes.setDeviceName(device.getName());
-            sheetNames.add(WorkbookUtil.createSafeSheetName(getUniqueSheetName(deviceRoutes.getDeviceName())));
-            if (device.getGroupId() > 0) {
-                Group group = storage.getObject(Group.class, new Request(
-                        new Columns.All(), new Condition.Equals("id", device.getGroupId())));
-                if (group != null) {
-                    deviceRoutes.setGroupName(group.getName());
-                }
-            }
-            deviceRoutes.setObjects(positions);
-            devicesRoutes.add(deviceRoutes);
-        }
-
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
         File file = Paths.get(config.getString(Keys.TEMPLATES_ROOT), "export", "route.xlsx").toFile();
         try (InputStream inputStream = new FileInputStream(file)) {
             var context = reportUtils.initializeContext(userId);
-            context.putVar("devices", devicesRoutes);
-            context.putVar("sheetNames", sheetNames);
             context.putVar("from", from);
             context.putVar("to", to);
-            reportUtils.processTemplateWithSheets(inputStream, outputStream, context);
+            reportUtils.processTemplateWithSheets(inputStream, outputStream, context, devices,
+                    device -> positionStore.getPositionsStream(device.getId(), from, to));
         }
     }
 }
@@ -21,15 +21,17 @@ import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.UnitsConverter;
-import org.traccar.helper.model.AttributeUtil;
 import org.traccar.helper.model.DeviceUtil;
 import org.traccar.helper.model.PositionUtil;
 import org.traccar.helper.model.UserUtil;
 import org.traccar.model.Device;
 import org.traccar.model.Position;
+import org.traccar.reports.common.ParallelReportExecutor;
+import org.traccar.reports.common.ReportRollups;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.common.TripsConfig;
 import org.traccar.reports.model.SummaryReportItem;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 
@@ -52,16 +54,24 @@ public class SummaryReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ReportRollups reportRollups;
+    private final ParallelReportExecutor parallelExecutor;
     private final PermissionsService permissionsService;
     private final Storage storage;
+    private final PositionStore positionStore;
 
     @Inject
     public SummaryReportProvider(
-            Config config, ReportUtils reportUtils, PermissionsService permissionsService, Storage storage) {
+            Config config, ReportUtils reportUtils, ReportRollups reportRollups,
+            ParallelReportExecutor parallelExecutor, PermissionsService permissionsService, Storage storage,
+            PositionStore positionStore) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.reportRollups = reportRollups;
+        this.parallelExecutor = parallelExecutor;
         this.permissionsService = permissionsService;
         this.storage = storage;
+        this.positionStore = positionStore;
     }
 
     private Collection<SummaryReportItem> calculateDeviceResult(
@@ -73,11 +83,19 @@ public class SummaryReportProvider {
 
         Position first = null;
         Position last = null;
-        if (fast) {
-            first = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
-            last = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
+        var days = reportRollups.getDays(from, to);
+        if (!days.isEmpty()) {
+            var summary = reportRollups.getSummary(device, from, to, days);
+            if (summary != null) {
+                first = summary.first();
+                last = summary.last();
+                result.setMaxSpeed(summary.maxSpeed());
+            }
+        } else if (fast) {
+            first = positionStore.getEdgePosition(device.getId(), from, to, false);
+            last = positionStore.getEdgePosition(device.getId(), from, to, true);
         } else {
-            var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
+            var positions = positionStore.getPositions(device.getId(), from, to);
             for (Position position : positions) {
                 if (first == null) {
                     first = position;
@@ -90,8 +108,7 @@ public class SummaryReportProvider {
         }
 
         if (first != null && last != null) {
-            TripsConfig tripsConfig = new TripsConfig(
-                    new AttributeUtil.StorageProvider(config, storage, permissionsService, device));
+            TripsConfig tripsConfig = new TripsConfig(reportUtils.getAttributeProvider(device));
             boolean ignoreOdometer = tripsConfig.getIgnoreOdometer();
             result.setDistance(PositionUtil.calculateDistance(first, last, !ignoreOdometer));
             result.setSpentFuel(reportUtils.calculateFuel(first, last, device));
@@ -148,9 +165,9 @@ public class SummaryReportProvider {
         var tz = UserUtil.getTimezone(permissionsService.getServer(), permissionsService.getUser(userId)).toZoneId();
 
         ArrayList<SummaryReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            var deviceResults = calculateDeviceResults(
-                    device, from.toInstant().atZone(tz), to.toInstant().atZone(tz), daily);
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        for (var deviceResults : parallelExecutor.map(devices, device -> calculateDeviceResults(
+                device, from.toInstant().atZone(tz), to.toInstant().atZone(tz), daily))) {
             for (SummaryReportItem summaryReport : deviceResults) {
                 if (summaryReport.getStartTime() != null && summaryReport.getEndTime() != null) {
                     result.add(summaryReport);
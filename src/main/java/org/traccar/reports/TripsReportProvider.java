@@ -16,20 +16,15 @@
  */
 package org.traccar.reports;
 
-import org.apache.poi.ss.util.WorkbookUtil;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
 import org.traccar.helper.model.DeviceUtil;
-import org.traccar.model.Device;
-import org.traccar.model.Group;
+import org.traccar.reports.common.ParallelReportExecutor;
+import org.traccar.reports.common.ReportRollups;
 import org.traccar.reports.common.ReportUtils;
-import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.TripReportItem;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
-import org.traccar.storage.query.Columns;
-import org.traccar.storage.query.Condition;
-import org.traccar.storage.query.Request;
 
 import jakarta.inject.Inject;
 import java.io.File;
@@ -46,12 +41,18 @@ public class TripsReportProvider {
 
     private final Config config;
     private final ReportUtils reportUtils;
+    private final ReportRollups reportRollups;
+    private final ParallelReportExecutor parallelExecutor;
     private final Storage storage;
 
     @Inject
-    public TripsReportProvider(Config config, ReportUtils reportUtils, Storage storage) {
+    public TripsReportProvider(
+            Config config, ReportUtils reportUtils, ReportRollups reportRollups,
+            ParallelReportExecutor parallelExecutor, Storage storage) {
         this.config = config;
         this.reportUtils = reportUtils;
+        this.reportRollups = reportRollups;
+        this.parallelExecutor = parallelExecutor;
         this.storage = storage;
     }
 
@@ -61,8 +62,10 @@ public class TripsReportProvider {
         reportUtils.checkPeriodLimit(from, to);
 
         ArrayList<TripReportItem> result = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            result.addAll(reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class));
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
+        for (var items : parallelExecutor.map(
+                devices, device -> reportRollups.detectTripsAndStops(device, from, to, TripReportItem.class))) {
+            result.addAll(items);
         }
         return result;
     }
@@ -72,32 +75,14 @@ public class TripsReportProvider {
             Date from, Date to) throws StorageException, IOException {
         reportUtils.checkPeriodLimit(from, to);
 
-        ArrayList<DeviceReportSection> devicesTrips = new ArrayList<>();
-        ArrayList<String> sheetNames = new ArrayList<>();
-        for (Device device: DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds)) {
-            Collection<TripReportItem> trips = reportUtils.detectTripsAndStops(device, from, to, TripReportItem.class);
-            DeviceReportSection deviceTrips = new DeviceReportSection();
-            deviceTrips.setDeviceName(device.getName());
-            sheetNames.add(WorkbookUtil.createSafeSheetName(deviceTrips.getDeviceName()));
-            if (device.getGroupId() > 0) {
-                Group group = storage.getObject(Group.class, new Request(
-                        new Columns.All(), new Condition.Equals("id", device.getGroupId())));
-                if (group != null) {
-                    deviceTrips.setGroupName(group.getName());
-                }
-            }
-            deviceTrips.setObjects(trips);
-            devicesTrips.add(deviceTrips);
-        }
-
+        var devices = DeviceUtil.getAccessibleDevices(storage, userId, deviceIds, groupIds);
         File file = Paths.get(config.getString(Keys.TEMPLATES_ROOT), "export", "trips.xlsx").toFile();
         try (InputStream inputStream = new FileInputStream(file)) {
             var context = reportUtils.initializeContext(userId);
-            context.putVar("devices", devicesTrips);
-            context.putVar("sheetNames", sheetNames);
             context.putVar("from", from);
             context.putVar("to", to);
-            reportUtils.processTemplateWithSheets(inputStream, outputStream, context);
+            reportUtils.processTemplateWithSheets(inputStream, outputStream, context, devices,
+                    device -> reportRollups.detectTripsAndStops(device, from, to, TripReportItem.class).stream());
         }
     }
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.StorageException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs per-device report calculations on a dedicated bounded thread pool. Results are returned in the order of the
+ * devices regardless of the completion order.
+ */
+@Singleton
+public class ParallelReportExecutor {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    public interface DeviceFunction<T> {
+        T apply(Device device) throws StorageException;
+    }
+
+    private final int concurrency;
+    private final ExecutorService executor;
+
+    @Inject
+    public ParallelReportExecutor(Config config) {
+        concurrency = config.getInteger(Keys.REPORT_CONCURRENCY);
+        int threads = config.getInteger(Keys.REPORT_THREADS);
+        if (threads <= 0) {
+            int poolSize = config.getInteger(Keys.DATABASE_MAX_POOL_SIZE);
+            threads = Math.max(1, (poolSize > 0 ? poolSize : DEFAULT_POOL_SIZE) / 2);
+        }
+        AtomicInteger index = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "report-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static <T> T apply(
+            DeviceFunction<T> function, Device device, ReportProgress progress) throws StorageException {
+        if (progress == null) {
+            return function.apply(device);
+        }
+        progress.checkCancelled();
+        T result = function.apply(device);
+        progress.advance();
+        return result;
+    }
+
+    /**
+     * Applies the function to each device using at most the configured number of threads for a single report.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> map(Collection<Device> devices, DeviceFunction<T> function) throws StorageException {
+        List<Device> items = List.copyOf(devices);
+        ReportProgress progress = ReportProgress.current();
+        if (progress != null) {
+            progress.addTotal(items.size());
+        }
+        int workers = Math.min(concurrency, items.size());
+        if (workers <= 1) {
+            List<T> result = new ArrayList<>();
+            for (Device device : items) {
+                result.add(apply(function, device, progress));
+            }
+            return result;
+        }
+
+        Object[] results = new Object[items.size()];
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < items.size()) {
+                    results[index] = apply(function, items.get(index), progress);
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException storageException) {
+                throw storageException;
+            } else if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new StorageException(e.getCause());
+        } finally {
+            next.set(items.size());
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        return (List<T>) Arrays.asList(results);
+    }
+
+}
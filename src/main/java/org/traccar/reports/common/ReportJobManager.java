@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.reports.model.ReportJob;
+import org.traccar.storage.StorageException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background report jobs. Identical requests from the same user share a job until its result expires.
+ */
+@Singleton
+public class ReportJobManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportJobManager.class);
+
+    private static final class Job {
+
+        private final String id = UUID.randomUUID().toString();
+        private final long userId;
+        private final String type;
+        private final String key;
+        private final Date creationTime = new Date();
+        private final ReportProgress progress = new ReportProgress();
+        private volatile String status = ReportJob.STATUS_QUEUED;
+        private volatile Date completionTime;
+        private volatile Path file;
+        private Future<?> future;
+
+        Job(long userId, String type, String key) {
+            this.userId = userId;
+            this.type = type;
+            this.key = key;
+        }
+
+        ReportJob toReportJob() {
+            ReportJob result = new ReportJob();
+            result.setId(id);
+            result.setType(type);
+            result.setStatus(status);
+            result.setTotal(progress.getTotal());
+            result.setProcessed(progress.getProcessed());
+            result.setCreationTime(creationTime);
+            result.setCompletionTime(completionTime);
+            return result;
+        }
+
+    }
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Job> keys = new ConcurrentHashMap<>();
+
+    private final long ttl;
+    private final ExecutorService executor;
+
+    @Inject
+    public ReportJobManager(Config config) {
+        ttl = config.getLong(Keys.REPORT_JOB_TTL) * 1000;
+        AtomicInteger index = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(config.getInteger(Keys.REPORT_JOB_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "report-job-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns existing job for the same request or starts a new one.
+     */
+    public synchronized ReportJob submit(long userId, String type, String key, ReportExecutor reportExecutor) {
+        String fullKey = userId + ":" + type + ":" + key;
+        Job job = keys.get(fullKey);
+        if (job == null || job.status.equals(ReportJob.STATUS_FAILED) || isExpired(job, System.currentTimeMillis())) {
+            Job newJob = new Job(userId, type, fullKey);
+            jobs.put(newJob.id, newJob);
+            keys.put(fullKey, newJob);
+            newJob.future = executor.submit(() -> execute(newJob, reportExecutor));
+            job = newJob;
+        }
+        return job.toReportJob();
+    }
+
+    private void execute(Job job, ReportExecutor reportExecutor) {
+        job.status = ReportJob.STATUS_RUNNING;
+        Path file = null;
+        String status = ReportJob.STATUS_FAILED;
+        try {
+            job.progress.checkCancelled();
+            file = Files.createTempFile("report", ".xlsx");
+            try (OutputStream stream = Files.newOutputStream(file)) {
+                job.progress.execute(reportExecutor, stream);
+            }
+            status = ReportJob.STATUS_COMPLETED;
+        } catch (CancellationException e) {
+            LOGGER.debug("Report job {} cancelled", job.id);
+        } catch (StorageException | IOException | RuntimeException e) {
+            LOGGER.warn("Report job {} failed", job.id, e);
+        }
+        finish(job, file, status);
+    }
+
+    private synchronized void finish(Job job, Path file, String status) {
+        if (job.progress.isCancelled() || !status.equals(ReportJob.STATUS_COMPLETED)) {
+            deleteFile(file);
+        } else {
+            job.file = file;
+        }
+        job.completionTime = new Date();
+        job.status = status;
+    }
+
+    private static void deleteFile(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                LOGGER.warn("Report file delete error", e);
+            }
+        }
+    }
+
+    private boolean isExpired(Job job, long now) {
+        Date completionTime = job.completionTime;
+        return completionTime != null && completionTime.getTime() + ttl < now;
+    }
+
+    private Job getJob(long userId, String id) {
+        Job job = jobs.get(id);
+        return job != null && job.userId == userId ? job : null;
+    }
+
+    public ReportJob getStatus(long userId, String id) {
+        Job job = getJob(userId, id);
+        return job != null ? job.toReportJob() : null;
+    }
+
+    /**
+     * Returns report file for a completed job or {@code null} if it's not available.
+     */
+    public Path getFile(long userId, String id) {
+        Job job = getJob(userId, id);
+        return job != null ? job.file : null;
+    }
+
+    private void remove(Job job) {
+        jobs.remove(job.id);
+        keys.remove(job.key, job);
+        job.progress.cancel();
+        if (job.future != null) {
+            job.future.cancel(true);
+        }
+        deleteFile(job.file);
+        job.file = null;
+    }
+
+    /**
+     * Cancels running job or removes the result of a completed one.
+     */
+    public synchronized boolean cancel(long userId, String id) {
+        Job job = getJob(userId, id);
+        if (job != null) {
+            remove(job);
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void removeExpired() {
+        long now = System.currentTimeMillis();
+        jobs.values().stream().filter(job -> isExpired(job, now)).toList().forEach(this::remove);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import org.traccar.storage.StorageException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of a report running in the background. Device based reports update it through the thread that executes
+ * the report.
+ */
+public class ReportProgress {
+
+    private static final ThreadLocal<ReportProgress> CURRENT = new ThreadLocal<>();
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger processed = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    public static ReportProgress current() {
+        return CURRENT.get();
+    }
+
+    public void execute(ReportExecutor executor, OutputStream stream) throws StorageException, IOException {
+        CURRENT.set(this);
+        try {
+            executor.execute(stream);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public int getTotal() {
+        return total.get();
+    }
+
+    public void addTotal(int count) {
+        total.addAndGet(count);
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public void advance() {
+        processed.incrementAndGet();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Report cancelled");
+        }
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.reports.common;
+
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.DeviceRollup;
+import org.traccar.model.Position;
+import org.traccar.reports.model.BaseReportItem;
+import org.traccar.reports.model.TripReportItem;
+import org.traccar.storage.PositionStore;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily per-device aggregates used to answer summary, trips and stops reports over long periods. Days are aligned to
+ * UTC and only completed days older than the configured delay are aggregated. Partial days at the edges of the
+ * requested period are always calculated from positions. Rollups store the trip settings they were calculated with and
+ * are recalculated when the settings of the device change.
+ * <p>
+ * Not a singleton, because it depends on request scoped {@link ReportUtils}. Background tasks have to get an instance
+ * inside a request scope.
+ */
+public class ReportRollups {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportRollups.class);
+
+    private final Storage storage;
+    private final PositionStore positionStore;
+    private final ReportUtils reportUtils;
+    private final boolean enabled;
+    private final long delay;
+
+    public record Summary(Position first, Position last, double maxSpeed) {
+    }
+
+    /**
+     * Trip or stop segment. Positions are {@code null} for segments loaded from stored rollups.
+     */
+    public record Part(Date startTime, Date endTime, double maxSpeed, Position start, Position end) {
+    }
+
+    /**
+     * Data for a day or for a partial period at the edge of the report. Positions are {@code null} for stored rollups.
+     */
+    public record Piece(
+            Date firstTime, Date lastTime, double maxSpeed, Position first, Position last, List<Part> parts) {
+    }
+
+    @Inject
+    public ReportRollups(Config config, Storage storage, PositionStore positionStore, ReportUtils reportUtils) {
+        this.storage = storage;
+        this.positionStore = positionStore;
+        this.reportUtils = reportUtils;
+        enabled = config.getBoolean(Keys.REPORT_ROLLUPS_ENABLE);
+        delay = config.getLong(Keys.REPORT_ROLLUPS_DELAY) * 1000;
+    }
+
+    private static Date dayStart(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+
+    private static Date dayEnd(LocalDate day) {
+        return new Date(dayStart(day.plusDays(1)).getTime() - 1);
+    }
+
+    /**
+     * Returns the last day that can be aggregated.
+     */
+    public LocalDate getLastDay() {
+        return Instant.ofEpochMilli(System.currentTimeMillis() - delay).atZone(ZoneOffset.UTC).toLocalDate()
+                .minusDays(1);
+    }
+
+    /**
+     * Returns completed days fully covered by the period or an empty list if rollups can't be used.
+     */
+    public List<LocalDate> getDays(Date from, Date to) {
+        List<LocalDate> days = new ArrayList<>();
+        if (enabled) {
+            LocalDate day = from.toInstant().atZone(ZoneOffset.UTC).toLocalDate();
+            if (dayStart(day).before(from)) {
+                day = day.plusDays(1);
+            }
+            LocalDate lastDay = getLastDay();
+            while (!day.isAfter(lastDay) && !dayEnd(day).after(to)) {
+                days.add(day);
+                day = day.plusDays(1);
+            }
+        }
+        return days;
+    }
+
+    private static String getSettings(TripsConfig tripsConfig) {
+        return tripsConfig.getMinimalTripDistance() + "," + tripsConfig.getMinimalTripDuration()
+                + "," + tripsConfig.getMinimalParkingDuration() + "," + tripsConfig.getMinimalNoDataDuration()
+                + "," + tripsConfig.getUseIgnition() + "," + tripsConfig.getIgnoreOdometer();
+    }
+
+    public DeviceRollup calculateRollup(Device device, LocalDate day) throws StorageException {
+        TripsConfig tripsConfig = new TripsConfig(reportUtils.getAttributeProvider(device));
+        DeviceRollup rollup = new DeviceRollup();
+        rollup.setDeviceId(device.getId());
+        rollup.setDayStart(dayStart(day));
+        rollup.setSettings(getSettings(tripsConfig));
+
+        var positions = positionStore.getPositions(device.getId(), dayStart(day), dayEnd(day));
+        if (!positions.isEmpty()) {
+            rollup.setStartTime(positions.get(0).getFixTime());
+            rollup.setEndTime(positions.get(positions.size() - 1).getFixTime());
+            rollup.setMaxSpeed(positions.stream().mapToDouble(Position::getSpeed).max().orElse(0));
+            rollup.setTrips(createSegments(reportUtils.detectSegments(tripsConfig, positions, true)));
+            rollup.setStops(createSegments(reportUtils.detectSegments(tripsConfig, positions, false)));
+        }
+        return rollup;
+    }
+
+    private static DeviceRollup.Segment[] createSegments(List<ReportUtils.Segment> segments) {
+        return segments.stream().map(segment -> {
+            DeviceRollup.Segment result = new DeviceRollup.Segment();
+            result.setStartTime(segment.start().getFixTime());
+            result.setEndTime(segment.end().getFixTime());
+            result.setMaxSpeed(segment.maxSpeed());
+            return result;
+        }).toArray(DeviceRollup.Segment[]::new);
+    }
+
+    /**
+     * Returns stored rollups for the given consecutive days, calculating and storing missing ones. Rollups calculated
+     * with different trip settings are replaced.
+     */
+    public List<DeviceRollup> getRollups(Device device, List<LocalDate> days) throws StorageException {
+        Map<Long, DeviceRollup> stored = new HashMap<>();
+        var rollups = storage.getObjects(DeviceRollup.class, new Request(
+                new Columns.All(),
+                Condition.merge(List.of(
+                        new Condition.Equals("deviceId", device.getId()),
+                        new Condition.Between("dayStart", dayStart(days.get(0)), dayStart(days.get(days.size() - 1))))),
+                new Order("dayStart")));
+        for (DeviceRollup rollup : rollups) {
+            stored.put(rollup.getDayStart().getTime(), rollup);
+        }
+        return getRollups(device, days, stored);
+    }
+
+    /**
+     * Calculates and stores missing or outdated rollups of the day for all devices. Existing rollups are loaded with a
+     * single query.
+     */
+    public void updateRollups(Collection<Device> devices, LocalDate day) throws StorageException {
+        Map<Long, Map<Long, DeviceRollup>> stored = new HashMap<>();
+        var rollups = storage.getObjects(DeviceRollup.class, new Request(
+                new Columns.Include("id", "deviceId", "dayStart", "settings"),
+                new Condition.Equals("dayStart", dayStart(day))));
+        for (DeviceRollup rollup : rollups) {
+            stored.computeIfAbsent(rollup.getDeviceId(), key -> new HashMap<>())
+                    .put(rollup.getDayStart().getTime(), rollup);
+        }
+        List<LocalDate> days = List.of(day);
+        for (Device device : devices) {
+            getRollups(device, days, stored.getOrDefault(device.getId(), Map.of()));
+        }
+    }
+
+    private List<DeviceRollup> getRollups(
+            Device device, List<LocalDate> days, Map<Long, DeviceRollup> stored) throws StorageException {
+        String settings = getSettings(new TripsConfig(reportUtils.getAttributeProvider(device)));
+        List<DeviceRollup> result = new ArrayList<>();
+        for (LocalDate day : days) {
+            DeviceRollup rollup = stored.get(dayStart(day).getTime());
+            if (rollup == null || !settings.equals(rollup.getSettings())) {
+                DeviceRollup previous = rollup;
+                rollup = calculateRollup(device, day);
+                try {
+                    if (previous == null) {
+                        rollup.setId(storage.addObject(rollup, new Request(new Columns.Exclude("id"))));
+                    } else {
+                        rollup.setId(previous.getId());
+                        storage.updateObject(rollup, new Request(
+                                new Columns.Exclude("id"), new Condition.Equals("id", rollup.getId())));
+                    }
+                } catch (StorageException e) {
+                    LOGGER.warn("Rollup save error", e);
+                }
+            }
+            result.add(rollup);
+        }
+        return result;
+    }
+
+    /**
+     * Removes rollups of all days that overlap the period, so they are calculated again from the remaining positions.
+     */
+    public void removeRollups(long deviceId, Date from, Date to) throws StorageException {
+        storage.removeObject(DeviceRollup.class, new Request(Condition.merge(List.of(
+                new Condition.Equals("deviceId", deviceId),
+                new Condition.Between(
+                        "dayStart",
+                        dayStart(from.toInstant().atZone(ZoneOffset.UTC).toLocalDate()),
+                        dayStart(to.toInstant().atZone(ZoneOffset.UTC).toLocalDate()))))));
+    }
+
+    private Piece createPiece(Device device, Date from, Date to, Boolean trips) throws StorageException {
+        if (from.after(to)) {
+            return null;
+        }
+        var positions = positionStore.getPositions(device.getId(), from, to);
+        if (positions.isEmpty()) {
+            return null;
+        }
+        List<Part> parts = new ArrayList<>();
+        if (trips != null) {
+            TripsConfig tripsConfig = new TripsConfig(reportUtils.getAttributeProvider(device));
+            for (var segment : reportUtils.detectSegments(tripsConfig, positions, trips)) {
+                parts.add(new Part(
+                        segment.start().getFixTime(), segment.end().getFixTime(), segment.maxSpeed(),
+                        segment.start(), segment.end()));
+            }
+        }
+        Position first = positions.get(0);
+        Position last = positions.get(positions.size() - 1);
+        double maxSpeed = positions.stream().mapToDouble(Position::getSpeed).max().orElse(0);
+        return new Piece(first.getFixTime(), last.getFixTime(), maxSpeed, first, last, parts);
+    }
+
+    private static Piece createPiece(DeviceRollup rollup, Boolean trips) {
+        if (rollup.getStartTime() == null) {
+            return null;
+        }
+        List<Part> parts = new ArrayList<>();
+        if (trips != null) {
+            for (var segment : trips ? rollup.getTrips() : rollup.getStops()) {
+                parts.add(new Part(segment.getStartTime(), segment.getEndTime(), segment.getMaxSpeed(), null, null));
+            }
+        }
+        return new Piece(rollup.getStartTime(), rollup.getEndTime(), rollup.getMaxSpeed(), null, null, parts);
+    }
+
+    private List<Piece> createPieces(
+            Device device, Date from, Date to, List<LocalDate> days, Boolean trips) throws StorageException {
+        List<Piece> pieces = new ArrayList<>();
+        pieces.add(createPiece(device, from, new Date(dayStart(days.get(0)).getTime() - 1), trips));
+        for (DeviceRollup rollup : getRollups(device, days)) {
+            pieces.add(createPiece(rollup, trips));
+        }
+        pieces.add(createPiece(device, dayStart(days.get(days.size() - 1).plusDays(1)), to, trips));
+        pieces.removeIf(piece -> piece == null);
+        return pieces;
+    }
+
+    private Position getPosition(long deviceId, Position position, Date time, boolean end) throws StorageException {
+        return position != null ? position : positionStore.getEdgePosition(deviceId, time, time, end);
+    }
+
+    /**
+     * Returns first and last position of the period and the maximum speed, or {@code null} if there is no data.
+     */
+    public Summary getSummary(Device device, Date from, Date to, List<LocalDate> days) throws StorageException {
+        List<Piece> pieces = createPieces(device, from, to, days, null);
+        if (pieces.isEmpty()) {
+            return null;
+        }
+        Piece firstPiece = pieces.get(0);
+        Piece lastPiece = pieces.get(pieces.size() - 1);
+        Position first = getPosition(device.getId(), firstPiece.first(), firstPiece.firstTime(), false);
+        Position last = getPosition(device.getId(), lastPiece.last(), lastPiece.lastTime(), true);
+        if (first == null || last == null) {
+            return null;
+        }
+        double maxSpeed = pieces.stream().mapToDouble(Piece::maxSpeed).max().orElse(0);
+        return new Summary(first, last, maxSpeed);
+    }
+
+    /**
+     * Joins segments of consecutive pieces. A segment ending at the last position of a piece and a segment starting at
+     * the first position of the next piece are parts of one segment split by the day boundary.
+     */
+    public static List<Part> mergeParts(List<Piece> pieces) {
+        List<Part> parts = new ArrayList<>();
+        Piece previous = null;
+        for (Piece piece : pieces) {
+            List<Part> pieceParts = new ArrayList<>(piece.parts());
+            if (previous != null && !parts.isEmpty() && !pieceParts.isEmpty()) {
+                Part tail = parts.get(parts.size() - 1);
+                Part head = pieceParts.get(0);
+                if (tail.endTime().equals(previous.lastTime()) && head.startTime().equals(piece.firstTime())) {
+                    parts.set(parts.size() - 1, new Part(
+                            tail.startTime(), head.endTime(), Math.max(tail.maxSpeed(), head.maxSpeed()),
+                            tail.start(), head.end()));
+                    pieceParts.remove(0);
+                }
+            }
+            parts.addAll(pieceParts);
+            previous = piece;
+        }
+        return parts;
+    }
+
+    /**
+     * Returns trips or stops for the period. Segments that continue over a day boundary are merged.
+     */
+    public <T extends BaseReportItem> List<T> getTripsAndStops(
+            Device device, Date from, Date to, List<LocalDate> days, Class<T> reportClass) throws StorageException {
+
+        boolean trips = reportClass.equals(TripReportItem.class);
+        List<Part> parts = mergeParts(createPieces(device, from, to, days, trips));
+
+        List<T> result = new ArrayList<>();
+        boolean ignoreOdometer = new TripsConfig(reportUtils.getAttributeProvider(device)).getIgnoreOdometer();
+        for (Part part : parts) {
+            Position start = getPosition(device.getId(), part.start(), part.startTime(), false);
+            Position end = getPosition(device.getId(), part.end(), part.endTime(), true);
+            if (start != null && end != null) {
+                result.add(reportUtils.calculateTripOrStop(
+                        device, start, end, part.maxSpeed(), ignoreOdometer, reportClass));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Detects trips or stops using rollups when the period covers completed days and falls back to positions otherwise.
+     */
+    public <T extends BaseReportItem> List<T> detectTripsAndStops(
+            Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
+        List<LocalDate> days = getDays(from, to);
+        if (days.isEmpty()) {
+            return reportUtils.detectTripsAndStops(device, from, to, reportClass);
+        }
+        return getTripsAndStops(device, from, to, days, reportClass);
+    }
+
+}
@@ -18,16 +18,15 @@ package org.traccar.reports.common;
 
 import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.WorkbookUtil;
 import org.apache.velocity.app.VelocityEngine;
 import org.apache.velocity.tools.generic.DateTool;
 import org.apache.velocity.tools.generic.NumberTool;
 import org.jxls.area.Area;
 import org.jxls.builder.xls.XlsCommentAreaBuilder;
 import org.jxls.common.CellRef;
-import org.jxls.formula.StandardFormulaProcessor;
-import org.jxls.transform.Transformer;
 import org.jxls.transform.poi.PoiTransformer;
-import org.jxls.util.TransformerFactory;
 import org.traccar.api.security.PermissionsService;
 import org.traccar.config.Config;
 import org.traccar.config.Keys;
@@ -40,13 +39,17 @@ import org.traccar.model.BaseModel;
 import org.traccar.model.Device;
 import org.traccar.model.Driver;
 import org.traccar.model.Event;
+import org.traccar.model.Group;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.reports.model.BaseReportItem;
+import org.traccar.reports.model.DeviceReportSection;
 import org.traccar.reports.model.StopReportItem;
 import org.traccar.reports.model.TripReportItem;
+import org.traccar.session.cache.ChangeTracker;
 import org.traccar.session.state.MotionProcessor;
 import org.traccar.session.state.MotionState;
+import org.traccar.storage.PositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -59,29 +62,45 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public class ReportUtils {
 
+    private static final int EXCEL_ROW_WINDOW = 100;
+
+    public record Segment(Position start, Position end, double maxSpeed) {
+    }
+
     private final Config config;
     private final Storage storage;
+    private final PositionStore positionStore;
     private final PermissionsService permissionsService;
     private final VelocityEngine velocityEngine;
     private final Geocoder geocoder;
+    private final AttributeUtil.StorageCache attributeCache;
 
     @Inject
     public ReportUtils(
-            Config config, Storage storage, PermissionsService permissionsService,
-            VelocityEngine velocityEngine, @Nullable Geocoder geocoder) {
+            Config config, Storage storage, PositionStore positionStore, PermissionsService permissionsService,
+            VelocityEngine velocityEngine, ChangeTracker changeTracker, @Nullable Geocoder geocoder) {
         this.config = config;
         this.storage = storage;
+        this.positionStore = positionStore;
         this.permissionsService = permissionsService;
         this.velocityEngine = velocityEngine;
         this.geocoder = geocoder;
+        attributeCache = new AttributeUtil.StorageCache(config, storage, permissionsService, changeTracker);
+    }
+
+    public AttributeUtil.Provider getAttributeProvider(Device device) {
+        return attributeCache.getProvider(device);
     }
 
     public <T extends BaseModel> T getObject(long userId, Class<T> clazz, long objectId) {
@@ -153,18 +172,117 @@ public class ReportUtils {
         return context;
     }
 
+    /**
+     * Generates a report with a sheet per device. Rows are streamed to temporary files, so only a small window of
+     * rows is kept in memory. Template formulas are not recalculated because flushed rows can't be updated.
+     * <p>
+     * Device rows are loaded only when the device sheet is rendered and the stream is closed before the next device
+     * is loaded, so memory use depends neither on the number of devices nor on the number of rows.
+     */
     public void processTemplateWithSheets(
-            InputStream templateStream, OutputStream targetStream, org.jxls.common.Context context) throws IOException {
-
-        Transformer transformer = TransformerFactory.createTransformer(templateStream, targetStream);
-        List<Area> xlsAreas = new XlsCommentAreaBuilder(transformer).build();
-        for (Area xlsArea : xlsAreas) {
-            xlsArea.applyAt(new CellRef(xlsArea.getStartCellRef().getCellName()), context);
-            xlsArea.setFormulaProcessor(new StandardFormulaProcessor());
-            xlsArea.processFormulas();
+            InputStream templateStream, OutputStream targetStream, org.jxls.common.Context context,
+            Collection<Device> devices, ParallelReportExecutor.DeviceFunction<Stream<?>> loader)
+            throws StorageException, IOException {
+
+        List<String> sheetNames = new ArrayList<>();
+        Map<String, Integer> namesCount = new HashMap<>();
+        for (Device device : devices) {
+            int count = namesCount.merge(device.getName(), 1, Integer::sum);
+            String name = count > 1 ? device.getName() + '-' + count : device.getName();
+            sheetNames.add(WorkbookUtil.createSafeSheetName(name));
+        }
+
+        DeviceSections sections = new DeviceSections(devices, loader);
+        context.putVar("devices", sections);
+        context.putVar("sheetNames", sheetNames);
+
+        PoiTransformer transformer = PoiTransformer.createSxssfTransformer(
+                WorkbookFactory.create(templateStream), EXCEL_ROW_WINDOW, true);
+        transformer.setOutputStream(targetStream);
+        try (sections) {
+            List<Area> xlsAreas = new XlsCommentAreaBuilder(transformer).build();
+            for (Area xlsArea : xlsAreas) {
+                xlsArea.applyAt(new CellRef(xlsArea.getStartCellRef().getCellName()), context);
+            }
+            transformer.deleteSheet(xlsAreas.get(0).getStartCellRef().getSheetName());
+            transformer.write();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof StorageException storageException) {
+                throw storageException;
+            }
+            throw e;
+        }
+    }
+
+    private final class DeviceSections implements Iterable<DeviceReportSection>, AutoCloseable {
+
+        private final Collection<Device> devices;
+        private final ParallelReportExecutor.DeviceFunction<Stream<?>> loader;
+        private final ReportProgress progress = ReportProgress.current();
+        private Stream<?> current;
+
+        DeviceSections(Collection<Device> devices, ParallelReportExecutor.DeviceFunction<Stream<?>> loader) {
+            this.devices = devices;
+            this.loader = loader;
+            if (progress != null) {
+                progress.addTotal(devices.size());
+            }
+        }
+
+        private DeviceReportSection load(Device device) throws StorageException {
+            if (progress != null) {
+                progress.checkCancelled();
+            }
+            DeviceReportSection section = new DeviceReportSection();
+            section.setDeviceName(device.getName());
+            if (device.getGroupId() > 0) {
+                Group group = storage.getObject(Group.class, new Request(
+                        new Columns.All(), new Condition.Equals("id", device.getGroupId())));
+                if (group != null) {
+                    section.setGroupName(group.getName());
+                }
+            }
+            current = loader.apply(device);
+            section.setObjects(toIterable(current));
+            if (progress != null) {
+                progress.advance();
+            }
+            return section;
+        }
+
+        private static <T> Iterable<T> toIterable(Stream<T> stream) {
+            return stream::iterator;
+        }
+
+        @Override
+        public Iterator<DeviceReportSection> iterator() {
+            Iterator<Device> iterator = devices.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public DeviceReportSection next() {
+                    close();
+                    try {
+                        return load(iterator.next());
+                    } catch (StorageException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
         }
-        transformer.deleteSheet(xlsAreas.get(0).getStartCellRef().getSheetName());
-        transformer.write();
+
     }
 
     private TripReportItem calculateTrip(
@@ -266,7 +384,7 @@ public class ReportUtils {
     }
 
     @SuppressWarnings("unchecked")
-    private <T extends BaseReportItem> T calculateTripOrStop(
+    public <T extends BaseReportItem> T calculateTripOrStop(
             Device device, Position startPosition, Position endPosition, double maxSpeed,
             boolean ignoreOdometer, Class<T> reportClass) throws StorageException {
 
@@ -292,16 +410,29 @@ public class ReportUtils {
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
 
         List<T> result = new ArrayList<>();
-        TripsConfig tripsConfig = new TripsConfig(
-                new AttributeUtil.StorageProvider(config, storage, permissionsService, device));
+        TripsConfig tripsConfig = new TripsConfig(getAttributeProvider(device));
         boolean ignoreOdometer = tripsConfig.getIgnoreOdometer();
         boolean trips = reportClass.equals(TripReportItem.class);
 
+        var positions = positionStore.getPositions(device.getId(), from, to);
+        for (Segment segment : detectSegments(tripsConfig, positions, trips)) {
+            result.add(calculateTripOrStop(
+                    device, segment.start(), segment.end(), segment.maxSpeed(), ignoreOdometer, reportClass));
+        }
+        return result;
+    }
+
+    /**
+     * Detects trips or stops in positions ordered by fix time. Segment still in progress at the end of the list ends
+     * with the last position.
+     */
+    public List<Segment> detectSegments(TripsConfig tripsConfig, List<Position> positions, boolean trips) {
+
+        List<Segment> result = new ArrayList<>();
         List<Event> events = new ArrayList<>();
         Map<Long, Position> positionMap = new HashMap<>();
         Position startPosition = null;
         double maxSpeed = 0;
-        var positions = PositionUtil.getPositions(storage, device.getId(), from, to);
         if (!positions.isEmpty()) {
             MotionState motionState = new MotionState();
             boolean initialValue = positions.get(0).getBoolean(Position.KEY_MOTION);
@@ -334,18 +465,14 @@ public class ReportUtils {
             } else if (startPosition != null) {
                 Position endPosition = positionMap.get(event.getPositionId());
                 if (endPosition != null) {
-                    result.add(calculateTripOrStop(
-                            device, startPosition, endPosition,
-                            event.getDouble("maxSpeed"), ignoreOdometer, reportClass));
+                    result.add(new Segment(startPosition, endPosition, event.getDouble("maxSpeed")));
                 }
                 startPosition = null;
             }
         }
 
         if (startPosition != null) {
-            Position endPosition = positions.get(positions.size() - 1);
-            result.add(calculateTripOrStop(
-                    device, startPosition, endPosition, maxSpeed, ignoreOdometer, reportClass));
+            result.add(new Segment(startPosition, positions.get(positions.size() - 1), maxSpeed));
         }
 
         return result;
@@ -355,8 +482,7 @@ public class ReportUtils {
             Device device, Date from, Date to, Class<T> reportClass) throws StorageException {
 
         List<T> result = new ArrayList<>();
-        TripsConfig tripsConfig = new TripsConfig(
-                new AttributeUtil.StorageProvider(config, storage, permissionsService, device));
+        TripsConfig tripsConfig = new TripsConfig(getAttributeProvider(device));
         boolean ignoreOdometer = tripsConfig.getIgnoreOdometer();
         boolean trips = reportClass.equals(TripReportItem.class);
 
@@ -370,7 +496,7 @@ public class ReportUtils {
                                 new Condition.Equals("type", Event.TYPE_DEVICE_STOPPED)))),
                 new Order("eventTime")));
 
-        Position startPosition = PositionUtil.getEdgePosition(storage, device.getId(), from, to, false);
+        Position startPosition = positionStore.getEdgePosition(device.getId(), from, to, false);
         if (startPosition != null && !startPosition.getBoolean(Position.KEY_MOTION)) {
             startPosition = null;
         }
@@ -392,7 +518,7 @@ public class ReportUtils {
         }
 
         if (startPosition != null) {
-            Position endPosition = PositionUtil.getEdgePosition(storage, device.getId(), from, to, true);
+            Position endPosition = positionStore.getEdgePosition(device.getId(), from, to, true);
             result.add(calculateTripOrStop(
                     device, startPosition, endPosition, 0, ignoreOdometer, reportClass));
         }
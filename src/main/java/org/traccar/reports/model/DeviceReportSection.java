@@ -16,10 +16,6 @@
  */
 package org.traccar.reports.model;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
-
 public class DeviceReportSection {
 
     private String deviceName;
@@ -42,14 +38,14 @@ public class DeviceReportSection {
         this.groupName = groupName;
     }
 
-    private List<?> objects;
+    private Iterable<?> objects;
 
-    public Collection<?> getObjects() {
+    public Iterable<?> getObjects() {
         return objects;
     }
 
-    public void setObjects(Collection<?> objects) {
-        this.objects = new ArrayList<>(objects);
+    public void setObjects(Iterable<?> objects) {
+        this.objects = objects;
     }
 
 }
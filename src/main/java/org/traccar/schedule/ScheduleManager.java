@@ -48,7 +48,10 @@ public class ScheduleManager implements LifecycleObject {
                 TaskClearStatus.class,
                 TaskExpirations.class,
                 TaskDeleteTemporary.class,
+                TaskPartitions.class,
+                TaskRollups.class,
                 TaskReports.class,
+                TaskReportJobs.class,
                 TaskDeviceInactivityCheck.class,
                 TaskWebSocketKeepalive.class)
                 .forEachOrdered(taskClass -> {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import com.google.inject.Injector;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.storage.PartitionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskPartitions extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskPartitions.class);
+
+    private static final long CHECK_PERIOD_HOURS = 6;
+
+    private final Injector injector;
+    private final PartitionManager.Interval interval;
+    private final int ahead;
+    private final int retention;
+    private final boolean convert;
+
+    private Thread conversion;
+
+    @Inject
+    public TaskPartitions(Config config, Injector injector) {
+        this.injector = injector;
+        String partition = config.getString(Keys.DATABASE_PARTITION);
+        interval = partition != null ? PartitionManager.Interval.fromString(partition) : null;
+        ahead = config.getInteger(Keys.DATABASE_PARTITION_AHEAD);
+        retention = config.getInteger(Keys.DATABASE_PARTITION_RETENTION);
+        convert = config.getBoolean(Keys.DATABASE_PARTITION_CONVERT);
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (interval != null) {
+            executor.scheduleAtFixedRate(this, 0, CHECK_PERIOD_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    private boolean needsConversion(Connection connection, PartitionManager manager) throws SQLException {
+        return !manager.isPartitioned(connection) || manager.isConverting(connection);
+    }
+
+    private void maintain(Connection connection, PartitionManager manager) throws SQLException {
+        LocalDate today = LocalDate.now();
+        Map<String, LocalDateTime> partitions = manager.getPartitions(connection);
+        LocalDate lastBound = partitions.values().stream()
+                .max(LocalDateTime::compareTo).map(LocalDateTime::toLocalDate).orElse(interval.floor(today));
+        List<PartitionManager.Range> ranges = PartitionManager.getMissingRanges(interval, lastBound, today, ahead);
+        if (!ranges.isEmpty()) {
+            manager.createPartitions(connection, ranges);
+            LOGGER.info("Created {} positions partitions", ranges.size());
+        }
+
+        if (retention > 0) {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retention);
+            List<String> expired = partitions.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isAfter(cutoff))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!expired.isEmpty()) {
+                manager.dropPartitions(connection, expired);
+                LOGGER.info("Dropped expired positions partitions {}", expired);
+            }
+        }
+    }
+
+    private synchronized void startConversion() {
+        if (conversion != null && conversion.isAlive()) {
+            return;
+        }
+        // copying and index builds can take hours, so they must not hold the shared scheduler thread
+        conversion = new Thread(this::convert, "partition-conversion");
+        conversion.setDaemon(true);
+        conversion.start();
+    }
+
+    private void convert() {
+        try (Connection connection = injector.getInstance(DataSource.class).getConnection()) {
+            PartitionManager manager = PartitionManager.create(connection);
+            if (!manager.tryLock(connection)) {
+                LOGGER.info("Positions partitions maintenance is running on another node");
+                return;
+            }
+            try {
+                if (needsConversion(connection, manager)) {
+                    LOGGER.info("Converting positions table to partitioned, this can take a while");
+                    manager.convert(connection, interval.next(LocalDate.now()));
+                    LOGGER.info("Positions table conversion finished, {} can be disabled",
+                            Keys.DATABASE_PARTITION_CONVERT.getKey());
+                }
+                maintain(connection, manager);
+            } finally {
+                manager.unlock(connection);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Positions table conversion error", e);
+        }
+    }
+
+    @Override
+    public void run() {
+        try (Connection connection = injector.getInstance(DataSource.class).getConnection()) {
+            PartitionManager manager = PartitionManager.create(connection);
+            if (manager == null || !manager.isSupported(connection)) {
+                LOGGER.warn("Positions partitioning is not supported for this database");
+                return;
+            }
+
+            if (needsConversion(connection, manager)) {
+                if (convert) {
+                    startConversion();
+                } else {
+                    LOGGER.warn("Positions table is not partitioned, enable {} to convert it",
+                            Keys.DATABASE_PARTITION_CONVERT.getKey());
+                }
+                return;
+            }
+
+            if (!manager.tryLock(connection)) {
+                LOGGER.info("Positions partitions maintenance is running on another node");
+                return;
+            }
+            try {
+                maintain(connection, manager);
+            } finally {
+                manager.unlock(connection);
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Positions partitions maintenance error", e);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.schedule;
+
+import com.google.inject.Injector;
+import com.google.inject.servlet.RequestScoper;
+import com.google.inject.servlet.ServletScopes;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.reports.common.ReportRollups;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Request;
+
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class TaskRollups extends SingleScheduleTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskRollups.class);
+
+    private final Config config;
+    private final Storage storage;
+    private final Injector injector;
+
+    private Thread calculation;
+
+    @Inject
+    public TaskRollups(Config config, Storage storage, Injector injector) {
+        this.config = config;
+        this.storage = storage;
+        this.injector = injector;
+    }
+
+    @Override
+    public void schedule(ScheduledExecutorService executor) {
+        if (config.getBoolean(Keys.REPORT_ROLLUPS_ENABLE)) {
+            // a new day can be aggregated once the delay has passed after the end of the UTC day
+            long period = TimeUnit.DAYS.toMillis(1);
+            long delay = config.getLong(Keys.REPORT_ROLLUPS_DELAY) * 1000;
+            long initialDelay = period - Math.floorMod(System.currentTimeMillis() - delay, period);
+            executor.scheduleAtFixedRate(this, initialDelay, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void calculate() {
+        RequestScoper scope = ServletScopes.scopeRequest(Collections.emptyMap());
+        try (RequestScoper.CloseableScope ignored = scope.open()) {
+            ReportRollups reportRollups = injector.getInstance(ReportRollups.class);
+            reportRollups.updateRollups(
+                    storage.getObjects(Device.class, new Request(new Columns.All())), reportRollups.getLastDay());
+        } catch (StorageException e) {
+            LOGGER.warn("Rollups calculation error", e);
+        }
+    }
+
+    @Override
+    public synchronized void run() {
+        if (calculation != null && calculation.isAlive()) {
+            return;
+        }
+        // reading a day of positions for every device must not hold the shared scheduler thread
+        calculation = new Thread(this::calculate, "rollups-calculation");
+        calculation.setDaemon(true);
+        calculation.start();
+    }
+
+}
@@ -20,6 +20,7 @@ import io.netty.util.Timeout;
 import io.netty.util.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
 import org.traccar.Protocol;
 import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.broadcast.BroadcastService;
@@ -34,6 +35,7 @@ import org.traccar.model.LogRecord;
 import org.traccar.model.Position;
 import org.traccar.model.User;
 import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.ChangeTracker;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -44,6 +46,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
@@ -55,14 +58,18 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 @Singleton
-public class ConnectionManager implements BroadcastInterface {
+public class ConnectionManager implements BroadcastInterface, LifecycleObject {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionManager.class);
 
+    private static final long SWEEP_INTERVAL = 1;
+
     private final long deviceTimeout;
+    private final long updateInterval;
     private final boolean showUnknownDevices;
 
     private final Map<Long, DeviceSession> sessionsByDeviceId = new ConcurrentHashMap<>();
@@ -76,18 +83,23 @@ public class ConnectionManager implements BroadcastInterface {
     private final Timer timer;
     private final BroadcastService broadcastService;
     private final DeviceLookupService deviceLookupService;
+    private final ChangeTracker changeTracker;
 
     private final Map<Long, Set<UpdateListener>> listeners = new HashMap<>();
     private final Map<Long, Set<Long>> userDevices = new HashMap<>();
     private final Map<Long, Set<Long>> deviceUsers = new HashMap<>();
 
-    private final Map<Long, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> deadlines = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweepScheduled = new AtomicBoolean();
+
+    private final Map<Long, Device> pendingUpdates = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
     @Inject
     public ConnectionManager(
             Config config, CacheManager cacheManager, Storage storage,
             NotificationManager notificationManager, Timer timer, BroadcastService broadcastService,
-            DeviceLookupService deviceLookupService) {
+            DeviceLookupService deviceLookupService, ChangeTracker changeTracker) {
         this.config = config;
         this.cacheManager = cacheManager;
         this.storage = storage;
@@ -95,11 +107,23 @@ public class ConnectionManager implements BroadcastInterface {
         this.timer = timer;
         this.broadcastService = broadcastService;
         this.deviceLookupService = deviceLookupService;
+        this.changeTracker = changeTracker;
         deviceTimeout = config.getLong(Keys.STATUS_TIMEOUT);
+        updateInterval = config.getLong(Keys.STATUS_UPDATE_INTERVAL);
         showUnknownDevices = config.getBoolean(Keys.WEB_SHOW_UNKNOWN_DEVICES);
         broadcastService.registerListener(this);
     }
 
+    @Override
+    public void start() {
+    }
+
+    @Override
+    public void stop() {
+        // write last update time buffered by status.updateInterval before the database is closed
+        flushUpdates();
+    }
+
     public DeviceSession getDeviceSession(long deviceId) {
         return sessionsByDeviceId.get(deviceId);
     }
@@ -239,7 +263,8 @@ public class ConnectionManager implements BroadcastInterface {
         String oldStatus = device.getStatus();
         device.setStatus(status);
 
-        if (!status.equals(oldStatus)) {
+        boolean changed = !status.equals(oldStatus);
+        if (changed) {
             String eventType;
             Map<Event, Position> events = new HashMap<>();
             eventType = switch (status) {
@@ -255,18 +280,23 @@ public class ConnectionManager implements BroadcastInterface {
             device.setLastUpdate(time);
         }
 
-        Timeout timeout = timeouts.remove(deviceId);
-        if (timeout != null) {
-            timeout.cancel();
+        if (status.equals(Device.STATUS_ONLINE)) {
+            deadlines.put(deviceId, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(deviceTimeout));
+            if (sweepScheduled.compareAndSet(false, true)) {
+                timer.newTimeout(this::sweepDeadlines, SWEEP_INTERVAL, TimeUnit.SECONDS);
+            }
+        } else {
+            deadlines.remove(deviceId);
         }
 
-        if (status.equals(Device.STATUS_ONLINE)) {
-            timeouts.put(deviceId, timer.newTimeout(timeout1 -> {
-                if (!timeout1.isCancelled()) {
-                    deviceUnknown(deviceId);
-                }
-            }, deviceTimeout, TimeUnit.SECONDS));
+        if (!changed && updateInterval > 0) {
+            pendingUpdates.put(deviceId, device);
+            if (flushScheduled.compareAndSet(false, true)) {
+                timer.newTimeout(timeout -> flushUpdates(), updateInterval, TimeUnit.SECONDS);
+            }
+            return;
         }
+        pendingUpdates.remove(deviceId);
 
         try {
             storage.updateObject(device, new Request(
@@ -279,6 +309,42 @@ public class ConnectionManager implements BroadcastInterface {
         updateDevice(true, device);
     }
 
+    private void sweepDeadlines(Timeout timeout) {
+        try {
+            long now = System.currentTimeMillis();
+            for (var entry : deadlines.entrySet()) {
+                if (entry.getValue() <= now && deadlines.remove(entry.getKey(), entry.getValue())) {
+                    deviceUnknown(entry.getKey());
+                }
+            }
+        } finally {
+            timer.newTimeout(this::sweepDeadlines, SWEEP_INTERVAL, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Writes last update time of devices that reported without a status change since the previous flush.
+     */
+    public void flushUpdates() {
+        flushScheduled.set(false);
+        List<Device> devices = new ArrayList<>();
+        for (Device device : pendingUpdates.values()) {
+            if (pendingUpdates.remove(device.getId(), device)) {
+                devices.add(device);
+            }
+        }
+        if (!devices.isEmpty()) {
+            try {
+                storage.updateObjects(devices, new Columns.Include("lastUpdate"));
+            } catch (StorageException e) {
+                LOGGER.warn("Update device status error", e);
+            }
+            for (Device device : devices) {
+                updateDevice(true, device);
+            }
+        }
+    }
+
     public synchronized void sendKeepalive() {
         for (Set<UpdateListener> userListeners : listeners.values()) {
             for (UpdateListener listener : userListeners) {
@@ -292,9 +358,11 @@ public class ConnectionManager implements BroadcastInterface {
         if (local) {
             broadcastService.updateDevice(true, device);
         } else if (Device.STATUS_ONLINE.equals(device.getStatus())) {
-            timeouts.remove(device.getId());
+            deadlines.remove(device.getId());
+            pendingUpdates.remove(device.getId());
             removeDeviceSession(device.getId());
         }
+        changeTracker.updateDevice(device.getId());
         for (long userId : deviceUsers.getOrDefault(device.getId(), Collections.emptySet())) {
             if (listeners.containsKey(userId)) {
                 for (UpdateListener listener : listeners.get(userId)) {
@@ -309,6 +377,7 @@ public class ConnectionManager implements BroadcastInterface {
         if (local) {
             broadcastService.updatePosition(true, position);
         }
+        changeTracker.updateDevice(position.getDeviceId());
         for (long userId : deviceUsers.getOrDefault(position.getDeviceId(), Collections.emptySet())) {
             if (listeners.containsKey(userId)) {
                 for (UpdateListener listener : listeners.get(userId)) {
@@ -22,6 +22,7 @@ import org.slf4j.LoggerFactory;
 import org.traccar.broadcast.BroadcastInterface;
 import org.traccar.broadcast.BroadcastService;
 import org.traccar.config.Config;
+import org.traccar.config.Keys;
 import org.traccar.model.Attribute;
 import org.traccar.model.BaseModel;
 import org.traccar.model.Calendar;
@@ -38,6 +39,7 @@ import org.traccar.model.Position;
 import org.traccar.model.Schedulable;
 import org.traccar.model.Server;
 import org.traccar.model.User;
+import org.traccar.session.state.DeviceStateBuffer;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 import org.traccar.storage.query.Columns;
@@ -45,9 +47,11 @@ import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -62,18 +66,36 @@ public class CacheManager implements BroadcastInterface {
     private final Config config;
     private final Storage storage;
     private final BroadcastService broadcastService;
+    private final DeviceStateBuffer deviceStateBuffer;
+    private final PermissionIndex permissionIndex;
+    private final ChangeTracker changeTracker;
 
     private final CacheGraph graph = new CacheGraph();
 
     private volatile Server server;
     private final Map<Long, Position> devicePositions = new ConcurrentHashMap<>();
     private final Map<Long, HashSet<Object>> deviceReferences = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Object>> deviceAttributes = new ConcurrentHashMap<>();
+    private final AtomicLong attributeVersion = new AtomicLong();
+    private final Map<Long, PositionWindow> positionWindows = new ConcurrentHashMap<>();
+    private final Map<Long, NotificationRoutes> deviceRoutes = new ConcurrentHashMap<>();
+
+    private final int positionWindowSize;
+    private final long positionWindowPeriod;
 
     @Inject
-    public CacheManager(Config config, Storage storage, BroadcastService broadcastService) throws StorageException {
+    public CacheManager(
+            Config config, Storage storage, BroadcastService broadcastService,
+            DeviceStateBuffer deviceStateBuffer, PermissionIndex permissionIndex, ChangeTracker changeTracker)
+            throws StorageException {
         this.config = config;
         this.storage = storage;
         this.broadcastService = broadcastService;
+        this.deviceStateBuffer = deviceStateBuffer;
+        this.permissionIndex = permissionIndex;
+        this.changeTracker = changeTracker;
+        positionWindowSize = config.getInteger(Keys.FILTER_RELATIVE_CACHE_SIZE);
+        positionWindowPeriod = config.getLong(Keys.FILTER_RELATIVE_CACHE_PERIOD) * 1000;
         server = storage.getObject(Server.class, new Request(new Columns.All()));
         broadcastService.registerListener(this);
     }
@@ -104,6 +126,73 @@ public class CacheManager implements BroadcastInterface {
         return server;
     }
 
+    /**
+     * Returns resolved attribute values for a cached device or {@code null} if the device is not cached. Values are
+     * dropped when the device, any group or the server is updated.
+     */
+    public Map<String, Object> getAttributeCache(long deviceId) {
+        if (!deviceReferences.containsKey(deviceId)) {
+            return null;
+        }
+        return deviceAttributes.computeIfAbsent(deviceId, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Returns recent positions window for a cached device or {@code null} if the device is not cached or the window
+     * is disabled. The window is created on first use.
+     */
+    public PositionWindow getPositionWindow(long deviceId) {
+        if (positionWindowSize <= 0 || !deviceReferences.containsKey(deviceId)) {
+            return null;
+        }
+        return positionWindows.computeIfAbsent(
+                deviceId, k -> new PositionWindow(positionWindowSize, positionWindowPeriod, devicePositions.get(k)));
+    }
+
+    /**
+     * Returns version that changes with every attribute cache invalidation. Values resolved while the version changed
+     * might be stale and should not be cached.
+     */
+    public long getAttributeVersion() {
+        return attributeVersion.get();
+    }
+
+    private void invalidateAttributes(Class<?> clazz, long id) {
+        attributeVersion.incrementAndGet();
+        if (clazz.equals(Device.class)) {
+            deviceAttributes.remove(id);
+        } else if (clazz.equals(Group.class) || clazz.equals(Server.class)) {
+            deviceAttributes.clear();
+        }
+    }
+
+    private void invalidateRoutes(Class<?> clazz, long id) {
+        if (clazz.equals(Device.class)) {
+            deviceRoutes.remove(id);
+        } else if (clazz.equals(Notification.class) || clazz.equals(User.class) || clazz.equals(Group.class)) {
+            deviceRoutes.clear();
+        }
+    }
+
+    /**
+     * Returns notifications matching the event type and alarm together with their recipients. Routes of a cached
+     * device are kept until related links, notifications, users or groups change.
+     */
+    public List<NotificationRoutes.Route> getNotificationRoutes(long deviceId, String type, String alarm) {
+        NotificationRoutes routes = deviceRoutes.get(deviceId);
+        if (routes == null) {
+            synchronized (this) {
+                routes = new NotificationRoutes(
+                        getDeviceNotifications(deviceId),
+                        notification -> getNotificationUsers(notification.getId(), deviceId));
+                if (deviceReferences.containsKey(deviceId)) {
+                    deviceRoutes.put(deviceId, routes);
+                }
+            }
+        }
+        return routes.getRoutes(type, alarm);
+    }
+
     public Set<User> getNotificationUsers(long notificationId, long deviceId) {
         Set<User> deviceUsers = getDeviceObjects(deviceId, User.class);
         return graph.getObjects(Notification.class, notificationId, User.class, Set.of(), false)
@@ -123,6 +212,7 @@ public class CacheManager implements BroadcastInterface {
     public synchronized void addDevice(long deviceId, Object key) throws Exception {
         var references = deviceReferences.computeIfAbsent(deviceId, k -> new HashSet<>());
         if (references.isEmpty()) {
+            deviceStateBuffer.flush(deviceId);
             Device device = storage.getObject(Device.class, new Request(
                     new Columns.All(), new Condition.Equals("id", deviceId)));
             graph.addObject(device);
@@ -146,6 +236,10 @@ public class CacheManager implements BroadcastInterface {
             graph.removeObject(Device.class, deviceId);
             devicePositions.remove(deviceId);
             deviceReferences.remove(deviceId);
+            attributeVersion.incrementAndGet();
+            deviceAttributes.remove(deviceId);
+            positionWindows.remove(deviceId);
+            deviceRoutes.remove(deviceId);
         }
         LOGGER.debug("Cache remove device {} references {} key {}", deviceId, references.size(), key);
     }
@@ -163,10 +257,14 @@ public class CacheManager implements BroadcastInterface {
         if (local) {
             broadcastService.invalidateObject(true, clazz, id, operation);
         }
+        permissionIndex.invalidateObject(clazz, id, operation);
+        changeTracker.invalidateObject(clazz, id, operation);
 
         synchronized (this) {
             if (operation == ObjectOperation.DELETE) {
                 graph.removeObject(clazz, id);
+                invalidateAttributes(clazz, id);
+                invalidateRoutes(clazz, id);
             }
             if (operation != ObjectOperation.UPDATE) {
                 return;
@@ -174,9 +272,13 @@ public class CacheManager implements BroadcastInterface {
 
             if (clazz.equals(Server.class)) {
                 server = storage.getObject(Server.class, new Request(new Columns.All()));
+                invalidateAttributes(clazz, id);
                 return;
             }
 
+            if (clazz.equals(Device.class)) {
+                deviceStateBuffer.flush(id);
+            }
             var after = storage.getObject(clazz, new Request(
                     new Columns.All(), new Condition.Equals("id", id)));
             if (after == null) {
@@ -213,6 +315,8 @@ public class CacheManager implements BroadcastInterface {
             }
 
             graph.updateObject(after);
+            invalidateAttributes(clazz, id);
+            invalidateRoutes(clazz, id);
         }
     }
 
@@ -222,6 +326,8 @@ public class CacheManager implements BroadcastInterface {
         if (local) {
             broadcastService.invalidatePermission(true, clazz1, id1, clazz2, id2, link);
         }
+        permissionIndex.invalidatePermission(clazz1, id1, clazz2, id2);
+        changeTracker.invalidatePermission();
 
         synchronized (this) {
             if (clazz1.equals(User.class) && GroupedModel.class.isAssignableFrom(clazz2)) {
@@ -253,6 +359,15 @@ public class CacheManager implements BroadcastInterface {
         } else {
             graph.removeLink(fromClass, fromId, toClass, toId);
         }
+        if (fromClass.equals(Device.class)) {
+            invalidateRoutes(fromClass, fromId);
+        } else {
+            invalidateRoutes(toClass, toId);
+            invalidateRoutes(fromClass, fromId);
+        }
+        if (groupLink) {
+            invalidateAttributes(fromClass, fromId);
+        }
     }
 
     private void initializeCache(BaseModel object) throws Exception {
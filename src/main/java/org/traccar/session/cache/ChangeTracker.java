@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import jakarta.inject.Singleton;
+import org.traccar.model.Device;
+import org.traccar.model.Group;
+import org.traccar.model.ObjectOperation;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic versions of cached data. Every change takes a new value from a single counter, so a version computed for
+ * any set of objects only grows when something in that set changes.
+ */
+@Singleton
+public class ChangeTracker {
+
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final AtomicLong latestDeviceVersion = new AtomicLong();
+    private final Map<Class<?>, Long> classVersions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> deviceVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Records change of device state, including new positions.
+     */
+    public void updateDevice(long deviceId) {
+        long version = counter.incrementAndGet();
+        deviceVersions.put(deviceId, version);
+        latestDeviceVersion.accumulateAndGet(version, Math::max);
+    }
+
+    public void invalidateObject(Class<?> clazz, long id, ObjectOperation operation) {
+        if (clazz.equals(Group.class)) {
+            invalidatePermission();
+        } else if (clazz.equals(Device.class) && operation == ObjectOperation.UPDATE) {
+            updateDevice(id);
+        } else {
+            if (clazz.equals(Device.class) && operation == ObjectOperation.DELETE) {
+                deviceVersions.remove(id);
+            }
+            classVersions.put(clazz, counter.incrementAndGet());
+        }
+    }
+
+    /**
+     * Records change that can affect any collection, like a new permission link.
+     */
+    public void invalidatePermission() {
+        globalVersion.accumulateAndGet(counter.incrementAndGet(), Math::max);
+    }
+
+    public long getVersion(Class<?> clazz) {
+        return Math.max(globalVersion.get(), classVersions.getOrDefault(clazz, 0L));
+    }
+
+    public long getDeviceVersion() {
+        return latestDeviceVersion.get();
+    }
+
+    public long getDeviceVersion(Collection<Long> deviceIds) {
+        long version = 0;
+        for (long deviceId : deviceIds) {
+            version = Math.max(version, deviceVersions.getOrDefault(deviceId, 0L));
+        }
+        return version;
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import org.traccar.model.Event;
+import org.traccar.model.Notification;
+import org.traccar.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Notifications of a single device indexed by event type and alarm, with resolved recipients.
+ */
+public final class NotificationRoutes {
+
+    public record Route(Notification notification, Set<User> users, Set<String> notificators) {
+    }
+
+    private record Key(String type, String alarm) {
+    }
+
+    private final Map<Key, List<Route>> routes = new HashMap<>();
+
+    public NotificationRoutes(Collection<Notification> notifications, Function<Notification, Set<User>> usersLookup) {
+        for (Notification notification : notifications) {
+            Set<User> users = usersLookup.apply(notification);
+            if (users.isEmpty()) {
+                continue;
+            }
+            Route route = new Route(notification, users, Set.copyOf(notification.getNotificatorsTypes()));
+            if (notification.getType().equals(Event.TYPE_ALARM)) {
+                String alarms = notification.getString("alarms");
+                if (alarms != null) {
+                    Arrays.stream(alarms.split(",")).distinct()
+                            .forEach(alarm -> add(new Key(notification.getType(), alarm), route));
+                }
+            } else {
+                add(new Key(notification.getType(), null), route);
+            }
+        }
+    }
+
+    private void add(Key key, Route route) {
+        routes.computeIfAbsent(key, k -> new ArrayList<>()).add(route);
+    }
+
+    public List<Route> getRoutes(String type, String alarm) {
+        Key key = new Key(type, type.equals(Event.TYPE_ALARM) ? alarm : null);
+        return routes.getOrDefault(key, List.of());
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Group;
+import org.traccar.model.GroupedModel;
+import org.traccar.model.ManagedUser;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.User;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Identifiers of objects accessible by each user, including objects available through groups and managed users.
+ * Entries are loaded on first use and dropped when related objects or permissions are invalidated.
+ */
+@Singleton
+public class PermissionIndex {
+
+    private final Storage storage;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Long, Map<Class<?>, Set<Long>>> index = new ConcurrentHashMap<>();
+
+    @Inject
+    public PermissionIndex(Storage storage) {
+        this.storage = storage;
+    }
+
+    /**
+     * Returns identifiers of objects of the given class accessible by the user. For the {@link User} class the result
+     * contains users managed by the given user.
+     */
+    public Set<Long> getObjectIds(long userId, Class<? extends BaseModel> clazz) throws StorageException {
+        var userIndex = index.get(userId);
+        Set<Long> ids = userIndex != null ? userIndex.get(clazz) : null;
+        if (ids == null) {
+            long loadVersion = version.get();
+            Class<?> propertyClass = clazz.equals(User.class) ? ManagedUser.class : clazz;
+            ids = storage.getObjects(clazz, new Request(
+                    new Columns.Include("id"),
+                    new Condition.Permission(User.class, userId, propertyClass))).stream()
+                    .map(BaseModel::getId)
+                    .collect(Collectors.toUnmodifiableSet());
+            // result loaded concurrently with an invalidation might already be stale
+            if (version.get() == loadVersion) {
+                index.computeIfAbsent(userId, key -> new ConcurrentHashMap<>()).put(clazz, ids);
+            }
+        }
+        return ids;
+    }
+
+    public void invalidateObject(Class<?> clazz, long id, ObjectOperation operation) {
+        if (operation == ObjectOperation.ADD) {
+            // objects created in a group are visible to group members without a new permission
+            if (GroupedModel.class.isAssignableFrom(clazz)) {
+                invalidateClass(clazz);
+            }
+        } else if (clazz.equals(Group.class)) {
+            invalidateAll();
+        } else if (operation == ObjectOperation.DELETE) {
+            if (clazz.equals(User.class)) {
+                invalidateUser(id);
+            }
+            invalidateClass(clazz);
+        } else if (GroupedModel.class.isAssignableFrom(clazz)) {
+            invalidateClass(clazz);
+        }
+    }
+
+    public void invalidatePermission(Class<?> clazz1, long id1, Class<?> clazz2, long id2) {
+        if (clazz1.equals(User.class)) {
+            invalidateUser(id1);
+        } else if (clazz2.equals(User.class)) {
+            invalidateUser(id2);
+        } else {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateUser(long userId) {
+        version.incrementAndGet();
+        index.remove(userId);
+    }
+
+    private void invalidateClass(Class<?> clazz) {
+        version.incrementAndGet();
+        index.values().forEach(userIndex -> userIndex.remove(clazz));
+    }
+
+    private void invalidateAll() {
+        version.incrementAndGet();
+        index.clear();
+    }
+
+}
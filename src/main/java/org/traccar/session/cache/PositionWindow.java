@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.cache;
+
+import org.traccar.model.Position;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Recent positions of a device ordered by fix time. The window is complete from the {@code coveredFrom} time, which
+ * means any stored position with a later fix time is in the window, so preceding position lookups from that time can
+ * be answered without the database. Positions with the same fix time are kept in the order they were added.
+ */
+public class PositionWindow {
+
+    private record Key(long time, long sequence) {
+    }
+
+    private final int size;
+    private final long period;
+
+    private final TreeMap<Key, Position> positions = new TreeMap<>(
+            Comparator.comparingLong(Key::time).thenComparingLong(Key::sequence));
+    private long coveredFrom = Long.MIN_VALUE;
+    private long sequence;
+
+    /**
+     * @param latest latest stored position of the device or {@code null} if the device has no positions
+     */
+    public PositionWindow(int size, long period, Position latest) {
+        this.size = size;
+        this.period = period;
+        if (latest != null) {
+            coveredFrom = latest.getFixTime().getTime();
+            put(latest);
+        }
+    }
+
+    private void put(Position position) {
+        positions.put(new Key(position.getFixTime().getTime(), sequence++), position);
+    }
+
+    private void evict() {
+        long threshold = positions.lastKey().time() - period;
+        while (positions.size() > size || positions.firstKey().time() < threshold) {
+            positions.pollFirstEntry();
+            coveredFrom = Math.max(coveredFrom, positions.firstKey().time());
+        }
+    }
+
+    public synchronized long getCoveredFrom() {
+        return coveredFrom;
+    }
+
+    public synchronized boolean covers(Date date) {
+        return date.getTime() >= coveredFrom;
+    }
+
+    public synchronized Position getPreceding(Date date) {
+        Map.Entry<Key, Position> entry = positions.floorEntry(new Key(date.getTime(), Long.MAX_VALUE));
+        return entry != null ? entry.getValue() : null;
+    }
+
+    public synchronized void add(Position position) {
+        put(position);
+        evict();
+    }
+
+    /**
+     * Number of positions before the window start that can be added without evicting anything, or a negative value if
+     * positions from the given time would fall outside of the window period.
+     */
+    public synchronized int getBackfillCapacity(long from) {
+        if (!positions.isEmpty() && from < positions.lastKey().time() - period) {
+            return -1;
+        }
+        return size - positions.size();
+    }
+
+    /**
+     * Extends the window back to an earlier time with stored positions.
+     *
+     * @param loaded all stored positions with fix time from {@code from} up to the current window start
+     * @param from new window start or {@link Long#MIN_VALUE} if there are no earlier stored positions
+     * @param expected window start the positions were loaded for; nothing is added if the window moved since then
+     */
+    public synchronized void backfill(Collection<Position> loaded, long from, long expected) {
+        if (coveredFrom != expected || from >= coveredFrom) {
+            return;
+        }
+        for (Position position : loaded) {
+            if (position.getFixTime().getTime() < coveredFrom) {
+                put(position);
+            }
+        }
+        coveredFrom = from;
+        if (!positions.isEmpty()) {
+            evict();
+        }
+    }
+
+}
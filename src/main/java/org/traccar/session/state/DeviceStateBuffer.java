@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.session.state;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.LifecycleObject;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.helper.ReflectionCache;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.StorageException;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for device state columns. Changes from all processors are merged per device, so each device
+ * row is updated at most once per interval, and devices with the same set of changed columns are written as a
+ * single batch.
+ * <p>
+ * Writes for the same device are never reordered, because only one flush runs at a time and it always takes the
+ * latest merged values. Pending state is written on shutdown and before the device is reloaded from storage. If the
+ * process terminates abnormally, changes made since the last flush are lost, so the stored state can be up to one
+ * interval behind, the same as if those positions were never processed.
+ */
+@Singleton
+public class DeviceStateBuffer implements LifecycleObject {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceStateBuffer.class);
+
+    private static final class Pending {
+        private final Device device = new Device();
+        private final Set<String> columns = new TreeSet<>();
+    }
+
+    private final Storage storage;
+    private final long interval;
+    private final int batchSize;
+
+    private final Map<Long, Pending> pending = new LinkedHashMap<>();
+    private final Object flushLock = new Object();
+    private boolean flushScheduled;
+
+    private volatile ScheduledExecutorService executor;
+
+    @Inject
+    public DeviceStateBuffer(Config config, Storage storage) {
+        this.storage = storage;
+        interval = config.getLong(Keys.DATABASE_DEVICE_STATE_INTERVAL);
+        batchSize = config.getInteger(Keys.DATABASE_DEVICE_STATE_BATCH);
+    }
+
+    @Override
+    public void start() {
+        if (interval > 0) {
+            executor = Executors.newSingleThreadScheduledExecutor();
+            executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(interval, TimeUnit.MILLISECONDS);
+            executor = null;
+        }
+        flush();
+    }
+
+    private static void copy(Device source, Device target, String column) {
+        try {
+            Object value = ReflectionCache.getProperties(Device.class, "get").get(column).method().invoke(source);
+            ReflectionCache.getProperties(Device.class, "set").get(column).method().invoke(target, value);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Records new values of the given device columns. Values are copied, so the device object can be modified after
+     * the call.
+     */
+    public void update(Device device, String... columns) {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            try {
+                storage.updateObject(device, new Request(
+                        new Columns.Include(columns), new Condition.Equals("id", device.getId())));
+            } catch (StorageException e) {
+                LOGGER.warn("Update device state error", e);
+            }
+            return;
+        }
+
+        boolean scheduleFlush = false;
+        synchronized (pending) {
+            Pending record = pending.computeIfAbsent(device.getId(), key -> new Pending());
+            record.device.setId(device.getId());
+            for (String column : columns) {
+                copy(device, record.device, column);
+                record.columns.add(column);
+            }
+            if (pending.size() >= batchSize && !flushScheduled) {
+                flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+        if (scheduleFlush) {
+            executor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes pending state of a single device.
+     */
+    public void flush(long deviceId) {
+        synchronized (flushLock) {
+            Pending record;
+            synchronized (pending) {
+                record = pending.remove(deviceId);
+            }
+            if (record != null) {
+                write(Map.of(record.columns, List.of(record.device)));
+            }
+        }
+    }
+
+    /**
+     * Writes all pending state.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Set<String>, List<Device>> batches = new HashMap<>();
+            synchronized (pending) {
+                flushScheduled = false;
+                for (Pending record : pending.values()) {
+                    batches.computeIfAbsent(record.columns, key -> new ArrayList<>()).add(record.device);
+                }
+                pending.clear();
+            }
+            write(batches);
+        }
+    }
+
+    private void write(Map<Set<String>, List<Device>> batches) {
+        for (var entry : batches.entrySet()) {
+            try {
+                storage.updateObjects(entry.getValue(), new Columns.Include(entry.getKey().toArray(new String[0])));
+            } catch (StorageException e) {
+                LOGGER.warn("Update device state error", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import jakarta.inject.Inject;
+import org.traccar.model.BaseModel;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.model.User;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Order;
+import org.traccar.storage.query.Request;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class DatabasePositionStore implements PositionStore {
+
+    private final Storage storage;
+
+    @Inject
+    public DatabasePositionStore(Storage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public long addPosition(Position position) throws StorageException {
+        return storage.addObject(position, new Request(new Columns.Exclude("id")));
+    }
+
+    @Override
+    public Stream<Position> getPositionsStream(long deviceId, Date from, Date to) throws StorageException {
+        return storage.getObjectsStream(Position.class, new Request(
+                new Columns.All(),
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Between("fixTime", from, to)),
+                new Order("fixTime")));
+    }
+
+    @Override
+    public Position getEdgePosition(long deviceId, Date from, Date to, boolean end) throws StorageException {
+        return storage.getObject(Position.class, new Request(
+                new Columns.All(),
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Between("fixTime", from, to)),
+                new Order("fixTime", end, 1)));
+    }
+
+    /**
+     * Returns positions of all devices with id above the given one ordered by id.
+     */
+    public Stream<Position> getPositionsAfter(long positionId) throws StorageException {
+        return storage.getObjectsStream(Position.class, new Request(
+                new Columns.All(),
+                new Condition.Compare("id", ">", positionId),
+                new Order("id")));
+    }
+
+    public long getLastPositionId() throws StorageException {
+        Position position = storage.getObject(Position.class, new Request(
+                new Columns.Include("id"), new Order("id", true, 1)));
+        return position != null ? position.getId() : 0;
+    }
+
+    @Override
+    public List<Position> getLatestPositions(long userId) throws StorageException {
+        var devices = storage.getObjects(Device.class, new Request(
+                new Columns.Include("id"),
+                new Condition.Permission(User.class, userId, Device.class)));
+        var deviceIds = devices.stream().map(BaseModel::getId).collect(Collectors.toUnmodifiableSet());
+
+        var positions = storage.getObjects(Position.class, new Request(
+                new Columns.All(), new Condition.LatestPositions()));
+        return positions.stream()
+                .filter(position -> deviceIds.contains(position.getDeviceId()))
+                .toList();
+    }
+
+    @Override
+    public void removePositions(long deviceId, Date from, Date to) throws StorageException {
+        storage.removeObject(Position.class, new Request(
+                new Condition.And(
+                        new Condition.Equals("deviceId", deviceId),
+                        new Condition.Between("fixTime", from, to))));
+    }
+
+    @Override
+    public void removePosition(Position position) throws StorageException {
+        storage.removeObject(Position.class, new Request(new Condition.Equals("id", position.getId())));
+    }
+
+}
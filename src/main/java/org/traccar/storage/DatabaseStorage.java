@@ -31,6 +31,7 @@ import jakarta.inject.Inject;
 import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.function.Function;
@@ -127,6 +128,29 @@ public class DatabaseStorage extends Storage {
         }
     }
 
+    @Override
+    public <T extends BaseModel> void updateObjects(Collection<T> entities, Columns columns) throws StorageException {
+        if (entities.isEmpty()) {
+            return;
+        }
+        Class<?> clazz = entities.iterator().next().getClass();
+        List<String> columnNames = columns.getColumns(clazz, "get");
+        String query = "UPDATE " + getStorageName(clazz)
+                + " SET " + formatColumns(columnNames, c -> c + " = ?")
+                + " WHERE id = ?";
+        try {
+            QueryBuilder builder = QueryBuilder.create(config, dataSource, objectMapper, query);
+            for (T entity : entities) {
+                builder.setObject(entity, columnNames);
+                builder.setLong(columnNames.size(), entity.getId());
+                builder.addBatch();
+            }
+            builder.executeBatch();
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
     @Override
     public void removeObject(Class<?> clazz, Request request) throws StorageException {
         StringBuilder query = new StringBuilder("DELETE FROM ");
@@ -266,6 +290,19 @@ public class DatabaseStorage extends Storage {
                 result.append(condition.getColumn());
                 result.append(" BETWEEN ? AND ?");
 
+            } else if (genericCondition instanceof Condition.In condition) {
+
+                // identifiers are inlined to avoid database limits on the number of parameters
+                if (condition.getValues().isEmpty()) {
+                    result.append("1 = 0");
+                } else {
+                    result.append(condition.getColumn());
+                    result.append(" IN (");
+                    result.append(condition.getValues().stream()
+                            .map(String::valueOf).collect(Collectors.joining(", ")));
+                    result.append(")");
+                }
+
             } else if (genericCondition instanceof Condition.Binary condition) {
 
                 if (genericCondition instanceof Condition.Or) {
@@ -0,0 +1,699 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Position;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Keeps position history in append-only columnar segments, one file per device and day. History queries are served
+ * from segments. Recent positions are buffered in memory and written as a block once enough of them are collected.
+ * <p>
+ * Known limitation: every position is still written in full to the relational storage as well, because ids, latest
+ * positions, events and recovery depend on it, so each position is written twice. The store reduces history query
+ * cost, not write volume, and old rows have to be removed from the database by its own retention.
+ * <p>
+ * Checkpoint file keeps the id up to which all positions are written to segments. Positions after it are copied
+ * from the relational storage on start, so buffered positions are not lost if the server is killed.
+ */
+@Singleton
+public class LocalPositionStore implements PositionStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalPositionStore.class);
+
+    private static final int BLOCK_SIZE = 128;
+    private static final int RECOVERY_BATCH = 10_000;
+    private static final long FLUSH_INTERVAL = 60_000;
+    private static final String SEGMENT_EXTENSION = ".seg";
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final Comparator<Position> ORDER =
+            Comparator.comparing(Position::getFixTime).thenComparingLong(Position::getId);
+
+    private final DatabasePositionStore databaseStore;
+    private final ObjectMapper objectMapper;
+    private final Timer timer;
+    private final Path root;
+    private final Path checkpointFile;
+    private final long since;
+
+    private final Map<Long, DeviceSegments> devices = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> unflushed = new ConcurrentSkipListSet<>();
+    private final AtomicLong lastId = new AtomicLong();
+
+    private volatile Timeout timeout;
+    private volatile boolean stopped;
+
+    @Inject
+    public LocalPositionStore(
+            Config config, DatabasePositionStore databaseStore, ObjectMapper objectMapper, Timer timer)
+            throws IOException {
+        this.databaseStore = databaseStore;
+        this.objectMapper = objectMapper;
+        this.timer = timer;
+        root = Path.of(config.getString(Keys.DATABASE_POSITION_STORE_PATH));
+        checkpointFile = root.resolve("checkpoint");
+        Files.createDirectories(root);
+
+        // history before the store was enabled is only available in the database
+        Path sinceFile = root.resolve("since");
+        if (Files.exists(sinceFile)) {
+            since = Long.parseLong(Files.readString(sinceFile).trim());
+        } else {
+            since = System.currentTimeMillis();
+            Files.writeString(sinceFile, String.valueOf(since));
+        }
+    }
+
+    private static LocalDate getDay(long time) {
+        return Instant.ofEpochMilli(time).atZone(ZoneOffset.UTC).toLocalDate();
+    }
+
+    private static boolean inRange(Position position, long from, long to) {
+        long time = position.getFixTime().getTime();
+        return time >= from && time <= to;
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Consistent view of a single day. Segment is mapped and buffered positions are copied under the device lock, so
+     * a concurrent flush can neither lose nor duplicate positions.
+     */
+    private record DaySnapshot(ByteBuffer segment, String[] dictionary, List<Position> buffered) {
+        List<PositionBlock.Header> headers() {
+            return segment != null ? PositionBlock.scan(segment) : List.of();
+        }
+    }
+
+    private final class DeviceSegments {
+
+        private final long deviceId;
+        private final Path directory;
+        private final Path dictionaryFile;
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+        private final List<String> dictionaryPending = new ArrayList<>();
+        private final Set<LocalDate> validated = new HashSet<>();
+
+        private final List<Position> tail = new ArrayList<>();
+        private LocalDate tailDay;
+        private long tailStarted;
+
+        DeviceSegments(long deviceId) throws IOException {
+            this.deviceId = deviceId;
+            directory = root.resolve(String.valueOf(deviceId));
+            dictionaryFile = directory.resolve("dictionary");
+            if (Files.exists(dictionaryFile)) {
+                byte[] data = Files.readAllBytes(dictionaryFile);
+                int valid = 0;
+                try (ByteArrayInputStream input = new ByteArrayInputStream(data);
+                     DataInputStream dataInput = new DataInputStream(input)) {
+                    while (input.available() > 0) {
+                        String value = dataInput.readUTF();
+                        dictionaryIndex.put(value, dictionary.size());
+                        dictionary.add(value);
+                        valid = data.length - input.available();
+                    }
+                } catch (IOException e) {
+                    LOGGER.debug("Incomplete dictionary entry for device {}", deviceId);
+                }
+                if (valid < data.length) {
+                    truncate(dictionaryFile, data.length, valid);
+                }
+            }
+        }
+
+        private void truncate(Path file, long size, long valid) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+            LOGGER.warn("Truncated incomplete data in {} from {} to {} bytes", file, size, valid);
+        }
+
+        private Path getSegmentFile(LocalDate day) {
+            return directory.resolve(day.format(DAY_FORMATTER) + SEGMENT_EXTENSION);
+        }
+
+        private int lookup(String value) {
+            return dictionaryIndex.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                dictionaryPending.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+
+        /**
+         * Cuts off a partially written block left by a crash, otherwise blocks appended after it could not be read.
+         */
+        private void validate(LocalDate day) throws IOException {
+            Path file = getSegmentFile(day);
+            if (validated.add(day) && Files.exists(file)) {
+                long size = Files.size(file);
+                int valid = PositionBlock.validLength(map(file));
+                if (valid < size) {
+                    truncate(file, size, valid);
+                }
+            }
+        }
+
+        private void write(Path file, List<Position> positions, OpenOption... options) throws IOException {
+            Files.createDirectories(directory);
+            ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+            for (int i = 0; i < positions.size(); i += BLOCK_SIZE) {
+                blocks.write(PositionBlock.encode(
+                        positions.subList(i, Math.min(i + BLOCK_SIZE, positions.size())), this::lookup, objectMapper));
+            }
+            // dictionary entries have to be persisted before any block that references them
+            if (!dictionaryPending.isEmpty()) {
+                ByteArrayOutputStream entries = new ByteArrayOutputStream();
+                try (DataOutputStream dataOutput = new DataOutputStream(entries)) {
+                    for (String value : dictionaryPending) {
+                        dataOutput.writeUTF(value);
+                    }
+                }
+                Files.write(
+                        dictionaryFile, entries.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                dictionaryPending.clear();
+            }
+            try (FileChannel channel = FileChannel.open(file, options)) {
+                ByteBuffer buffer = ByteBuffer.wrap(blocks.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        synchronized void append(Position position) throws IOException {
+            LocalDate day = getDay(position.getFixTime().getTime());
+            if (!tail.isEmpty() && !day.equals(tailDay)) {
+                flush();
+            }
+            if (tail.isEmpty()) {
+                tailDay = day;
+                tailStarted = System.currentTimeMillis();
+            }
+            tail.add(position);
+            if (tail.size() >= BLOCK_SIZE) {
+                flush();
+            }
+        }
+
+        synchronized void flush() throws IOException {
+            if (tail.isEmpty()) {
+                return;
+            }
+            validate(tailDay);
+            write(getSegmentFile(tailDay), tail, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            for (Position position : tail) {
+                unflushed.remove(position.getId());
+            }
+            tail.clear();
+        }
+
+        synchronized void flushExpired(long now) throws IOException {
+            if (!tail.isEmpty() && now - tailStarted >= FLUSH_INTERVAL) {
+                flush();
+            }
+        }
+
+        /**
+         * Appends positions copied from the relational storage, skipping the ones that are already stored.
+         */
+        synchronized int recover(List<Position> positions) throws IOException {
+            long minId = positions.stream().mapToLong(Position::getId).min().orElse(0);
+            Set<Long> stored = new HashSet<>();
+            for (Position position : tail) {
+                stored.add(position.getId());
+            }
+            Set<LocalDate> days = new HashSet<>();
+            for (Position position : positions) {
+                days.add(getDay(position.getFixTime().getTime()));
+            }
+            for (LocalDate day : days) {
+                validate(day);
+                DaySnapshot snapshot = snapshot(day);
+                for (PositionBlock.Header header : snapshot.headers()) {
+                    if (header.maxId() >= minId) {
+                        for (Position position : PositionBlock.decode(
+                                snapshot.segment(), header, deviceId, snapshot.dictionary(), objectMapper)) {
+                            stored.add(position.getId());
+                        }
+                    }
+                }
+            }
+            int count = 0;
+            for (Position position : positions) {
+                if (!stored.contains(position.getId())) {
+                    unflushed.add(position.getId());
+                    append(position);
+                    count += 1;
+                }
+            }
+            return count;
+        }
+
+        synchronized DaySnapshot snapshot(LocalDate day) throws IOException {
+            List<Position> buffered = day.equals(tailDay) ? new ArrayList<>(tail) : List.of();
+            return new DaySnapshot(map(getSegmentFile(day)), dictionary.toArray(new String[0]), buffered);
+        }
+
+        Position getLast(long from, long to) throws IOException {
+            for (LocalDate day = getDay(to); !day.isBefore(getDay(from)); day = day.minusDays(1)) {
+                DaySnapshot snapshot = snapshot(day);
+                Position last = null;
+                for (Position position : snapshot.buffered()) {
+                    if (inRange(position, from, to) && (last == null || ORDER.compare(position, last) > 0)) {
+                        last = position;
+                    }
+                }
+                List<PositionBlock.Header> headers = new ArrayList<>(snapshot.headers());
+                headers.sort(Comparator.comparingLong(PositionBlock.Header::maxTime).reversed());
+                for (PositionBlock.Header header : headers) {
+                    if (header.minTime() > to || header.maxTime() < from) {
+                        continue;
+                    }
+                    if (last != null && header.maxTime() < last.getFixTime().getTime()) {
+                        break;
+                    }
+                    for (Position position : PositionBlock.decode(
+                            snapshot.segment(), header, deviceId, snapshot.dictionary(), objectMapper)) {
+                        if (inRange(position, from, to) && (last == null || ORDER.compare(position, last) > 0)) {
+                            last = position;
+                        }
+                    }
+                }
+                if (last != null) {
+                    return last;
+                }
+            }
+            return null;
+        }
+
+        synchronized void remove(long from, long to, Predicate<Position> filter) throws IOException {
+            tail.removeIf(position -> {
+                boolean matches = inRange(position, from, to) && filter.test(position);
+                if (matches) {
+                    unflushed.remove(position.getId());
+                }
+                return matches;
+            });
+            if (!Files.isDirectory(directory)) {
+                return;
+            }
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(file -> file.getFileName().toString().endsWith(SEGMENT_EXTENSION)).toList();
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                LocalDate day = LocalDate.parse(
+                        name.substring(0, name.length() - SEGMENT_EXTENSION.length()), DAY_FORMATTER);
+                if (day.isBefore(getDay(from)) || day.isAfter(getDay(to))) {
+                    continue;
+                }
+                DaySnapshot snapshot = snapshot(day);
+                List<Position> kept = new ArrayList<>();
+                boolean changed = false;
+                for (PositionBlock.Header header : snapshot.headers()) {
+                    for (Position position : PositionBlock.decode(
+                            snapshot.segment(), header, deviceId, snapshot.dictionary(), objectMapper)) {
+                        if (inRange(position, from, to) && filter.test(position)) {
+                            changed = true;
+                        } else {
+                            kept.add(position);
+                        }
+                    }
+                }
+                if (!changed) {
+                    continue;
+                }
+                if (kept.isEmpty()) {
+                    Files.delete(file);
+                } else {
+                    // readers keep the old file mapped, so the segment is replaced instead of being modified
+                    Path temporary = directory.resolve(name + ".tmp");
+                    kept.sort(ORDER);
+                    write(temporary, kept, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                            StandardOpenOption.WRITE);
+                    Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                validated.add(day);
+            }
+        }
+
+        synchronized void delete() throws IOException {
+            for (Position position : tail) {
+                unflushed.remove(position.getId());
+            }
+            tail.clear();
+            if (Files.isDirectory(directory)) {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Iterates over device positions in fix time order. Segments are mapped one day at a time and blocks are decoded
+     * only when the merge reaches their start time, so memory use does not depend on the size of the range.
+     */
+    private final class PositionIterator implements Iterator<Position> {
+
+        private final DeviceSegments segments;
+        private final long from;
+        private final long to;
+        private final LocalDate lastDay;
+        private LocalDate day;
+
+        private final PriorityQueue<Position> queue = new PriorityQueue<>(ORDER);
+        private final Deque<PositionBlock.Header> blocks = new ArrayDeque<>();
+        private DaySnapshot snapshot;
+
+        PositionIterator(DeviceSegments segments, long from, long to) {
+            this.segments = segments;
+            this.from = from;
+            this.to = to;
+            day = getDay(from);
+            lastDay = getDay(to);
+        }
+
+        private void openDay() throws IOException {
+            snapshot = segments.snapshot(day);
+            day = day.plusDays(1);
+            snapshot.buffered().stream().filter(position -> inRange(position, from, to)).forEach(queue::add);
+            snapshot.headers().stream()
+                    .filter(header -> header.maxTime() >= from && header.minTime() <= to)
+                    .sorted(Comparator.comparingLong(PositionBlock.Header::minTime))
+                    .forEach(blocks::add);
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (true) {
+                    while (!blocks.isEmpty()
+                            && (queue.isEmpty() || blocks.peek().minTime() <= queue.peek().getFixTime().getTime())) {
+                        for (Position position : PositionBlock.decode(
+                                snapshot.segment(), blocks.poll(), segments.deviceId,
+                                snapshot.dictionary(), objectMapper)) {
+                            if (inRange(position, from, to)) {
+                                queue.add(position);
+                            }
+                        }
+                    }
+                    if (!queue.isEmpty()) {
+                        return true;
+                    }
+                    if (day.isAfter(lastDay)) {
+                        return false;
+                    }
+                    openDay();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Position next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return queue.poll();
+        }
+
+    }
+
+    private DeviceSegments getDevice(long deviceId) throws StorageException {
+        try {
+            return devices.computeIfAbsent(deviceId, key -> {
+                try {
+                    return new DeviceSegments(key);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new StorageException(e.getCause());
+        }
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Long first = unflushed.ceiling(Long.MIN_VALUE);
+        long checkpoint = first != null ? first - 1 : lastId.get();
+        Path temporary = root.resolve("checkpoint.tmp");
+        Files.writeString(temporary, String.valueOf(checkpoint));
+        Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void recover() throws IOException, StorageException {
+        if (!Files.exists(checkpointFile)) {
+            lastId.set(databaseStore.getLastPositionId());
+            writeCheckpoint();
+            return;
+        }
+        long checkpoint = Long.parseLong(Files.readString(checkpointFile).trim());
+        lastId.accumulateAndGet(checkpoint, Math::max);
+        // backlog can be large after a long outage, so it is recovered in batches instead of loading it at once
+        Map<Long, List<Position>> pending = new HashMap<>();
+        int count = 0;
+        try (Stream<Position> positions = databaseStore.getPositionsAfter(checkpoint)) {
+            Iterator<Position> iterator = positions.iterator();
+            int size = 0;
+            while (iterator.hasNext()) {
+                Position position = iterator.next();
+                lastId.accumulateAndGet(position.getId(), Math::max);
+                if (position.getFixTime().getTime() >= since) {
+                    pending.computeIfAbsent(position.getDeviceId(), key -> new ArrayList<>()).add(position);
+                    size += 1;
+                }
+                if (size >= RECOVERY_BATCH || !iterator.hasNext()) {
+                    for (var entry : pending.entrySet()) {
+                        count += getDevice(entry.getKey()).recover(entry.getValue());
+                    }
+                    pending.clear();
+                    size = 0;
+                }
+            }
+        }
+        if (count > 0) {
+            LOGGER.info("Recovered {} positions that were not written to segments", count);
+        }
+    }
+
+    private void checkpoint(Timeout timeout) {
+        long now = System.currentTimeMillis();
+        for (DeviceSegments segments : devices.values()) {
+            try {
+                segments.flushExpired(now);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to flush positions for device {}", segments.deviceId, e);
+            }
+        }
+        try {
+            writeCheckpoint();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write positions checkpoint", e);
+        }
+        if (!stopped) {
+            this.timeout = timer.newTimeout(this::checkpoint, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public long addPosition(Position position) throws StorageException {
+        long id = databaseStore.addPosition(position);
+        position.setId(id);
+        unflushed.add(id);
+        lastId.accumulateAndGet(id, Math::max);
+        try {
+            getDevice(position.getDeviceId()).append(position);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+        return id;
+    }
+
+    @Override
+    public Stream<Position> getPositionsStream(long deviceId, Date from, Date to) throws StorageException {
+        Stream<Position> result = Stream.empty();
+        if (from.getTime() < since) {
+            result = databaseStore.getPositionsStream(
+                    deviceId, from, new Date(Math.min(to.getTime(), since - 1)));
+        }
+        long localFrom = Math.max(from.getTime(), since);
+        if (localFrom <= to.getTime()) {
+            Iterator<Position> iterator = new PositionIterator(getDevice(deviceId), localFrom, to.getTime());
+            result = Stream.concat(result, StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                    iterator, Spliterator.ORDERED | Spliterator.NONNULL), false));
+        }
+        return result;
+    }
+
+    @Override
+    public Position getEdgePosition(long deviceId, Date from, Date to, boolean end) throws StorageException {
+        long localFrom = Math.max(from.getTime(), since);
+        boolean local = localFrom <= to.getTime();
+        boolean database = from.getTime() < since;
+        Date databaseTo = new Date(Math.min(to.getTime(), since - 1));
+        try {
+            if (end) {
+                Position position = local ? getDevice(deviceId).getLast(localFrom, to.getTime()) : null;
+                if (position == null && database) {
+                    position = databaseStore.getEdgePosition(deviceId, from, databaseTo, true);
+                }
+                return position;
+            } else {
+                Position position = database ? databaseStore.getEdgePosition(deviceId, from, databaseTo, false) : null;
+                if (position == null && local) {
+                    PositionIterator iterator = new PositionIterator(getDevice(deviceId), localFrom, to.getTime());
+                    position = iterator.hasNext() ? iterator.next() : null;
+                }
+                return position;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public List<Position> getLatestPositions(long userId) throws StorageException {
+        return databaseStore.getLatestPositions(userId);
+    }
+
+    @Override
+    public void removePositions(long deviceId, Date from, Date to) throws StorageException {
+        databaseStore.removePositions(deviceId, from, to);
+        try {
+            getDevice(deviceId).remove(from.getTime(), to.getTime(), position -> true);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void removePosition(Position position) throws StorageException {
+        databaseStore.removePosition(position);
+        long time = position.getFixTime().getTime();
+        try {
+            getDevice(position.getDeviceId()).remove(time, time, stored -> stored.getId() == position.getId());
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void removeDevice(long deviceId) throws StorageException {
+        try {
+            getDevice(deviceId).delete();
+            devices.remove(deviceId);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        try {
+            recover();
+        } catch (IOException | StorageException e) {
+            LOGGER.warn("Failed to recover positions from the database", e);
+        }
+        timeout = timer.newTimeout(this::checkpoint, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        for (DeviceSegments segments : devices.values()) {
+            try {
+                segments.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to flush positions for device {}", segments.deviceId, e);
+            }
+        }
+        try {
+            writeCheckpoint();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write positions checkpoint", e);
+        }
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+class MysqlPartitionManager extends PartitionManager {
+
+    private static final String LEGACY = "p_legacy";
+    private static final String FUTURE = "p_future";
+
+    private static final String OLD_TABLE = TABLE + "_old";
+    private static final String NEW_TABLE = TABLE + "_new";
+    private static final String LOCK_NAME = "'" + TABLE + "_partitions'";
+
+    private static final int COPY_BATCH = 10000;
+    private static final long ID_GAP = 1000000;
+
+    private static final String PARTITIONS_QUERY = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION"
+            + " FROM information_schema.PARTITIONS"
+            + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '%s' AND PARTITION_NAME IS NOT NULL";
+
+    private final boolean timestamp;
+
+    MysqlPartitionManager(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); var resultSet = statement.executeQuery(
+                "SELECT DATA_TYPE FROM information_schema.COLUMNS"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + TABLE + "' AND COLUMN_NAME = 'fixtime'")) {
+            // TIMESTAMP columns can only be partitioned through UNIX_TIMESTAMP, DATETIME can be used directly
+            timestamp = resultSet.next() && resultSet.getString(1).equalsIgnoreCase("timestamp");
+        }
+    }
+
+    private static long queryLong(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement(); var resultSet = statement.executeQuery(query)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        return queryLong(connection, "SELECT COUNT(*) FROM information_schema.TABLES"
+                + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = '" + table + "'") > 0;
+    }
+
+    private String formatValue(LocalDate date) {
+        String bound = "'" + formatBound(date) + "'";
+        return timestamp ? "UNIX_TIMESTAMP(" + bound + ")" : bound;
+    }
+
+    private String formatPartition(String name, String value) {
+        return "PARTITION " + name + " VALUES LESS THAN (" + value + ")";
+    }
+
+    @Override
+    public boolean isSupported(Connection connection) {
+        return true;
+    }
+
+    @Override
+    public boolean tryLock(Connection connection) throws SQLException {
+        return queryLong(connection, "SELECT GET_LOCK(" + LOCK_NAME + ", 0)") == 1;
+    }
+
+    @Override
+    public void unlock(Connection connection) throws SQLException {
+        queryLong(connection, "SELECT RELEASE_LOCK(" + LOCK_NAME + ")");
+    }
+
+    private static boolean hasPartitions(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             var resultSet = statement.executeQuery(String.format(PARTITIONS_QUERY, table))) {
+            return resultSet.next();
+        }
+    }
+
+    @Override
+    public boolean isPartitioned(Connection connection) throws SQLException {
+        return hasPartitions(connection, TABLE);
+    }
+
+    @Override
+    public boolean isConverting(Connection connection) throws SQLException {
+        return tableExists(connection, OLD_TABLE);
+    }
+
+    private static void copy(Connection connection, String source, String target, long lastId) throws SQLException {
+        long copiedId = queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM " + target + " WHERE id <= " + lastId);
+        try (Statement statement = connection.createStatement()) {
+            while (copiedId < lastId) {
+                long toId = Math.min(copiedId + COPY_BATCH, lastId);
+                statement.execute("INSERT INTO " + target + " SELECT * FROM " + source
+                        + " WHERE id > " + copiedId + " AND id <= " + toId);
+                copiedId = toId;
+            }
+        }
+    }
+
+    private static long queryMaxId(Connection connection, String table) throws SQLException {
+        return queryLong(connection, "SELECT COALESCE(MAX(id), 0) FROM " + table);
+    }
+
+    @Override
+    public void convert(Connection connection, LocalDate cutover) throws SQLException {
+        // partitioning existing table rebuilds it under a write lock, so rows are copied into a new partitioned table
+        // first and the tables are swapped once the copy has caught up, the short tail is copied right after the swap
+        if (!tableExists(connection, OLD_TABLE)) {
+            if (!hasPartitions(connection, NEW_TABLE)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS " + NEW_TABLE);
+                    statement.execute("CREATE TABLE " + NEW_TABLE + " LIKE " + TABLE);
+                    // partitioning column has to be a part of every unique key
+                    statement.execute("ALTER TABLE " + NEW_TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, fixtime)"
+                            + " PARTITION BY RANGE "
+                            + (timestamp ? "(UNIX_TIMESTAMP(fixtime))" : "COLUMNS(fixtime)") + " ("
+                            + formatPartition(LEGACY, formatValue(cutover)) + ", "
+                            + formatPartition(FUTURE, "MAXVALUE") + ")");
+                }
+            }
+
+            long lastId;
+            do {
+                lastId = queryMaxId(connection, TABLE);
+                copy(connection, TABLE, NEW_TABLE, lastId);
+            } while (queryMaxId(connection, TABLE) - lastId > COPY_BATCH);
+
+            try (Statement statement = connection.createStatement()) {
+                // gap covers rows inserted before the swap, new rows must not reuse ids of the tail
+                long maxId = queryMaxId(connection, TABLE);
+                statement.execute("ALTER TABLE " + NEW_TABLE + " AUTO_INCREMENT = " + (maxId + ID_GAP));
+                statement.execute("RENAME TABLE " + TABLE + " TO " + OLD_TABLE + ", " + NEW_TABLE + " TO " + TABLE);
+            }
+        }
+
+        copy(connection, OLD_TABLE, TABLE, queryMaxId(connection, OLD_TABLE));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE " + OLD_TABLE);
+        }
+    }
+
+    @Override
+    public Map<String, LocalDateTime> getPartitions(Connection connection) throws SQLException {
+        Map<String, LocalDateTime> partitions = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             var resultSet = statement.executeQuery(String.format(PARTITIONS_QUERY, TABLE))) {
+            while (resultSet.next()) {
+                String description = resultSet.getString(2);
+                if (description.equals("MAXVALUE")) {
+                    continue;
+                }
+                LocalDateTime bound;
+                if (description.startsWith("'")) {
+                    bound = parseBound(description.substring(1, description.length() - 1));
+                } else {
+                    bound = LocalDateTime.ofInstant(
+                            Instant.ofEpochSecond(Long.parseLong(description)), ZoneId.systemDefault());
+                }
+                partitions.put(resultSet.getString(1), bound);
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public void createPartitions(Connection connection, List<Range> ranges) throws SQLException {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        // future partition normally stays empty, so reorganizing it is cheap
+        String partitions = ranges.stream()
+                .map(range -> formatPartition("p" + range.suffix(), formatValue(range.to())))
+                .collect(Collectors.joining(", "));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE + " INTO ("
+                    + partitions + ", " + formatPartition(FUTURE, "MAXVALUE") + ")");
+        }
+    }
+
+    @Override
+    public void dropPartitions(Connection connection, Collection<String> names) throws SQLException {
+        if (names.isEmpty()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", names));
+        }
+    }
+
+}
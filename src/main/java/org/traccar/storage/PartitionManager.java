@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains native range partitioning of the positions table by fix time.
+ */
+public abstract class PartitionManager {
+
+    public static final String TABLE = "tc_positions";
+
+    private static final DateTimeFormatter NAME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter BOUND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public enum Interval {
+        DAY, MONTH;
+
+        public LocalDate floor(LocalDate date) {
+            return this == DAY ? date : date.withDayOfMonth(1);
+        }
+
+        public LocalDate next(LocalDate date) {
+            return this == DAY ? floor(date).plusDays(1) : floor(date).plusMonths(1);
+        }
+
+        public static Interval fromString(String value) {
+            return Interval.valueOf(value.toUpperCase());
+        }
+    }
+
+    public record Range(LocalDate from, LocalDate to) {
+        public String suffix() {
+            return from.format(NAME_FORMATTER);
+        }
+    }
+
+    public static PartitionManager create(Connection connection) throws SQLException {
+        String databaseType = connection.getMetaData().getDatabaseProductName();
+        return switch (databaseType) {
+            case "PostgreSQL" -> new PostgresPartitionManager();
+            case "MySQL", "MariaDB" -> new MysqlPartitionManager(connection);
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns ranges that have to be created to cover everything up to {@code ahead} intervals after the current one.
+     */
+    public static List<Range> getMissingRanges(Interval interval, LocalDate lastBound, LocalDate today, int ahead) {
+        LocalDate target = interval.floor(today);
+        for (int i = 0; i <= ahead; i++) {
+            target = interval.next(target);
+        }
+        List<Range> ranges = new ArrayList<>();
+        LocalDate from = lastBound;
+        while (from.isBefore(target)) {
+            LocalDate to = interval.next(from);
+            ranges.add(new Range(from, to));
+            from = to;
+        }
+        return ranges;
+    }
+
+    protected static String formatBound(LocalDate date) {
+        return date.atStartOfDay().format(BOUND_FORMATTER);
+    }
+
+    protected static LocalDateTime parseBound(String value) {
+        return LocalDateTime.parse(value.replace(' ', 'T'));
+    }
+
+    /**
+     * Returns {@code false} if partitioning is not available, for example when the table is a TimescaleDB hypertable.
+     */
+    public abstract boolean isSupported(Connection connection) throws SQLException;
+
+    /**
+     * Takes a session level database lock, so that only one node maintains partitions at a time. Returns
+     * {@code false} without waiting if another connection holds the lock.
+     */
+    public abstract boolean tryLock(Connection connection) throws SQLException;
+
+    public abstract void unlock(Connection connection) throws SQLException;
+
+    public abstract boolean isPartitioned(Connection connection) throws SQLException;
+
+    /**
+     * Returns {@code true} if a previously started conversion still has to be finished.
+     */
+    public boolean isConverting(Connection connection) throws SQLException {
+        return false;
+    }
+
+    /**
+     * Converts existing table into a partitioned one. All existing data is kept in a single partition that covers
+     * everything before the cutover date. Steps are repeatable, so an interrupted conversion can be run again.
+     */
+    public abstract void convert(Connection connection, LocalDate cutover) throws SQLException;
+
+    /**
+     * Returns range partitions mapped to their exclusive upper bound. Catch-all partitions are not included.
+     */
+    public abstract Map<String, LocalDateTime> getPartitions(Connection connection) throws SQLException;
+
+    public abstract void createPartitions(Connection connection, List<Range> ranges) throws SQLException;
+
+    public abstract void dropPartitions(Connection connection, Collection<String> names) throws SQLException;
+
+}
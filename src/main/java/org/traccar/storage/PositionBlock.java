@@ -0,0 +1,451 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.traccar.model.AttributeMap;
+import org.traccar.model.Network;
+import org.traccar.model.Position;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Columnar encoding of a block of device positions. Times are delta encoded, coordinates are stored as fixed-point
+ * integers and strings, such as attribute keys, are replaced with indexes in a per-device dictionary.
+ */
+final class PositionBlock {
+
+    public static final int HEADER_LENGTH = Integer.BYTES * 2 + Long.BYTES * 3;
+
+    private static final double COORDINATE_SCALE = 1e7;
+
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_DOUBLE = 5;
+    private static final int TAG_STRING = 6;
+    private static final int TAG_JSON = 7;
+
+    private PositionBlock() {
+    }
+
+    /**
+     * Location of a complete block in a buffer. Time range and maximum id allow skipping blocks without decoding.
+     */
+    public record Header(int offset, int count, long minTime, long maxTime, long maxId) {
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        void writeInt(int value) {
+            write(value >>> 24);
+            write(value >>> 16);
+            write(value >>> 8);
+            write(value);
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeSigned(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length + 1);
+                write(bytes, 0, bytes.length);
+            }
+        }
+
+        void setInt(int index, int value) {
+            buf[index] = (byte) (value >>> 24);
+            buf[index + 1] = (byte) (value >>> 16);
+            buf[index + 2] = (byte) (value >>> 8);
+            buf[index + 3] = (byte) value;
+        }
+
+    }
+
+    private static long readVarLong(ByteBuffer buf) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buf.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long readSigned(ByteBuffer buf) {
+        long value = readVarLong(buf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = (int) readVarLong(buf) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long getTime(Date date, long defaultValue) {
+        return date != null ? date.getTime() : defaultValue;
+    }
+
+    /**
+     * Encodes positions into a block. Dictionary function returns index for a string and has to persist new entries
+     * before the block is written.
+     */
+    public static byte[] encode(
+            List<Position> positions, ToIntFunction<String> dictionary, ObjectMapper objectMapper)
+            throws IOException {
+
+        int count = positions.size();
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        long maxId = 0;
+        for (Position position : positions) {
+            minTime = Math.min(minTime, position.getFixTime().getTime());
+            maxTime = Math.max(maxTime, position.getFixTime().getTime());
+            maxId = Math.max(maxId, position.getId());
+        }
+
+        Output output = new Output(HEADER_LENGTH + count * 64);
+        output.writeInt(0);
+        output.writeInt(count);
+        output.writeLong(minTime);
+        output.writeLong(maxTime);
+        output.writeLong(maxId);
+
+        long previousTime = minTime;
+        for (Position position : positions) {
+            long fixTime = position.getFixTime().getTime();
+            output.writeSigned(fixTime - previousTime);
+            previousTime = fixTime;
+        }
+        for (Position position : positions) {
+            long fixTime = position.getFixTime().getTime();
+            output.writeSigned(getTime(position.getDeviceTime(), fixTime) - fixTime);
+        }
+        for (Position position : positions) {
+            long fixTime = position.getFixTime().getTime();
+            output.writeSigned(getTime(position.getServerTime(), fixTime) - fixTime);
+        }
+        long previousId = 0;
+        for (Position position : positions) {
+            output.writeSigned(position.getId() - previousId);
+            previousId = position.getId();
+        }
+        for (Position position : positions) {
+            output.writeInt((int) Math.round(position.getLatitude() * COORDINATE_SCALE));
+        }
+        for (Position position : positions) {
+            output.writeInt((int) Math.round(position.getLongitude() * COORDINATE_SCALE));
+        }
+        for (Position position : positions) {
+            output.writeLong(Double.doubleToLongBits(position.getAltitude()));
+            output.writeLong(Double.doubleToLongBits(position.getSpeed()));
+            output.writeLong(Double.doubleToLongBits(position.getCourse()));
+            output.writeLong(Double.doubleToLongBits(position.getAccuracy()));
+        }
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            if (positions.get(i).getValid()) {
+                valid |= 1 << (i % 8);
+            }
+            if (i % 8 == 7 || i == count - 1) {
+                output.write(valid);
+                valid = 0;
+            }
+        }
+        for (Position position : positions) {
+            String protocol = position.getProtocol();
+            output.writeVarLong(protocol != null ? dictionary.applyAsInt(protocol) + 1 : 0);
+        }
+        for (Position position : positions) {
+            output.writeString(position.getAddress());
+        }
+        AttributeMap.Visitor attributeWriter = new AttributeMap.Visitor() {
+            @Override
+            public void visitBoolean(String key, boolean value) {
+                output.writeVarLong(dictionary.applyAsInt(key));
+                output.write(value ? TAG_TRUE : TAG_FALSE);
+            }
+
+            @Override
+            public void visitInteger(String key, int value) {
+                output.writeVarLong(dictionary.applyAsInt(key));
+                output.write(TAG_INTEGER);
+                output.writeSigned(value);
+            }
+
+            @Override
+            public void visitLong(String key, long value) {
+                output.writeVarLong(dictionary.applyAsInt(key));
+                output.write(TAG_LONG);
+                output.writeSigned(value);
+            }
+
+            @Override
+            public void visitDouble(String key, double value) {
+                output.writeVarLong(dictionary.applyAsInt(key));
+                output.write(TAG_DOUBLE);
+                output.writeLong(Double.doubleToLongBits(value));
+            }
+
+            @Override
+            public void visitObject(String key, Object value) throws IOException {
+                if (value instanceof Boolean booleanValue) {
+                    visitBoolean(key, booleanValue);
+                } else if (value instanceof Integer integerValue) {
+                    visitInteger(key, integerValue);
+                } else if (value instanceof Long longValue) {
+                    visitLong(key, longValue);
+                } else if (value instanceof Double doubleValue) {
+                    visitDouble(key, doubleValue);
+                } else if (value instanceof String stringValue) {
+                    output.writeVarLong(dictionary.applyAsInt(key));
+                    output.write(TAG_STRING);
+                    output.writeString(stringValue);
+                } else {
+                    output.writeVarLong(dictionary.applyAsInt(key));
+                    output.write(TAG_JSON);
+                    output.writeString(objectMapper.writeValueAsString(value));
+                }
+            }
+        };
+        for (Position position : positions) {
+            Map<String, Object> attributes = position.getAttributes();
+            output.writeVarLong(attributes.size());
+            if (attributes instanceof AttributeMap attributeMap) {
+                attributeMap.visit(attributeWriter);
+            } else {
+                for (var entry : attributes.entrySet()) {
+                    attributeWriter.visitObject(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (Position position : positions) {
+            Network network = position.getNetwork();
+            output.writeString(network != null ? objectMapper.writeValueAsString(network) : null);
+        }
+        for (Position position : positions) {
+            List<Long> geofenceIds = position.getGeofenceIds();
+            if (geofenceIds == null) {
+                output.writeVarLong(0);
+            } else {
+                output.writeVarLong(geofenceIds.size() + 1);
+                for (long geofenceId : geofenceIds) {
+                    output.writeVarLong(geofenceId);
+                }
+            }
+        }
+
+        output.setInt(0, output.size() - Integer.BYTES);
+        return output.toByteArray();
+    }
+
+    /**
+     * Returns headers of all complete blocks in the buffer. Scanning stops at the first incomplete or malformed block,
+     * so the end of the last returned block is the valid length of the data.
+     */
+    public static List<Header> scan(ByteBuffer buf) {
+        List<Header> headers = new ArrayList<>();
+        int offset = buf.position();
+        while (buf.limit() - offset >= HEADER_LENGTH) {
+            int length = buf.getInt(offset);
+            int count = buf.getInt(offset + Integer.BYTES);
+            if (length < HEADER_LENGTH - Integer.BYTES || count <= 0 || buf.limit() - offset - Integer.BYTES < length) {
+                break;
+            }
+            long minTime = buf.getLong(offset + Integer.BYTES * 2);
+            long maxTime = buf.getLong(offset + Integer.BYTES * 2 + Long.BYTES);
+            long maxId = buf.getLong(offset + Integer.BYTES * 2 + Long.BYTES * 2);
+            headers.add(new Header(offset, count, minTime, maxTime, maxId));
+            offset += Integer.BYTES + length;
+        }
+        return headers;
+    }
+
+    /**
+     * Returns length of the data that consists of complete blocks.
+     */
+    public static int validLength(ByteBuffer buf) {
+        List<Header> headers = scan(buf);
+        if (headers.isEmpty()) {
+            return buf.position();
+        }
+        Header last = headers.get(headers.size() - 1);
+        return last.offset() + Integer.BYTES + buf.getInt(last.offset());
+    }
+
+    /**
+     * Decodes all positions of a single block in the stored order.
+     */
+    public static List<Position> decode(
+            ByteBuffer buf, Header header, long deviceId, String[] dictionary, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        ByteBuffer block = buf.duplicate();
+        block.position(header.offset() + HEADER_LENGTH);
+        return decodeBlock(block, deviceId, header.count(), header.minTime(), dictionary, objectMapper);
+    }
+
+    /**
+     * Decodes all blocks from the buffer and adds positions within the time range to the result. Incomplete trailing
+     * block is ignored.
+     */
+    public static void decode(
+            ByteBuffer buf, long deviceId, String[] dictionary, ObjectMapper objectMapper,
+            long from, long to, List<Position> result) throws JsonProcessingException {
+
+        for (Header header : scan(buf)) {
+            if (header.maxTime() >= from && header.minTime() <= to) {
+                for (Position position : decode(buf, header, deviceId, dictionary, objectMapper)) {
+                    long time = position.getFixTime().getTime();
+                    if (time >= from && time <= to) {
+                        result.add(position);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Position> decodeBlock(
+            ByteBuffer buf, long deviceId, int count, long minTime, String[] dictionary, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+
+        List<Position> positions = new ArrayList<>(count);
+        long[] fixTimes = new long[count];
+        long time = minTime;
+        for (int i = 0; i < count; i++) {
+            time += readSigned(buf);
+            fixTimes[i] = time;
+            Position position = new Position();
+            position.setDeviceId(deviceId);
+            position.setFixTime(new Date(time));
+            positions.add(position);
+        }
+        for (int i = 0; i < count; i++) {
+            positions.get(i).setDeviceTime(new Date(fixTimes[i] + readSigned(buf)));
+        }
+        for (int i = 0; i < count; i++) {
+            positions.get(i).setServerTime(new Date(fixTimes[i] + readSigned(buf)));
+        }
+        long id = 0;
+        for (Position position : positions) {
+            id += readSigned(buf);
+            position.setId(id);
+        }
+        for (Position position : positions) {
+            position.setLatitude(buf.getInt() / COORDINATE_SCALE);
+        }
+        for (Position position : positions) {
+            position.setLongitude(buf.getInt() / COORDINATE_SCALE);
+        }
+        for (Position position : positions) {
+            position.setAltitude(buf.getDouble());
+            position.setSpeed(buf.getDouble());
+            position.setCourse(buf.getDouble());
+            position.setAccuracy(buf.getDouble());
+        }
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            if (i % 8 == 0) {
+                valid = buf.get();
+            }
+            positions.get(i).setValid((valid & (1 << (i % 8))) != 0);
+        }
+        for (Position position : positions) {
+            int index = (int) readVarLong(buf);
+            position.setProtocol(index > 0 ? dictionary[index - 1] : null);
+        }
+        for (Position position : positions) {
+            position.setAddress(readString(buf));
+        }
+        for (Position position : positions) {
+            int size = (int) readVarLong(buf);
+            Map<String, Object> attributes = new AttributeMap();
+            for (int i = 0; i < size; i++) {
+                String key = dictionary[(int) readVarLong(buf)];
+                int tag = buf.get();
+                Object value = switch (tag) {
+                    case TAG_TRUE -> true;
+                    case TAG_FALSE -> false;
+                    case TAG_INTEGER -> (int) readSigned(buf);
+                    case TAG_LONG -> readSigned(buf);
+                    case TAG_DOUBLE -> buf.getDouble();
+                    case TAG_STRING -> readString(buf);
+                    case TAG_JSON -> objectMapper.readValue(readString(buf), Object.class);
+                    default -> throw new IllegalArgumentException("Unknown attribute tag " + tag);
+                };
+                attributes.put(key, value);
+            }
+            position.setAttributes(attributes);
+        }
+        for (Position position : positions) {
+            String network = readString(buf);
+            if (network != null) {
+                position.setNetwork(objectMapper.readValue(network, Network.class));
+            }
+        }
+        for (Position position : positions) {
+            int size = (int) readVarLong(buf) - 1;
+            if (size >= 0) {
+                List<Long> geofenceIds = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    geofenceIds.add(readVarLong(buf));
+                }
+                position.setGeofenceIds(geofenceIds);
+            }
+        }
+
+        return positions;
+    }
+
+}
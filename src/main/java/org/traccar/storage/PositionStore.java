@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import org.traccar.LifecycleObject;
+import org.traccar.model.Position;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Storage for position history. Relational storage is used by default, but history can also be kept in a dedicated
+ * time-series store.
+ */
+public interface PositionStore extends LifecycleObject {
+
+    /**
+     * Stores position and returns its assigned id.
+     */
+    long addPosition(Position position) throws StorageException;
+
+    /**
+     * Returns device positions in the given range ordered by fix time.
+     */
+    Stream<Position> getPositionsStream(long deviceId, Date from, Date to) throws StorageException;
+
+    default List<Position> getPositions(long deviceId, Date from, Date to) throws StorageException {
+        try (var positions = getPositionsStream(deviceId, from, to)) {
+            return positions.toList();
+        }
+    }
+
+    Position getEdgePosition(long deviceId, Date from, Date to, boolean end) throws StorageException;
+
+    List<Position> getLatestPositions(long userId) throws StorageException;
+
+    /**
+     * Removes device positions with fix time in the given range.
+     */
+    void removePositions(long deviceId, Date from, Date to) throws StorageException;
+
+    void removePosition(Position position) throws StorageException;
+
+    /**
+     * Removes history that is kept outside of the relational storage for a deleted device.
+     */
+    default void removeDevice(long deviceId) throws StorageException {
+    }
+
+    @Override
+    default void start() {
+    }
+
+    @Override
+    default void stop() {
+    }
+
+}
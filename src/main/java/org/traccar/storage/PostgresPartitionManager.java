@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Anton Tananaev (anton@traccar.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.traccar.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class PostgresPartitionManager extends PartitionManager {
+
+    private static final String LEGACY = TABLE + "_legacy";
+    private static final String DEFAULT = TABLE + "_default";
+    private static final String ID_INDEX = LEGACY + "_id_idx";
+    private static final String FIXTIME_INDEX = LEGACY + "_fixtime_idx";
+    private static final String BOUND_CHECK = LEGACY + "_fixtime_check";
+
+    private static final String LOCK_KEY = "hashtext('" + TABLE + "_partitions')";
+
+    private static final Pattern PATTERN_UPPER_BOUND = Pattern.compile("TO \\('([^']+)'\\)");
+
+    private interface Transaction {
+        void execute(Statement statement) throws SQLException;
+    }
+
+    private static void executeTransaction(Connection connection, Transaction transaction) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            transaction.execute(statement);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static String queryString(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement(); var resultSet = statement.executeQuery(query)) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    private static boolean queryBoolean(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement(); var resultSet = statement.executeQuery(query)) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    /**
+     * Builds index without blocking writes. Has to run outside of a transaction.
+     */
+    private static void createIndexConcurrently(Connection connection, String name, String columns)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // interrupted concurrent build leaves an invalid index behind
+            if (queryString(connection, "SELECT indexrelid FROM pg_index"
+                    + " WHERE indexrelid = to_regclass('" + name + "') AND NOT indisvalid") != null) {
+                statement.execute("DROP INDEX CONCURRENTLY " + name);
+            }
+            statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name
+                    + " ON " + TABLE + " (" + columns + ")");
+        }
+    }
+
+    @Override
+    public boolean isSupported(Connection connection) throws SQLException {
+        return queryString(connection, "SELECT extname FROM pg_extension WHERE extname = 'timescaledb'") == null;
+    }
+
+    @Override
+    public boolean tryLock(Connection connection) throws SQLException {
+        return queryBoolean(connection, "SELECT pg_try_advisory_lock(" + LOCK_KEY + ")");
+    }
+
+    @Override
+    public void unlock(Connection connection) throws SQLException {
+        queryBoolean(connection, "SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+    }
+
+    @Override
+    public boolean isPartitioned(Connection connection) throws SQLException {
+        return "p".equals(queryString(
+                connection, "SELECT relkind FROM pg_class WHERE oid = to_regclass('" + TABLE + "')"));
+    }
+
+    @Override
+    public void convert(Connection connection, LocalDate cutover) throws SQLException {
+        String sequence = queryString(connection, "SELECT pg_get_serial_sequence('" + TABLE + "', 'id')");
+        String bound = formatBound(cutover);
+
+        // fix time index is only needed to find rows after the cutover, id one becomes a part of the parent index
+        createIndexConcurrently(connection, ID_INDEX, "id");
+        createIndexConcurrently(connection, FIXTIME_INDEX, "fixtime");
+
+        // constraint applies to new rows right away, so rows after the cutover are moved while the table is locked
+        executeTransaction(connection, statement -> {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + DEFAULT + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+            statement.execute("ALTER TABLE " + TABLE + " DROP CONSTRAINT IF EXISTS " + BOUND_CHECK);
+            statement.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + BOUND_CHECK
+                    + " CHECK (fixtime < '" + bound + "') NOT VALID");
+            statement.execute("WITH moved AS (DELETE FROM " + TABLE + " WHERE fixtime >= '" + bound + "' RETURNING *)"
+                    + " INSERT INTO " + DEFAULT + " SELECT * FROM moved");
+        });
+
+        // validation scans the whole table, but does not block reads or writes
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE " + TABLE + " VALIDATE CONSTRAINT " + BOUND_CHECK);
+        }
+
+        // validated constraint lets attach skip the scan and existing indexes are attached instead of rebuilt
+        executeTransaction(connection, statement -> {
+            statement.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY);
+            statement.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY + " INCLUDING DEFAULTS)"
+                    + " PARTITION BY RANGE (fixtime)");
+            if (sequence != null) {
+                statement.execute("ALTER TABLE " + TABLE + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+            }
+            statement.execute("CREATE INDEX " + TABLE + "_deviceid_fixtime_idx ON " + TABLE + " (deviceid, fixtime)");
+            statement.execute("CREATE INDEX " + TABLE + "_id_idx ON " + TABLE + " (id)");
+            statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + bound + "')");
+            statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + DEFAULT + " DEFAULT");
+        });
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + FIXTIME_INDEX);
+        }
+    }
+
+    @Override
+    public Map<String, LocalDateTime> getPartitions(Connection connection) throws SQLException {
+        Map<String, LocalDateTime> partitions = new HashMap<>();
+        try (Statement statement = connection.createStatement(); var resultSet = statement.executeQuery(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+                + " JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = '" + TABLE + "'::regclass")) {
+            while (resultSet.next()) {
+                Matcher matcher = PATTERN_UPPER_BOUND.matcher(resultSet.getString(2));
+                if (matcher.find()) {
+                    partitions.put(resultSet.getString(1), parseBound(matcher.group(1)));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public void createPartitions(Connection connection, List<Range> ranges) throws SQLException {
+        for (Range range : ranges) {
+            String name = TABLE + "_p" + range.suffix();
+            String from = formatBound(range.from());
+            String to = formatBound(range.to());
+            // rows that ended up in the default partition have to be moved before the range can be attached
+            executeTransaction(connection, statement -> {
+                statement.execute("CREATE TABLE " + name + " (LIKE " + TABLE + " INCLUDING DEFAULTS)");
+                statement.execute("WITH moved AS (DELETE FROM " + DEFAULT
+                        + " WHERE fixtime >= '" + from + "' AND fixtime < '" + to + "' RETURNING *)"
+                        + " INSERT INTO " + name + " SELECT * FROM moved");
+                statement.execute("CREATE INDEX ON " + name + " (id)");
+                statement.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + name
+                        + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            });
+        }
+    }
+
+    @Override
+    public void dropPartitions(Connection connection, Collection<String> names) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                statement.execute("DROP TABLE " + name);
+            }
+        }
+    }
+
+}
@@ -349,6 +349,22 @@ public final class QueryBuilder {
         return 0;
     }
 
+    public QueryBuilder addBatch() throws SQLException {
+        return setValue(() -> statement.addBatch());
+    }
+
+    public void executeBatch() throws SQLException {
+        if (query != null) {
+            try {
+                logQuery();
+                statement.executeBatch();
+            } finally {
+                statement.close();
+                connection.close();
+            }
+        }
+    }
+
     public List<Permission> executePermissionsQuery() throws SQLException {
         List<Permission> result = new LinkedList<>();
         if (query != null) {
@@ -17,8 +17,11 @@ package org.traccar.storage;
 
 import org.traccar.model.BaseModel;
 import org.traccar.model.Permission;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
 import org.traccar.storage.query.Request;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -32,6 +35,15 @@ public abstract class Storage {
 
     public abstract <T> void updateObject(T entity, Request request) throws StorageException;
 
+    /**
+     * Updates selected columns of multiple objects matched by id.
+     */
+    public <T extends BaseModel> void updateObjects(Collection<T> entities, Columns columns) throws StorageException {
+        for (T entity : entities) {
+            updateObject(entity, new Request(columns, new Condition.Equals("id", entity.getId())));
+        }
+    }
+
     public abstract void removeObject(Class<?> clazz, Request request) throws StorageException;
 
     public abstract List<Permission> getPermissions(
@@ -17,6 +17,7 @@ package org.traccar.storage.query;
 
 import org.traccar.model.GroupedModel;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface Condition {
@@ -87,6 +88,24 @@ public interface Condition {
         }
     }
 
+    class In implements Condition {
+        private final String column;
+        private final Collection<Long> values;
+
+        public In(String column, Collection<Long> values) {
+            this.column = column;
+            this.values = values;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public Collection<Long> getValues() {
+            return values;
+        }
+    }
+
     class Or extends Binary {
         public Or(Condition first, Condition second) {
             super(first, second, "OR");
@@ -46,6 +46,7 @@ import org.traccar.LifecycleObject;
 import org.traccar.api.CorsResponseFilter;
 import org.traccar.api.DateParameterConverterProvider;
 import org.traccar.api.ResourceErrorHandler;
+import org.traccar.api.ResponseCacheFilter;
 import org.traccar.api.StreamWriter;
 import org.traccar.api.resource.ServerResource;
 import org.traccar.api.security.LoginService;
@@ -189,6 +190,7 @@ public class WebServer implements LifecycleObject {
                 DateParameterConverterProvider.class,
                 SecurityRequestFilter.class,
                 CorsResponseFilter.class,
+                ResponseCacheFilter.class,
                 ResourceErrorHandler.class,
                 StreamWriter.class);
         resourceConfig.packages(ServerResource.class.getPackage().getName());
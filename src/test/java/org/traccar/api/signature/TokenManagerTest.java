@@ -0,0 +1,57 @@
+package org.traccar.api.signature;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.config.Config;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.RevokedToken;
+import org.traccar.storage.Storage;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TokenManagerTest {
+
+    @Test
+    public void testVerifyCached() throws Exception {
+
+        var cryptoManager = mock(CryptoManager.class);
+        when(cryptoManager.sign(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cryptoManager.verify(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        var storage = mock(Storage.class);
+        when(storage.getObjectsStream(eq(RevokedToken.class), any())).thenReturn(Stream.empty());
+        var broadcastService = mock(BroadcastService.class);
+
+        var tokenManager = new TokenManager(
+                new Config(), new ObjectMapper(), cryptoManager, storage, broadcastService);
+
+        String first = tokenManager.generateToken(1);
+        String second = tokenManager.generateToken(2);
+
+        assertEquals(1, tokenManager.verifyToken(first).getUserId());
+        assertEquals(1, tokenManager.verifyToken(first).getUserId());
+        verify(cryptoManager, times(1)).verify(any());
+
+        tokenManager.revokeToken(first);
+        verify(broadcastService).invalidateObject(eq(true), eq(RevokedToken.class), anyLong(), any());
+        assertThrows(SecurityException.class, () -> tokenManager.verifyToken(first));
+
+        var data = tokenManager.verifyToken(second);
+        tokenManager.invalidateObject(false, RevokedToken.class, data.getId(), ObjectOperation.ADD);
+        assertThrows(SecurityException.class, () -> tokenManager.verifyToken(second));
+
+        verify(storage, times(1)).getObjectsStream(eq(RevokedToken.class), any());
+
+    }
+
+}
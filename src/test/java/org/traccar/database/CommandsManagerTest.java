@@ -0,0 +1,56 @@
+package org.traccar.database;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.ServerManager;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.command.CommandSenderManager;
+import org.traccar.model.QueuedCommand;
+import org.traccar.session.ConnectionManager;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.storage.Storage;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CommandsManagerTest {
+
+    @Test
+    public void testPendingDevices() throws Exception {
+
+        var storage = mock(Storage.class);
+        when(storage.getObjectsStream(eq(QueuedCommand.class), any())).thenReturn(Stream.empty());
+
+        QueuedCommand queuedCommand = new QueuedCommand();
+        queuedCommand.setId(10);
+        queuedCommand.setDeviceId(1);
+        queuedCommand.setType("custom");
+        when(storage.getObjects(eq(QueuedCommand.class), any())).thenReturn(List.of(queuedCommand));
+
+        var commandsManager = new CommandsManager(
+                storage, mock(ServerManager.class), null, mock(ConnectionManager.class),
+                mock(BroadcastService.class), mock(NotificationManager.class), mock(CacheManager.class),
+                mock(CommandSenderManager.class));
+
+        assertTrue(commandsManager.readQueuedCommands(1).isEmpty());
+        verify(storage, never()).getObjects(eq(QueuedCommand.class), any());
+
+        commandsManager.updateCommand(false, 1);
+
+        assertEquals(1, commandsManager.readQueuedCommands(1).size());
+        assertTrue(commandsManager.readQueuedCommands(1).isEmpty());
+        verify(storage, times(1)).getObjects(eq(QueuedCommand.class), any());
+        verify(storage, times(1)).getObjectsStream(eq(QueuedCommand.class), any());
+
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.traccar.forward;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.traccar.ProtocolTest;
+import org.traccar.model.Device;
+import org.traccar.model.Position;
+import org.traccar.protobuf.forward.ForwardMessages;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class ForwardSerializerTest extends ProtocolTest {
+
+    @Test
+    public void testProtobuf() throws Exception {
+
+        Position position = position("2016-01-01 01:02:03.000", true, 20, 30);
+        position.setGeofenceIds(List.of(5L));
+        position.set(Position.KEY_IGNITION, true);
+        position.set(Position.KEY_ODOMETER, 1000L);
+        position.set(Position.KEY_POWER, 12.5);
+        position.set(Position.KEY_DRIVER_UNIQUE_ID, "driver");
+
+        Device device = new Device();
+        device.setId(1);
+        device.setUniqueId("123456789012345");
+
+        PositionData positionData = new PositionData();
+        positionData.setPosition(position);
+        positionData.setDevice(device);
+
+        var serializer = new ForwardSerializer(new ObjectMapper(), "protobuf");
+        var decoded = ForwardMessages.PositionData.parseFrom(serializer.serialize(positionData));
+
+        assertEquals(1451610123000L, decoded.getPosition().getFixTime());
+        assertEquals(20, decoded.getPosition().getLatitude());
+        assertEquals(List.of(5L), decoded.getPosition().getGeofenceIdsList());
+        var attributes = decoded.getPosition().getAttributesMap();
+        assertEquals(true, attributes.get(Position.KEY_IGNITION).getBoolValue());
+        assertEquals(1000L, attributes.get(Position.KEY_ODOMETER).getLongValue());
+        assertEquals(12.5, attributes.get(Position.KEY_POWER).getDoubleValue());
+        assertEquals("driver", attributes.get(Position.KEY_DRIVER_UNIQUE_ID).getStringValue());
+        assertEquals("123456789012345", decoded.getDevice().getUniqueId());
+
+    }
+
+    @Test
+    public void testJson() throws Exception {
+
+        PositionData positionData = new PositionData();
+        positionData.setDevice(new Device());
+
+        var serializer = new ForwardSerializer(new ObjectMapper(), "json");
+        assertNull(serializer.getContentType());
+        assertEquals(
+                new ObjectMapper().writeValueAsString(positionData),
+                new String(serializer.serialize(positionData), StandardCharsets.UTF_8));
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.traccar.forward;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.traccar.EventLoopGroupFactory;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class NetworkForwarderTest {
+
+    private EventLoopGroupFactory eventLoopGroupFactory;
+
+    private NetworkForwarder createForwarder() throws Exception {
+        var config = new Config();
+        config.setString(Keys.SERVER_FORWARD, "127.0.0.1");
+        eventLoopGroupFactory = new EventLoopGroupFactory(config);
+        return new NetworkForwarder(config, eventLoopGroupFactory, mock(StatisticsManager.class));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (eventLoopGroupFactory != null) {
+            eventLoopGroupFactory.getBossGroup().shutdownGracefully().syncUninterruptibly();
+            eventLoopGroupFactory.getWorkerGroup().shutdownGracefully().syncUninterruptibly();
+        }
+    }
+
+    @Test
+    public void testForwardTcp() throws Exception {
+        var forwarder = createForwarder();
+        var source = new InetSocketAddress("127.0.0.2", 5000);
+        byte[] data = "##,imei:123456789012345,A;".getBytes(StandardCharsets.US_ASCII);
+
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            forwarder.forward(source, serverSocket.getLocalPort(), false, data);
+            forwarder.forward(source, serverSocket.getLocalPort(), false, data);
+            try (Socket socket = serverSocket.accept()) {
+                byte[] received = socket.getInputStream().readNBytes(data.length * 2);
+                assertArrayEquals(data, Arrays.copyOf(received, data.length));
+            }
+        }
+
+        forwarder.disconnect(source);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (forwarder.getQueuedBytes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(data.length * 2, forwarder.getForwardedBytes());
+    }
+
+    @Test
+    public void testForwardUdp() throws Exception {
+        var forwarder = createForwarder();
+        byte[] data = {0x01, 0x02, 0x03};
+
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            socket.setSoTimeout(5000);
+            forwarder.forward(new InetSocketAddress("127.0.0.2", 5000), socket.getLocalPort(), true, data);
+            DatagramPacket packet = new DatagramPacket(new byte[16], 16);
+            socket.receive(packet);
+            assertEquals(data.length, packet.getLength());
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package org.traccar.forward;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpoolLogTest {
+
+    private static byte[] data(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(SpoolLog log) {
+        return new String(log.read().data(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testReadCommit(@TempDir Path directory) throws Exception {
+        var log = new SpoolLog(directory, 1024);
+        log.append(data("one"));
+        log.append(data("two"));
+
+        assertEquals("one", read(log));
+        assertEquals("two", read(log));
+        assertNull(log.read());
+
+        log.rewind();
+        assertEquals("one", read(log));
+        log.commit(log.getReadOffset());
+        assertEquals("two", read(log));
+        log.commit(log.getReadOffset());
+        assertFalse(log.hasPending());
+        log.close();
+    }
+
+    @Test
+    public void testEmptyRecord(@TempDir Path directory) throws Exception {
+        var log = new SpoolLog(directory, 1024);
+        assertThrows(IllegalArgumentException.class, () -> log.append(new byte[0]));
+        log.append(data("one"));
+        assertEquals("one", read(log));
+        log.close();
+    }
+
+    @Test
+    public void testRecovery(@TempDir Path directory) throws Exception {
+        var log = new SpoolLog(directory, 1024);
+        log.append(data("one"));
+        log.append(data("two"));
+        read(log);
+        log.commit(log.getReadOffset());
+        log.close();
+
+        log = new SpoolLog(directory, 1024);
+        assertTrue(log.hasPending());
+        assertEquals("two", read(log));
+        assertNull(log.read());
+        log.close();
+    }
+
+    @Test
+    public void testRollover(@TempDir Path directory) throws Exception {
+        var log = new SpoolLog(directory, 64);
+        for (int i = 0; i < 10; i++) {
+            log.append(data("record " + i));
+        }
+        assertTrue(log.getSegmentCount() > 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("record " + i, read(log));
+        }
+        log.commit(log.getReadOffset());
+        assertEquals(1, log.getSegmentCount());
+        log.close();
+    }
+
+}
@@ -0,0 +1,73 @@
+package org.traccar.helper;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BufferParserTest {
+
+    private ByteBuf buffer(String data) {
+        return Unpooled.copiedBuffer(data, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void testFields() {
+        BufferParser parser = new BufferParser(buffer("abc,,12,-7,ff,  3.34,"), ',');
+        assertEquals(7, parser.count());
+        assertTrue(parser.nextEquals("abc"));
+        assertEquals(5, parser.nextInt(5));
+        assertEquals(12, parser.nextInt(0));
+        assertEquals(-7L, parser.nextLong(0));
+        assertEquals(255, parser.nextHexInt(0));
+        assertEquals(3.34, parser.nextDouble(0));
+        assertEquals("", parser.next());
+        assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void testNumbers() {
+        BufferParser parser = new BufferParser(buffer("0.1;123456789012345678901;x1"), ';');
+        assertEquals(Double.parseDouble("0.1"), parser.nextDouble(0));
+        assertEquals(123456789012345678901.0, parser.nextDouble(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextInt(0));
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        BufferParser parser = new BufferParser(buffer("NaN,1e5,-,1.2.3,Infinity,+5,12a"), ',');
+        assertThrows(NumberFormatException.class, () -> parser.nextDouble(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextDouble(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextDouble(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextDouble(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextDouble(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextInt(0));
+        assertThrows(NumberFormatException.class, () -> parser.nextLong(0));
+    }
+
+    @Test
+    public void testCoordinate() {
+        BufferParser parser = new BufferParser(buffer("2240.55181,S,11358.32389,E"), ',');
+        assertEquals(-(22 + 40.55181 / 60), parser.nextCoordinate());
+        assertEquals(113 + 58.32389 / 60, parser.nextCoordinate());
+    }
+
+    @Test
+    public void testInvalidCoordinate() {
+        assertThrows(NumberFormatException.class,
+                () -> new BufferParser(buffer("2240.55181,X"), ',').nextCoordinate());
+        assertThrows(NumberFormatException.class,
+                () -> new BufferParser(buffer("2240.55181,-"), ',').nextCoordinate());
+        assertThrows(NumberFormatException.class,
+                () -> new BufferParser(buffer("2240.55181,NS"), ',').nextCoordinate());
+        assertThrows(NumberFormatException.class,
+                () -> new BufferParser(buffer("-2240.55181,N"), ',').nextCoordinate());
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.traccar.helper.model;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.api.security.PermissionsService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.model.Group;
+import org.traccar.model.Server;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.ChangeTracker;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Request;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AttributeUtilTest {
+
+    @Test
+    public void testGroupLookup() {
+
+        Group group = new Group();
+        group.setId(2);
+        group.set(Keys.EVENT_MOTION_SPEED_THRESHOLD.getKey(), "1.5");
+
+        Device device = new Device();
+        device.setId(1);
+        device.setGroupId(2);
+
+        var cacheManager = mock(CacheManager.class);
+        when(cacheManager.getObject(Device.class, 1)).thenReturn(device);
+        when(cacheManager.getObject(Group.class, 2)).thenReturn(group);
+        when(cacheManager.getServer()).thenReturn(new Server());
+        when(cacheManager.getConfig()).thenReturn(new Config());
+
+        assertEquals(1.5, AttributeUtil.lookup(cacheManager, Keys.EVENT_MOTION_SPEED_THRESHOLD, 1));
+
+    }
+
+    @Test
+    public void testCachedLookup() {
+
+        Device device = new Device();
+        device.setId(1);
+
+        Map<String, Object> cache = new ConcurrentHashMap<>();
+        var cacheManager = mock(CacheManager.class);
+        when(cacheManager.getAttributeCache(1)).thenReturn(cache);
+        when(cacheManager.getObject(Device.class, 1)).thenReturn(device);
+        when(cacheManager.getServer()).thenReturn(new Server());
+        when(cacheManager.getConfig()).thenReturn(new Config());
+
+        assertNull(AttributeUtil.lookup(cacheManager, Keys.DEVICE_PASSWORD, 1));
+        assertNull(AttributeUtil.lookup(cacheManager, Keys.DEVICE_PASSWORD, 1));
+        verify(cacheManager, times(1)).getObject(Device.class, 1);
+
+        cache.clear();
+        device.set(Keys.DEVICE_PASSWORD.getKey(), "123456");
+        assertEquals("123456", AttributeUtil.lookup(cacheManager, Keys.DEVICE_PASSWORD, 1));
+        assertEquals("123456", AttributeUtil.lookup(cacheManager, Keys.DEVICE_PASSWORD, 1));
+        verify(cacheManager, times(2)).getObject(Device.class, 1);
+
+    }
+
+    @Test
+    public void testStorageCacheGroups() throws Exception {
+
+        Group group = new Group();
+        group.setId(2);
+        group.set(Keys.EVENT_MOTION_SPEED_THRESHOLD.getKey(), "1.5");
+
+        Device device = new Device();
+        device.setId(1);
+        device.setGroupId(2);
+
+        var storage = mock(Storage.class);
+        when(storage.getObject(eq(Group.class), any(Request.class))).thenReturn(group);
+        var permissionsService = mock(PermissionsService.class);
+        when(permissionsService.getServer()).thenReturn(new Server());
+
+        var cache = new AttributeUtil.StorageCache(new Config(), storage, permissionsService, new ChangeTracker());
+        assertEquals(group, cache.getProvider(device).getGroup(2));
+        assertEquals(group, cache.getProvider(device).getGroup(2));
+        verify(storage, times(1)).getObject(eq(Group.class), any(Request.class));
+
+    }
+
+}
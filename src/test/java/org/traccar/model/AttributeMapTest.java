@@ -0,0 +1,108 @@
+package org.traccar.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AttributeMapTest {
+
+    @Test
+    public void testMapBehavior() {
+        Map<String, Object> expected = new LinkedHashMap<>();
+        Map<String, Object> map = new AttributeMap();
+        for (Map<String, Object> target : List.of(expected, map)) {
+            target.put(Position.KEY_IGNITION, true);
+            target.put("custom", "value");
+            target.put(Position.KEY_ODOMETER, 1000L);
+            target.put(Position.KEY_SATELLITES, 7);
+            target.put(Position.KEY_POWER, 12.5);
+            target.put("nullable", null);
+            target.put(Position.KEY_IGNITION, false);
+            target.remove("custom");
+        }
+        assertEquals(expected, map);
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(map.keySet()));
+        assertInstanceOf(Integer.class, map.get(Position.KEY_SATELLITES));
+        assertInstanceOf(Long.class, map.get(Position.KEY_ODOMETER));
+        assertTrue(map.containsKey("nullable"));
+        assertNull(map.get("custom"));
+
+        map.entrySet().removeIf(entry -> entry.getValue() instanceof Boolean);
+        assertFalse(map.containsKey(Position.KEY_IGNITION));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void testModelAttributes() throws Exception {
+        Position position = new Position();
+        position.set(Position.KEY_SPEED_LIMIT, 50.0);
+        position.set(Position.KEY_EVENT, 3);
+        position.set("custom", "value");
+
+        assertEquals(50.0, position.getDouble(Position.KEY_SPEED_LIMIT));
+        assertEquals(3, position.getInteger(Position.KEY_EVENT));
+        assertEquals("value", position.getString("custom"));
+
+        var objectMapper = new ObjectMapper();
+        String json = objectMapper.writeValueAsString(position.getAttributes());
+        assertEquals("{\"speedLimit\":50.0,\"event\":3,\"custom\":\"value\"}", json);
+
+        Position decoded = new Position();
+        decoded.setAttributes(objectMapper.readValue(json, Map.class));
+        assertInstanceOf(AttributeMap.class, decoded.getAttributes());
+        assertEquals(position.getAttributes(), decoded.getAttributes());
+    }
+
+    @Test
+    public void testCustomKeys() {
+        Map<String, Object> map = new AttributeMap();
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+        map.remove("key3");
+        map.put("key20", 20);
+        assertEquals(20, map.size());
+        assertNull(map.get("key3"));
+        assertEquals(5, map.get("key5"));
+        assertEquals(20, map.get("key20"));
+    }
+
+    @Test
+    public void testConcurrentModification() {
+        Map<String, Object> map = new AttributeMap();
+        map.put(Position.KEY_IGNITION, true);
+        map.put("custom", "value");
+        assertThrows(ConcurrentModificationException.class, () -> {
+            for (String key : map.keySet()) {
+                map.put(key + "2", 1);
+            }
+        });
+    }
+
+    @Test
+    public void testTypedGetters() {
+        Position position = new Position();
+        position.set(Position.KEY_ODOMETER, 1000L);
+        position.set(Position.KEY_POWER, 12.5);
+        position.set("text", "42");
+        position.set(Position.KEY_IGNITION, true);
+
+        assertEquals(1000.0, position.getDouble(Position.KEY_ODOMETER));
+        assertEquals(12, position.getInteger(Position.KEY_POWER));
+        assertEquals(42, position.getLong("text"));
+        assertTrue(position.getBoolean(Position.KEY_IGNITION));
+        assertEquals(5.0, position.getDouble("missing", 5.0));
+    }
+
+}
@@ -0,0 +1,108 @@
+package org.traccar.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.StatisticsManager;
+import org.traccar.forward.SpoolLog;
+import org.traccar.model.Event;
+import org.traccar.model.User;
+import org.traccar.notificators.Notificator;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NotificationDispatcherTest {
+
+    @Test
+    public void testRetry() throws Exception {
+        BlockingQueue<NotificationTask> delivered = new LinkedBlockingQueue<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        var notificator = new Notificator(null) {
+            @Override
+            public List<NotificationTask> send(List<NotificationTask> tasks) {
+                if (failed.compareAndSet(false, true)) {
+                    return tasks;
+                }
+                delivered.addAll(tasks);
+                return List.of();
+            }
+        };
+
+        var notificatorManager = mock(NotificatorManager.class);
+        when(notificatorManager.getNotificator("test")).thenReturn(notificator);
+        var timer = mock(Timer.class);
+        when(timer.newTimeout(any(), anyLong(), any())).thenAnswer(invocation -> {
+            ((TimerTask) invocation.getArgument(0)).run(null);
+            return null;
+        });
+
+        var dispatcher = new NotificationDispatcher(
+                new Config(), notificatorManager, new ObjectMapper(), timer, mock(StatisticsManager.class));
+        User user = new User();
+        user.setId(1);
+        dispatcher.dispatch("test", null, user, new Event("test", 1), null);
+
+        NotificationTask task = delivered.poll(5, TimeUnit.SECONDS);
+        assertNotNull(task);
+        assertEquals(1, task.attempt());
+        assertEquals(1, task.user().getId());
+
+        dispatcher.stop();
+    }
+
+    @Test
+    public void testSpoolPendingRetry(@TempDir Path directory) throws Exception {
+        var notificator = new Notificator(null) {
+            @Override
+            public List<NotificationTask> send(List<NotificationTask> tasks) {
+                return tasks;
+            }
+        };
+
+        var notificatorManager = mock(NotificatorManager.class);
+        when(notificatorManager.getNotificator("test")).thenReturn(notificator);
+        CountDownLatch scheduled = new CountDownLatch(1);
+        var timer = mock(Timer.class);
+        when(timer.newTimeout(any(), anyLong(), any())).thenAnswer(invocation -> {
+            scheduled.countDown();
+            return null;
+        });
+
+        Config config = new Config();
+        config.setString(Keys.NOTIFICATOR_SPOOL_PATH, directory.toString());
+        var dispatcher = new NotificationDispatcher(
+                config, notificatorManager, new ObjectMapper(), timer, mock(StatisticsManager.class));
+        User user = new User();
+        user.setId(1);
+        dispatcher.dispatch("test", null, user, new Event("test", 1), null);
+
+        assertTrue(scheduled.await(5, TimeUnit.SECONDS));
+        dispatcher.stop();
+
+        SpoolLog spool = new SpoolLog(directory.resolve("test"), 4 * 1024 * 1024);
+        try {
+            assertTrue(spool.hasPending());
+        } finally {
+            spool.close();
+        }
+    }
+
+}
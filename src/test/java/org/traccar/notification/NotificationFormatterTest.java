@@ -0,0 +1,63 @@
+package org.traccar.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.traccar.MainModule;
+import org.traccar.api.signature.TokenManager;
+import org.traccar.config.Config;
+import org.traccar.database.LocaleManager;
+import org.traccar.model.Device;
+import org.traccar.model.Event;
+import org.traccar.model.Server;
+import org.traccar.model.User;
+import org.traccar.session.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class NotificationFormatterTest {
+
+    private User createUser(long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void testSharedMessage() throws Exception {
+
+        var config = new Config();
+        var tokenManager = mock(TokenManager.class);
+        when(tokenManager.generateToken(anyLong()))
+                .thenAnswer(invocation -> "token" + invocation.getArgument(0));
+
+        Device device = new Device();
+        device.setId(1);
+        device.setName("test");
+        var cacheManager = mock(CacheManager.class);
+        when(cacheManager.getServer()).thenReturn(new Server());
+        when(cacheManager.getObject(Device.class, 1)).thenReturn(device);
+
+        var localeManager = new LocaleManager(config, new ObjectMapper());
+        var textTemplateFormatter = new TextTemplateFormatter(
+                MainModule.provideVelocityEngine(config), tokenManager, localeManager, config);
+        var notificationFormatter = new NotificationFormatter(localeManager, cacheManager, textTemplateFormatter);
+
+        Event event = new Event(Event.TYPE_DEVICE_ONLINE, 1);
+        var first = notificationFormatter.formatMessage(null, createUser(1), event, null);
+        var second = notificationFormatter.formatMessage(null, createUser(2), event, null);
+
+        assertEquals("test: online", first.subject());
+        assertTrue(first.body().contains("token=token1"));
+        assertTrue(second.body().contains("token=token2"));
+        assertEquals(first.body().replace("token1", "token2"), second.body());
+        verify(tokenManager, times(2)).generateToken(anyLong());
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Position;
+import org.traccar.storage.PositionStore;
+import org.traccar.storage.Storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BinaryExportProviderTest {
+
+    private long readVarint(DataInputStream input) throws IOException {
+        long result = 0;
+        int shift = 0;
+        int value;
+        do {
+            value = input.readUnsignedByte();
+            result |= (long) (value & 0x7F) << shift;
+            shift += 7;
+        } while ((value & 0x80) != 0);
+        return result;
+    }
+
+    private long readLong(DataInputStream input, long previous) throws IOException {
+        long value = readVarint(input);
+        return previous + ((value >>> 1) ^ -(value & 1));
+    }
+
+    private String readString(DataInputStream input) throws IOException {
+        int length = (int) readVarint(input);
+        return length == 0 ? null : new String(input.readNBytes(length - 1), StandardCharsets.UTF_8);
+    }
+
+    private Position createPosition(long id, double speed, String event) {
+        Position position = new Position("test");
+        position.setId(id);
+        position.setTime(new Date(id * 1000));
+        position.setSpeed(speed);
+        if (event != null) {
+            position.set(Position.KEY_EVENT, event);
+        }
+        return position;
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+
+        var positionStore = mock(PositionStore.class);
+        when(positionStore.getPositionsStream(anyLong(), any(), any())).thenReturn(Stream.of(
+                createPosition(10, 1.5, "a"), createPosition(12, 2.5, null), createPosition(11, 0, "c")));
+
+        var output = new ByteArrayOutputStream();
+        new BinaryExportProvider(mock(Storage.class), positionStore).generate(
+                output, 1, 0, new Date(), new Date(), List.of("id", "fixTime", "speed", Position.KEY_EVENT));
+
+        var input = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())));
+        assertEquals(BinaryExportProvider.MAGIC, input.readInt());
+        assertEquals(BinaryExportProvider.VERSION, input.readByte());
+        assertEquals(4, readVarint(input));
+        assertEquals("id", input.readUTF());
+        assertEquals(BinaryExportProvider.TYPE_LONG, input.readByte());
+        assertEquals("fixTime", input.readUTF());
+        assertEquals(BinaryExportProvider.TYPE_LONG, input.readByte());
+        assertEquals("speed", input.readUTF());
+        assertEquals(BinaryExportProvider.TYPE_DOUBLE, input.readByte());
+        assertEquals(Position.KEY_EVENT, input.readUTF());
+        assertEquals(BinaryExportProvider.TYPE_STRING, input.readByte());
+
+        assertEquals(3, readVarint(input));
+        long id = 0;
+        for (long expected : new long[] {10, 12, 11}) {
+            id = readLong(input, id);
+            assertEquals(expected, id);
+        }
+        long time = 0;
+        for (long expected : new long[] {10000, 12000, 11000}) {
+            time = readLong(input, time);
+            assertEquals(expected, time);
+        }
+        assertEquals(1.5, input.readDouble());
+        assertEquals(2.5, input.readDouble());
+        assertEquals(0, input.readDouble());
+        assertEquals("a", readString(input));
+        assertNull(readString(input));
+        assertEquals("c", readString(input));
+        assertEquals(0, readVarint(input));
+        assertEquals(-1, input.read());
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.reports.common.ParallelReportExecutor;
+import org.traccar.storage.StorageException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelReportExecutorTest {
+
+    private Device createDevice(long id) {
+        Device device = new Device();
+        device.setId(id);
+        return device;
+    }
+
+    @Test
+    public void testOrderAndConcurrency() throws Exception {
+
+        var config = new Config();
+        config.setString(Keys.REPORT_THREADS, "8");
+        config.setString(Keys.REPORT_CONCURRENCY, "3");
+        var parallelExecutor = new ParallelReportExecutor(config);
+
+        var devices = LongStream.rangeClosed(1, 50).mapToObj(this::createDevice).toList();
+        var active = new AtomicInteger();
+        var maxActive = new AtomicInteger();
+
+        List<Long> result = parallelExecutor.map(devices, device -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(51 - device.getId());
+            } catch (InterruptedException e) {
+                throw new StorageException(e);
+            } finally {
+                active.decrementAndGet();
+            }
+            return device.getId();
+        });
+
+        assertEquals(LongStream.rangeClosed(1, 50).boxed().toList(), result);
+        assertTrue(maxActive.get() <= 3);
+
+    }
+
+    @Test
+    public void testException() {
+
+        var config = new Config();
+        config.setString(Keys.REPORT_CONCURRENCY, "2");
+        var parallelExecutor = new ParallelReportExecutor(config);
+
+        var devices = List.of(createDevice(1), createDevice(2), createDevice(3));
+        assertThrows(StorageException.class, () -> parallelExecutor.map(devices, device -> {
+            if (device.getId() == 2) {
+                throw new StorageException("test");
+            }
+            return device.getId();
+        }));
+
+    }
+
+}
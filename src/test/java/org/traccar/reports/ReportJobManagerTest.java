@@ -0,0 +1,85 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.reports.common.ReportJobManager;
+import org.traccar.reports.model.ReportJob;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportJobManagerTest {
+
+    private ReportJob waitForJob(ReportJobManager manager, long userId, String id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ReportJob job = manager.getStatus(userId, id);
+            if (job.getCompletionTime() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report job timeout");
+    }
+
+    @Test
+    public void testDeduplication() throws Exception {
+
+        var manager = new ReportJobManager(new Config());
+        var executions = new AtomicInteger();
+
+        var first = manager.submit(1, "summary", "key", stream -> {
+            executions.incrementAndGet();
+            stream.write(new byte[] {1, 2, 3});
+        });
+        var second = manager.submit(1, "summary", "key", stream -> executions.incrementAndGet());
+        var other = manager.submit(2, "summary", "key", stream -> executions.incrementAndGet());
+
+        assertEquals(first.getId(), second.getId());
+        assertNotEquals(first.getId(), other.getId());
+        assertNull(manager.getStatus(2, first.getId()));
+
+        assertEquals(ReportJob.STATUS_COMPLETED, waitForJob(manager, 1, first.getId()).getStatus());
+        waitForJob(manager, 2, other.getId());
+        assertEquals(2, executions.get());
+        assertArrayEquals(new byte[] {1, 2, 3}, Files.readAllBytes(manager.getFile(1, first.getId())));
+
+        var file = manager.getFile(1, first.getId());
+        assertTrue(manager.cancel(1, first.getId()));
+        assertFalse(Files.exists(file));
+        assertNull(manager.getStatus(1, first.getId()));
+
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+
+        var manager = new ReportJobManager(new Config());
+        var started = new CountDownLatch(1);
+        var job = manager.submit(1, "trips", "key", stream -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        });
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertEquals(ReportJob.STATUS_RUNNING, manager.getStatus(1, job.getId()).getStatus());
+        assertTrue(manager.cancel(1, job.getId()));
+        assertNull(manager.getStatus(1, job.getId()));
+        assertFalse(manager.cancel(1, job.getId()));
+
+    }
+
+}
@@ -0,0 +1,72 @@
+package org.traccar.reports;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.reports.common.ReportRollups;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportRollupsTest {
+
+    private Date date(String time) {
+        return Date.from(Instant.parse(time));
+    }
+
+    @Test
+    public void testGetDays() {
+
+        var config = new Config();
+        assertTrue(new ReportRollups(config, null, null, null)
+                .getDays(date("2020-01-01T12:00:00Z"), date("2020-01-10T12:00:00Z")).isEmpty());
+
+        config.setString(Keys.REPORT_ROLLUPS_ENABLE, "true");
+        var reportRollups = new ReportRollups(config, null, null, null);
+
+        assertEquals(
+                List.of(LocalDate.of(2020, 1, 2), LocalDate.of(2020, 1, 3)),
+                reportRollups.getDays(date("2020-01-01T12:00:00Z"), date("2020-01-04T12:00:00Z")));
+        assertEquals(
+                List.of(LocalDate.of(2020, 1, 1)),
+                reportRollups.getDays(date("2020-01-01T00:00:00Z"), date("2020-01-01T23:59:59.999Z")));
+        assertTrue(reportRollups.getDays(date("2020-01-01T00:00:00Z"), date("2020-01-01T23:59:59Z")).isEmpty());
+
+    }
+
+    private ReportRollups.Part part(String start, String end, double maxSpeed) {
+        return new ReportRollups.Part(date(start), date(end), maxSpeed, null, null);
+    }
+
+    private ReportRollups.Piece piece(String first, String last, ReportRollups.Part... parts) {
+        return new ReportRollups.Piece(date(first), date(last), 0, null, null, List.of(parts));
+    }
+
+    @Test
+    public void testMergeParts() {
+
+        var parts = ReportRollups.mergeParts(List.of(
+                piece("2020-01-01T20:00:00Z", "2020-01-01T23:59:00Z",
+                        part("2020-01-01T20:00:00Z", "2020-01-01T21:00:00Z", 30),
+                        part("2020-01-01T23:00:00Z", "2020-01-01T23:59:00Z", 50)),
+                piece("2020-01-02T00:01:00Z", "2020-01-02T05:00:00Z",
+                        part("2020-01-02T00:01:00Z", "2020-01-02T01:00:00Z", 60),
+                        part("2020-01-02T03:00:00Z", "2020-01-02T04:00:00Z", 20)),
+                piece("2020-01-03T00:00:00Z", "2020-01-03T02:00:00Z",
+                        part("2020-01-03T00:00:00Z", "2020-01-03T01:00:00Z", 10))));
+
+        assertEquals(4, parts.size());
+        assertEquals(date("2020-01-01T23:00:00Z"), parts.get(1).startTime());
+        assertEquals(date("2020-01-02T01:00:00Z"), parts.get(1).endTime());
+        assertEquals(60, parts.get(1).maxSpeed());
+        assertEquals(date("2020-01-02T03:00:00Z"), parts.get(2).startTime());
+        assertEquals(date("2020-01-03T00:00:00Z"), parts.get(3).startTime());
+
+    }
+
+}
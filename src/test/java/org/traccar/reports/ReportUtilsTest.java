@@ -13,6 +13,8 @@ import org.traccar.model.Position;
 import org.traccar.reports.common.ReportUtils;
 import org.traccar.reports.model.StopReportItem;
 import org.traccar.reports.model.TripReportItem;
+import org.traccar.session.cache.ChangeTracker;
+import org.traccar.storage.DatabasePositionStore;
 import org.traccar.storage.Storage;
 import org.traccar.storage.StorageException;
 
@@ -94,7 +96,8 @@ public class ReportUtilsTest extends BaseTest {
     @Test
     public void testCalculateSpentFuelWithNoFuelData() {
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
         Device device = mock(Device.class);
         Position startPosition = new Position();
         Position endPosition = new Position();
@@ -105,7 +108,8 @@ public class ReportUtilsTest extends BaseTest {
     @Test
     public void testCalculateSpentFuelWithFuel() {
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
         Device device = mock(Device.class);
         Position startPosition = new Position();
         Position endPosition = new Position();
@@ -118,7 +122,8 @@ public class ReportUtilsTest extends BaseTest {
     @Test
     public void testCalculateSpentFuelWithFuelUsed() {
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
         Device device = mock(Device.class);
         Position startPosition = new Position();
         Position endPosition = new Position();
@@ -131,7 +136,8 @@ public class ReportUtilsTest extends BaseTest {
     @Test
     public void testCalculateSpentFuelWithFuelLevel() {
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
         Device deviceWithCapacity = mock(Device.class);
         when(deviceWithCapacity.hasAttribute(Keys.FUEL_CAPACITY.getKey())).thenReturn(true);
         when(deviceWithCapacity.getDouble(Keys.FUEL_CAPACITY.getKey())).thenReturn(100.0);
@@ -160,7 +166,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 180, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var trips = reportUtils.slowTripsAndStops(device, new Date(), new Date(), TripReportItem.class);
 
@@ -192,7 +199,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 180, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
         var stops = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
         assertNotNull(stops);
@@ -232,7 +240,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 180, 900, true);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var trips = reportUtils.slowTripsAndStops(device, new Date(), new Date(), TripReportItem.class);
 
@@ -265,7 +274,8 @@ public class ReportUtilsTest extends BaseTest {
         data.get(5).set(Position.KEY_IGNITION, false);
         Device device = mockDevice(500, 300, 180, 900, true);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var stops = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
@@ -308,7 +318,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 180, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var trips = reportUtils.slowTripsAndStops(device, new Date(), new Date(), TripReportItem.class);
 
@@ -343,7 +354,8 @@ public class ReportUtilsTest extends BaseTest {
         when(storage.getObjectsStream(eq(Position.class), any())).thenReturn(data);
         Device device = mockDevice(500, 300, 180, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var stops = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
@@ -380,7 +392,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 200, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var result = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
@@ -409,7 +422,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 200, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var result = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
@@ -438,7 +452,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 200, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var result = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
@@ -467,7 +482,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 300, 200, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var result = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
@@ -492,7 +508,8 @@ public class ReportUtilsTest extends BaseTest {
 
         Device device = mockDevice(500, 200, 200, 900, false);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
 
         var trips = reportUtils.slowTripsAndStops(device, new Date(), new Date(), TripReportItem.class);
 
@@ -522,7 +539,8 @@ public class ReportUtilsTest extends BaseTest {
                 position(8, "2016-01-01 00:25:00.000", 5, 900));
         when(storage.getObjectsStream(eq(Position.class), any())).thenReturn(data);
         ReportUtils reportUtils = new ReportUtils(
-                mock(Config.class), storage, mock(PermissionsService.class), mock(VelocityEngine.class), null);
+                mock(Config.class), storage, new DatabasePositionStore(storage), mock(PermissionsService.class),
+                mock(VelocityEngine.class), new ChangeTracker(), null);
         Device device = mockDevice(500, 200, 200, 900, false);
         var stops = reportUtils.slowTripsAndStops(device, new Date(), new Date(), StopReportItem.class);
 
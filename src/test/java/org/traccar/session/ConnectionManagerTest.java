@@ -0,0 +1,93 @@
+package org.traccar.session;
+
+import io.netty.util.Timer;
+import org.junit.jupiter.api.Test;
+import org.traccar.broadcast.BroadcastService;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.database.DeviceLookupService;
+import org.traccar.database.NotificationManager;
+import org.traccar.model.Device;
+import org.traccar.session.cache.CacheManager;
+import org.traccar.session.cache.ChangeTracker;
+import org.traccar.storage.Storage;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionManagerTest {
+
+    @Test
+    public void testCoalesceLastUpdate() throws Exception {
+
+        var config = new Config();
+        config.setString(Keys.STATUS_UPDATE_INTERVAL, "60");
+        var cacheManager = mock(CacheManager.class);
+        var storage = mock(Storage.class);
+        var notificationManager = mock(NotificationManager.class);
+        var broadcastService = mock(BroadcastService.class);
+
+        Device device = new Device();
+        device.setId(1);
+        device.setStatus(Device.STATUS_OFFLINE);
+        when(cacheManager.getObject(Device.class, 1)).thenReturn(device);
+
+        var connectionManager = new ConnectionManager(
+                config, cacheManager, storage, notificationManager, mock(Timer.class), broadcastService,
+                mock(DeviceLookupService.class), new ChangeTracker());
+
+        connectionManager.updateDevice(1, Device.STATUS_ONLINE, new Date(1000));
+        verify(storage, times(1)).updateObject(any(), any());
+        verify(notificationManager, times(1)).updateEvents(anyMap());
+
+        connectionManager.updateDevice(1, Device.STATUS_ONLINE, new Date(2000));
+        connectionManager.updateDevice(1, Device.STATUS_ONLINE, new Date(3000));
+        verify(storage, times(1)).updateObject(any(), any());
+        verify(storage, never()).updateObjects(any(), any());
+        verify(broadcastService, times(1)).updateDevice(true, device);
+        assertEquals(3000, device.getLastUpdate().getTime());
+
+        connectionManager.flushUpdates();
+        verify(storage, times(1)).updateObjects(any(), any());
+        verify(broadcastService, times(2)).updateDevice(true, device);
+
+        connectionManager.updateDevice(1, Device.STATUS_OFFLINE, null);
+        verify(storage, times(2)).updateObject(any(), any());
+        verify(notificationManager, times(2)).updateEvents(anyMap());
+
+    }
+
+    @Test
+    public void testFlushOnStop() throws Exception {
+
+        var config = new Config();
+        config.setString(Keys.STATUS_UPDATE_INTERVAL, "60");
+        var cacheManager = mock(CacheManager.class);
+        var storage = mock(Storage.class);
+
+        Device device = new Device();
+        device.setId(1);
+        device.setStatus(Device.STATUS_ONLINE);
+        when(cacheManager.getObject(Device.class, 1)).thenReturn(device);
+
+        var connectionManager = new ConnectionManager(
+                config, cacheManager, storage, mock(NotificationManager.class), mock(Timer.class),
+                mock(BroadcastService.class), mock(DeviceLookupService.class), new ChangeTracker());
+
+        connectionManager.updateDevice(1, Device.STATUS_ONLINE, new Date(1000));
+        verify(storage, never()).updateObjects(any(), any());
+
+        connectionManager.stop();
+        verify(storage, times(1)).updateObjects(any(), any());
+
+    }
+
+}
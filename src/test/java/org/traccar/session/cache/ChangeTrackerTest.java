@@ -0,0 +1,44 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Device;
+import org.traccar.model.Geofence;
+import org.traccar.model.Group;
+import org.traccar.model.ObjectOperation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeTrackerTest {
+
+    @Test
+    public void testDeviceVersions() {
+        var tracker = new ChangeTracker();
+        tracker.updateDevice(1);
+        tracker.updateDevice(2);
+
+        long first = tracker.getDeviceVersion(List.of(1L));
+        long both = tracker.getDeviceVersion(List.of(1L, 2L));
+        assertTrue(both > first);
+        assertEquals(both, tracker.getDeviceVersion());
+
+        tracker.updateDevice(2);
+        assertEquals(first, tracker.getDeviceVersion(List.of(1L)));
+        assertTrue(tracker.getDeviceVersion(List.of(1L, 2L)) > both);
+    }
+
+    @Test
+    public void testClassVersions() {
+        var tracker = new ChangeTracker();
+        tracker.invalidateObject(Geofence.class, 1, ObjectOperation.UPDATE);
+        long geofences = tracker.getVersion(Geofence.class);
+        assertEquals(0, tracker.getVersion(Device.class));
+
+        tracker.invalidateObject(Group.class, 1, ObjectOperation.UPDATE);
+        assertTrue(tracker.getVersion(Geofence.class) > geofences);
+        assertEquals(tracker.getVersion(Geofence.class), tracker.getVersion(Device.class));
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Event;
+import org.traccar.model.Notification;
+import org.traccar.model.Position;
+import org.traccar.model.User;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NotificationRoutesTest {
+
+    private Notification createNotification(long id, String type, String notificators) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setType(type);
+        notification.setNotificators(notificators);
+        return notification;
+    }
+
+    @Test
+    public void testRoutes() {
+
+        User user = new User();
+        user.setId(1);
+
+        Notification alarm = createNotification(1, Event.TYPE_ALARM, "web,mail");
+        alarm.set("alarms", Position.ALARM_SOS + "," + Position.ALARM_POWER_CUT);
+        Notification online = createNotification(2, Event.TYPE_DEVICE_ONLINE, "web");
+        Notification unassigned = createNotification(3, Event.TYPE_DEVICE_OFFLINE, "web");
+
+        var routes = new NotificationRoutes(
+                List.of(alarm, online, unassigned),
+                notification -> notification == unassigned ? Set.of() : Set.of(user));
+
+        var alarmRoutes = routes.getRoutes(Event.TYPE_ALARM, Position.ALARM_SOS);
+        assertEquals(1, alarmRoutes.size());
+        assertEquals(Set.of("web", "mail"), alarmRoutes.get(0).notificators());
+        assertEquals(Set.of(user), alarmRoutes.get(0).users());
+
+        assertTrue(routes.getRoutes(Event.TYPE_ALARM, Position.ALARM_GEOFENCE).isEmpty());
+        assertTrue(routes.getRoutes(Event.TYPE_ALARM, null).isEmpty());
+        assertEquals(1, routes.getRoutes(Event.TYPE_DEVICE_ONLINE, Position.ALARM_SOS).size());
+        assertTrue(routes.getRoutes(Event.TYPE_DEVICE_OFFLINE, null).isEmpty());
+
+    }
+
+}
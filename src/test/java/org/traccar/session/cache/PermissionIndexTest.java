@@ -0,0 +1,66 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Device;
+import org.traccar.model.ObjectOperation;
+import org.traccar.model.Permission;
+import org.traccar.model.User;
+import org.traccar.storage.MemoryStorage;
+import org.traccar.storage.query.Columns;
+import org.traccar.storage.query.Condition;
+import org.traccar.storage.query.Request;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PermissionIndexTest {
+
+    private long addDevice(MemoryStorage storage) {
+        Device device = new Device();
+        device.setId(storage.addObject(device, new Request(new Columns.Exclude("id"))));
+        return device.getId();
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        var storage = new MemoryStorage();
+        var index = new PermissionIndex(storage);
+        long first = addDevice(storage);
+        long second = addDevice(storage);
+
+        storage.addPermission(new Permission(User.class, 1, Device.class, first));
+        assertEquals(Set.of(first), index.getObjectIds(1, Device.class));
+
+        storage.addPermission(new Permission(User.class, 1, Device.class, second));
+        assertEquals(Set.of(first), index.getObjectIds(1, Device.class));
+
+        index.invalidatePermission(User.class, 1, Device.class, second);
+        assertEquals(Set.of(first, second), index.getObjectIds(1, Device.class));
+
+        storage.removePermission(new Permission(User.class, 1, Device.class, first));
+        index.invalidateObject(Device.class, first, ObjectOperation.UPDATE);
+        assertEquals(Set.of(second), index.getObjectIds(1, Device.class));
+
+        long third = addDevice(storage);
+        storage.addPermission(new Permission(User.class, 1, Device.class, third));
+        index.invalidateObject(Device.class, third, ObjectOperation.ADD);
+        assertEquals(Set.of(second, third), index.getObjectIds(1, Device.class));
+
+        assertTrue(index.getObjectIds(2, Device.class).isEmpty());
+    }
+
+    @Test
+    public void testCondition() {
+        var storage = new MemoryStorage();
+        long first = addDevice(storage);
+        long second = addDevice(storage);
+        addDevice(storage);
+
+        var devices = storage.getObjects(Device.class, new Request(
+                new Columns.All(), new Condition.In("id", Set.of(first, second))));
+        assertEquals(2, devices.size());
+    }
+
+}
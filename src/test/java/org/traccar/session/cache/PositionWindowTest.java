@@ -0,0 +1,102 @@
+package org.traccar.session.cache;
+
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Position;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionWindowTest {
+
+    private Position position(long time) {
+        Position position = new Position();
+        position.setFixTime(new Date(time));
+        return position;
+    }
+
+    @Test
+    public void testPreceding() {
+        var window = new PositionWindow(10, 1000, position(100));
+        window.add(position(300));
+        window.add(position(200));
+
+        assertFalse(window.covers(new Date(50)));
+        assertTrue(window.covers(new Date(100)));
+        assertEquals(100, window.getPreceding(new Date(150)).getFixTime().getTime());
+        assertEquals(200, window.getPreceding(new Date(250)).getFixTime().getTime());
+        assertEquals(300, window.getPreceding(new Date(400)).getFixTime().getTime());
+    }
+
+    @Test
+    public void testEmpty() {
+        var window = new PositionWindow(10, 1000, null);
+        assertTrue(window.covers(new Date(0)));
+        assertNull(window.getPreceding(new Date(0)));
+    }
+
+    @Test
+    public void testEviction() {
+        var window = new PositionWindow(2, 1000, null);
+        window.add(position(100));
+        window.add(position(200));
+        window.add(position(300));
+        assertFalse(window.covers(new Date(150)));
+        assertTrue(window.covers(new Date(200)));
+
+        window.add(position(1500));
+        assertFalse(window.covers(new Date(400)));
+        assertEquals(1500, window.getPreceding(new Date(1500)).getFixTime().getTime());
+    }
+
+    @Test
+    public void testSameFixTime() {
+        var window = new PositionWindow(2, 1000, null);
+        Position first = position(100);
+        Position second = position(100);
+        window.add(first);
+        window.add(second);
+        assertSame(second, window.getPreceding(new Date(100)));
+
+        window.add(position(200));
+        assertTrue(window.covers(new Date(100)));
+        assertSame(second, window.getPreceding(new Date(150)));
+    }
+
+    @Test
+    public void testBackfill() {
+        var window = new PositionWindow(4, 1000, position(300));
+        window.backfill(List.of(position(200), position(100)), 100, 300);
+        assertTrue(window.covers(new Date(100)));
+        assertEquals(200, window.getPreceding(new Date(250)).getFixTime().getTime());
+
+        window.backfill(List.of(position(50)), 50, 300);
+        assertFalse(window.covers(new Date(50)));
+
+        window.backfill(List.of(position(50)), Long.MIN_VALUE, 100);
+        assertTrue(window.covers(new Date(0)));
+        assertNull(window.getPreceding(new Date(5)));
+
+        window.add(position(400));
+        assertFalse(window.covers(new Date(50)));
+        assertEquals(100, window.getPreceding(new Date(150)).getFixTime().getTime());
+    }
+
+    @Test
+    public void testBackfillCapacity() {
+        var window = new PositionWindow(4, 1000, position(2000));
+        assertEquals(3, window.getBackfillCapacity(1500));
+        assertTrue(window.getBackfillCapacity(500) < 0);
+
+        window.add(position(2100));
+        window.add(position(2200));
+        window.add(position(2300));
+        assertEquals(0, window.getBackfillCapacity(1500));
+    }
+
+}
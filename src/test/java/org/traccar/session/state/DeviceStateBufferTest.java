@@ -0,0 +1,62 @@
+package org.traccar.session.state;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.traccar.config.Config;
+import org.traccar.config.Keys;
+import org.traccar.model.Device;
+import org.traccar.storage.Storage;
+import org.traccar.storage.query.Columns;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DeviceStateBufferTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMergeUpdates() throws Exception {
+
+        var config = new Config();
+        config.setString(Keys.DATABASE_DEVICE_STATE_INTERVAL, "60000");
+        var storage = mock(Storage.class);
+        var buffer = new DeviceStateBuffer(config, storage);
+        buffer.start();
+
+        Device device = new Device();
+        device.setId(1);
+        device.setMotionState(true);
+        buffer.update(device, "motionState");
+
+        Device positionDevice = new Device();
+        positionDevice.setId(1);
+        positionDevice.setPositionId(10);
+        buffer.update(positionDevice, "positionId");
+
+        device.setMotionState(false);
+        buffer.update(device, "motionState");
+
+        verify(storage, never()).updateObjects(any(), any());
+        buffer.stop();
+
+        ArgumentCaptor<Collection<Device>> devices = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<Columns> columns = ArgumentCaptor.forClass(Columns.class);
+        verify(storage, times(1)).updateObjects(devices.capture(), columns.capture());
+
+        Device written = devices.getValue().iterator().next();
+        assertEquals(1, devices.getValue().size());
+        assertEquals(10, written.getPositionId());
+        assertFalse(written.getMotionState());
+        assertEquals(List.of("motionState", "positionId"), columns.getValue().getColumns(Device.class, "get"));
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.traccar.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionManagerTest {
+
+    @Test
+    public void testDailyRanges() {
+        var ranges = PartitionManager.getMissingRanges(
+                PartitionManager.Interval.DAY, LocalDate.of(2026, 10, 19), LocalDate.of(2026, 10, 19), 2);
+        assertEquals(3, ranges.size());
+        assertEquals(LocalDate.of(2026, 10, 19), ranges.get(0).from());
+        assertEquals(LocalDate.of(2026, 10, 22), ranges.get(2).to());
+        assertEquals("20261021", ranges.get(2).suffix());
+    }
+
+    @Test
+    public void testMonthlyRanges() {
+        var ranges = PartitionManager.getMissingRanges(
+                PartitionManager.Interval.MONTH, LocalDate.of(2026, 10, 20), LocalDate.of(2026, 10, 19), 1);
+        assertEquals(2, ranges.size());
+        assertEquals(new PartitionManager.Range(LocalDate.of(2026, 10, 20), LocalDate.of(2026, 11, 1)), ranges.get(0));
+        assertEquals(new PartitionManager.Range(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1)), ranges.get(1));
+    }
+
+    @Test
+    public void testNothingMissing() {
+        assertTrue(PartitionManager.getMissingRanges(
+                PartitionManager.Interval.DAY, LocalDate.of(2026, 10, 25), LocalDate.of(2026, 10, 19), 3).isEmpty());
+    }
+
+}
@@ -0,0 +1,117 @@
+package org.traccar.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.traccar.model.Position;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PositionBlockTest {
+
+    private Position createPosition(long id, long time) {
+        Position position = new Position("test");
+        position.setId(id);
+        position.setDeviceId(1);
+        position.setTime(new Date(time));
+        position.setServerTime(new Date(time + 1500));
+        position.setValid(id % 2 == 0);
+        position.setLatitude(-33.8688197);
+        position.setLongitude(151.2092955);
+        position.setSpeed(12.5);
+        position.setCourse(270);
+        position.set(Position.KEY_IGNITION, true);
+        position.set(Position.KEY_ODOMETER, 123456L);
+        position.set(Position.KEY_SATELLITES, 9);
+        position.set(Position.KEY_POWER, 12.8);
+        position.set(Position.KEY_DRIVER_UNIQUE_ID, "driver");
+        return position;
+    }
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> dictionary = new ArrayList<>();
+
+        List<Position> positions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            positions.add(createPosition(100 + i, 1_700_000_000_000L + i * 10_000L));
+        }
+        byte[] first = PositionBlock.encode(positions.subList(0, 6), value -> {
+            int index = dictionary.indexOf(value);
+            if (index < 0) {
+                dictionary.add(value);
+                index = dictionary.size() - 1;
+            }
+            return index;
+        }, objectMapper);
+        byte[] second = PositionBlock.encode(positions.subList(6, 10), dictionary::indexOf, objectMapper);
+
+        ByteBuffer buf = ByteBuffer.allocate(first.length + second.length + 3);
+        buf.put(first).put(second).put(new byte[3]).flip();
+
+        List<Position> result = new ArrayList<>();
+        PositionBlock.decode(
+                buf, 1, dictionary.toArray(new String[0]), objectMapper,
+                1_700_000_020_000L, 1_700_000_070_000L, result);
+
+        assertEquals(6, result.size());
+        Position position = result.get(0);
+        assertEquals(102, position.getId());
+        assertEquals(1, position.getDeviceId());
+        assertEquals("test", position.getProtocol());
+        assertEquals(1_700_000_020_000L, position.getFixTime().getTime());
+        assertEquals(1_700_000_021_500L, position.getServerTime().getTime());
+        assertTrue(position.getValid());
+        assertFalse(result.get(1).getValid());
+        assertEquals(-33.8688197, position.getLatitude(), 0.0000001);
+        assertEquals(151.2092955, position.getLongitude(), 0.0000001);
+        assertEquals(12.5, position.getSpeed());
+        assertNull(position.getAddress());
+        assertEquals(positions.get(2).getAttributes(), position.getAttributes());
+        assertEquals(107, result.get(5).getId());
+    }
+
+    @Test
+    public void testScanIncomplete() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> dictionary = new ArrayList<>();
+
+        List<Position> positions = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Position position = createPosition(200 + i, 1_700_000_000_000L + i * 10_000L);
+            position.setAltitude(123.456789);
+            positions.add(position);
+        }
+        byte[] first = PositionBlock.encode(positions.subList(0, 2), value -> {
+            int index = dictionary.indexOf(value);
+            if (index < 0) {
+                dictionary.add(value);
+                index = dictionary.size() - 1;
+            }
+            return index;
+        }, objectMapper);
+        byte[] second = PositionBlock.encode(positions.subList(2, 4), dictionary::indexOf, objectMapper);
+
+        ByteBuffer buf = ByteBuffer.allocate(first.length + second.length - 5);
+        buf.put(first).put(second, 0, second.length - 5).flip();
+
+        List<PositionBlock.Header> headers = PositionBlock.scan(buf);
+        assertEquals(1, headers.size());
+        assertEquals(201, headers.get(0).maxId());
+        assertEquals(first.length, PositionBlock.validLength(buf));
+
+        List<Position> result = PositionBlock.decode(
+                buf, headers.get(0), 1, dictionary.toArray(new String[0]), objectMapper);
+        assertEquals(2, result.size());
+        assertEquals(123.456789, result.get(1).getAltitude());
+    }
+
+}